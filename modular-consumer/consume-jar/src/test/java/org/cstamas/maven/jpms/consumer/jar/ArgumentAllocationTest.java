@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+import org.slf4j.helpers.MessageFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Scalar arguments, with or without a trailing throwable, are formatted
+ * without copying the argument array or allocating cycle-detection maps.
+ */
+public class ArgumentAllocationTest {
+    private static final int ITERATIONS = 20_000;
+
+    /** Records what the count-aware hook receives. */
+    static class RecordingLogger extends LegacyAbstractLogger {
+        Object[] arguments;
+        int argumentCount;
+        Throwable throwable;
+
+        @Override
+        protected String getFullyQualifiedCallerName() {
+            return null;
+        }
+
+        @Override
+        protected void handleNormalizedLoggingCall(
+                Level level, Marker marker, String messagePattern, Object[] arguments, Throwable throwable) {
+            handleNormalizedLoggingCall(
+                    level, marker, messagePattern, arguments, arguments == null ? 0 : arguments.length, throwable);
+        }
+
+        @Override
+        protected void handleNormalizedLoggingCall(
+                Level level,
+                Marker marker,
+                String messagePattern,
+                Object[] arguments,
+                int argumentCount,
+                Throwable throwable) {
+            this.arguments = arguments;
+            this.argumentCount = argumentCount;
+            this.throwable = throwable;
+        }
+
+        @Override
+        public boolean isTraceEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isInfoEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isWarnEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isErrorEnabled() {
+            return true;
+        }
+    }
+
+    @Test
+    void trailingThrowableDoesNotCopyArguments() {
+        RecordingLogger logger = new RecordingLogger();
+        RuntimeException e = new RuntimeException();
+        Object[] arguments = {"a", 1, e};
+
+        logger.info("{} {}", arguments);
+
+        assertSame(arguments, logger.arguments);
+        assertEquals(2, logger.argumentCount);
+        assertSame(e, logger.throwable);
+
+        logger.info("{} {}", (Object[]) new Object[] {"a", 1});
+        assertEquals(2, logger.argumentCount);
+        assertNull(logger.throwable);
+    }
+
+    @Test
+    void scalarArgumentsDoNotAllocate() {
+        // CharSequence arguments, toString() of others would allocate by itself
+        Object[] arguments = {"a", "b", new StringBuilder("c"), new RuntimeException()};
+        long allocated = allocatedBytes(arguments, 3);
+
+        // the counter itself may allocate a little, but not per call
+        assertTrue(allocated < ITERATIONS, allocated + " bytes for " + ITERATIONS + " calls");
+    }
+
+    @Test
+    void arrayArgumentAllocatesCycleDetection() {
+        Object[] arguments = {"a", new Object[] {1, 2}};
+        long allocated = allocatedBytes(arguments, 2);
+
+        // makes sure the counter actually counts
+        assertTrue(allocated >= ITERATIONS, allocated + " bytes for " + ITERATIONS + " calls");
+    }
+
+    private static long allocatedBytes(Object[] arguments, int argumentCount) {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        long thread = Thread.currentThread().getId();
+
+        StringBuilder buf = new StringBuilder(256);
+        String pattern = "x={} y={} z={}";
+        for (int i = 0; i < ITERATIONS; i++) {
+            buf.setLength(0);
+            MessageFormatter.basicArrayFormat(buf, pattern, arguments, argumentCount);
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            buf.setLength(0);
+            MessageFormatter.basicArrayFormat(buf, pattern, arguments, argumentCount);
+        }
+        return threads.getThreadAllocatedBytes(thread) - before;
+    }
+}
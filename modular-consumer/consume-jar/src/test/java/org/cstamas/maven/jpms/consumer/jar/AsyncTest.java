@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The async writer with each full policy, lines are drained at shutdown.
+ */
+public class AsyncTest {
+    private static final int LINES = 500;
+
+    private static final Pattern DROPPED = Pattern.compile("SimpleLogger dropped (\\d+) events");
+
+    /** Logs through a target slow enough to fill the ring, then exits. */
+    public static class FullMain {
+        public static void main(String... args) {
+            OutputStream err = System.err;
+            System.setErr(new PrintStream(new FilterOutputStream(err) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    out.write(b, off, len);
+                }
+            }));
+            Logger logger = LoggerFactory.getLogger(FullMain.class);
+            for (int i = 0; i < LINES; i++) {
+                if (i % 10 == 0) {
+                    logger.warn("line {}", i);
+                } else {
+                    logger.info("line {}", i);
+                }
+            }
+        }
+    }
+
+    /** An exception whose description cannot be rendered. */
+    static class BadException extends RuntimeException {
+        private final boolean error;
+
+        BadException(boolean error) {
+            this.error = error;
+        }
+
+        @Override
+        public String toString() {
+            if (error) {
+                throw new AssertionError("toString");
+            }
+            throw new IllegalStateException("toString");
+        }
+    }
+
+    public static class BadThrowableMain {
+        public static void main(String... args) throws InterruptedException {
+            Logger logger = LoggerFactory.getLogger(BadThrowableMain.class);
+            logger.info("before");
+            logger.error("boom", new BadException(false));
+            logger.error("bang", new BadException(true));
+            // let the writer take these before the shutdown drain
+            Thread.sleep(200);
+            logger.info("after");
+        }
+    }
+
+    private static long dropped(LoggingProcess process) {
+        long dropped = 0;
+        Matcher m = DROPPED.matcher(process.stderr());
+        while (m.find()) {
+            dropped += Long.parseLong(m.group(1));
+        }
+        return dropped;
+    }
+
+    @Test
+    void blockKeepsEveryLine() throws Exception {
+        LoggingProcess process =
+                new LoggingProcess("async=true", "asyncBufferSize=8", "asyncFullPolicy=block").run(FullMain.class);
+
+        assertEquals(LINES, process.stderrLines(" - line "), process.stderr());
+        assertEquals(0, dropped(process));
+    }
+
+    @Test
+    void dropCountsDroppedLines() throws Exception {
+        LoggingProcess process =
+                new LoggingProcess("async=true", "asyncBufferSize=8", "asyncFullPolicy=drop").run(FullMain.class);
+
+        long dropped = dropped(process);
+        assertTrue(dropped > 0, process.stderr());
+        assertEquals(LINES, process.stderrLines(" - line ") + dropped, process.stderr());
+    }
+
+    @Test
+    void dropBelowWarnKeepsWarnings() throws Exception {
+        LoggingProcess process = new LoggingProcess("async=true", "asyncBufferSize=8", "asyncFullPolicy=dropBelowWarn")
+                .run(FullMain.class);
+
+        long dropped = dropped(process);
+        assertTrue(dropped > 0, process.stderr());
+        assertEquals(LINES / 10, process.stderrLines("WARN"), process.stderr());
+        assertEquals(LINES, process.stderrLines(" - line ") + dropped, process.stderr());
+    }
+
+    @Test
+    void badThrowableDoesNotStopTheWriter() throws Exception {
+        LoggingProcess process = new LoggingProcess("async=true").run(BadThrowableMain.class);
+
+        assertEquals(1, process.stderrLines(" - before"), process.stderr());
+        assertEquals(1, process.stderrLines(" - boom"), process.stderr());
+        assertEquals(1, process.stderrLines(" - bang"), process.stderr());
+        assertEquals(2, process.stderrLines("[FAILED rendering throwable]"), process.stderr());
+        assertEquals(1, process.stderrLines(" - after"), process.stderr());
+        assertEquals(0, process.stderrLines("async writer failed"), process.stderr());
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The direct append output: each event, stack trace included, is a single
+ * append which never interleaves with others and is in the file once the
+ * logging call returns.
+ */
+public class DirectAppendTest {
+    private static final int THREADS = 8;
+
+    private static final int EVENTS = 200;
+
+    private static final Pattern HEADER = Pattern.compile("^\\[worker-(\\d+)\\] INFO .* - event (\\d+)$");
+
+    /** Logs events with stack traces from several threads at once. */
+    public static class ConcurrentMain {
+        public static void main(String... args) throws Exception {
+            Logger logger = LoggerFactory.getLogger(ConcurrentMain.class);
+            Thread[] threads = new Thread[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                int id = t;
+                threads[t] = new Thread(
+                        () -> {
+                            for (int i = 0; i < EVENTS; i++) {
+                                logger.info("event " + i, new RuntimeException(id + " " + i));
+                            }
+                        },
+                        "worker-" + t);
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+    }
+
+    /** Checks that the line is in the file, then halts without any shutdown hook. */
+    public static class HaltMain {
+        public static void main(String... args) throws Exception {
+            LoggerFactory.getLogger(HaltMain.class).info("before halt");
+            Path file = Paths.get(System.getProperty("org.slf4j.simpleLogger.logFile"));
+            String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            System.out.print(text.contains("before halt") ? "written" : "missing");
+            System.out.flush();
+            Runtime.getRuntime().halt(0);
+        }
+    }
+
+    @Test
+    void eventsNeverInterleave(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("app.log");
+        new LoggingProcess("logFile=" + file, "directAppend=true", "showThreadName=true").run(ConcurrentMain.class);
+
+        List<String> lines = Files.readAllLines(file);
+        Set<String> events = new HashSet<>();
+        int i = 0;
+        while (i < lines.size()) {
+            Matcher m = HEADER.matcher(lines.get(i));
+            assertTrue(m.matches(), i + ": " + lines.get(i));
+            String event = m.group(1) + " " + m.group(2);
+            assertTrue(events.add(event), event);
+            assertEquals("java.lang.RuntimeException: " + event, lines.get(i + 1));
+            i += 2;
+            int frames = 0;
+            while (i < lines.size() && lines.get(i).startsWith("\tat ")) {
+                i++;
+                frames++;
+            }
+            assertTrue(frames > 0, event);
+        }
+        assertEquals(THREADS * EVENTS, events.size());
+    }
+
+    @Test
+    void appendsToAnExistingFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("app.log");
+        Files.write(file, "earlier\n".getBytes(StandardCharsets.UTF_8));
+        new LoggingProcess("logFile=" + file, "directAppend=true").run(HaltMain.class);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals("earlier", lines.get(0));
+        assertTrue(lines.get(1).endsWith(" - before halt"), lines.get(1));
+        assertEquals(2, lines.size());
+    }
+
+    @Test
+    void writtenWhenTheCallReturns(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("app.log");
+        LoggingProcess process = new LoggingProcess("logFile=" + file, "directAppend=true").run(HaltMain.class);
+
+        assertEquals("written", process.stdout());
+    }
+}
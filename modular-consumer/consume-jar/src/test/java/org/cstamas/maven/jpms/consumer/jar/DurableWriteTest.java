@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import java.lang.module.ModuleDescriptor;
+import java.lang.module.ModuleFinder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.simple.LatencyHistogram;
+import org.slf4j.simple.SimpleLogger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Durable logging calls are timed, the histogram is reachable from other
+ * modules.
+ */
+public class DurableWriteTest {
+    /** Logs the given number of warnings and infos, prints the histogram. */
+    public static class DurableMain {
+        public static void main(String[] args) {
+            Logger logger = LoggerFactory.getLogger(DurableMain.class);
+            int count = Integer.parseInt(args[0]);
+            for (int i = 0; i < count; i++) {
+                logger.warn("durable {}", i);
+                logger.info("buffered {}", i);
+            }
+            LatencyHistogram latency = SimpleLogger.getDurableWriteLatency();
+            System.out.println(latency.getCount() + " " + latency.getPercentile(50) + " " + latency.getPercentile(99)
+                    + " " + latency.getMax());
+        }
+    }
+
+    @Test
+    void histogramCountsDurableWrites(@TempDir Path dir) throws Exception {
+        Path log = dir.resolve("durable.log");
+        LoggingProcess process = new LoggingProcess("logFile=" + log, "durableLevel=warn").run(DurableMain.class, "50");
+
+        String[] values = process.stdout().trim().split(" ");
+        long count = Long.parseLong(values[0]);
+        long p50 = Long.parseLong(values[1]);
+        long p99 = Long.parseLong(values[2]);
+        long max = Long.parseLong(values[3]);
+        assertEquals(50, count, process.stdout());
+        assertTrue(0 < p50 && p50 <= p99 && p99 <= max, process.stdout());
+
+        long lines = Files.readAllLines(log).stream()
+                .filter(l -> l.contains("durable ") || l.contains("buffered "))
+                .count();
+        assertEquals(100, lines);
+    }
+
+    @Test
+    void histogramIsUntouchedWithoutDurableWrites(@TempDir Path dir) throws Exception {
+        Path log = dir.resolve("buffered.log");
+        LoggingProcess process = new LoggingProcess("logFile=" + log).run(DurableMain.class, "5");
+
+        assertEquals("0 0 0 0", process.stdout().trim());
+    }
+
+    @Test
+    void simplePackageIsExported() throws Exception {
+        Path location = Paths.get(SimpleLogger.class
+                .getProtectionDomain()
+                .getCodeSource()
+                .getLocation()
+                .toURI());
+        ModuleDescriptor descriptor = ModuleFinder.of(location)
+                .find("org.slf4j.simple")
+                .orElseThrow(AssertionError::new)
+                .descriptor();
+
+        assertTrue(
+                descriptor.exports().stream().anyMatch(e -> e.source().equals("org.slf4j.simple") && !e.isQualified()),
+                descriptor.toString());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Builders of the fluent API are reused per thread, nested statements must
+ * not disturb each other.
+ */
+public class FluentBuilderTest {
+    private final Logger logger = LoggerFactory.getLogger("outer");
+
+    private final Logger other = LoggerFactory.getLogger("inner");
+
+    private PrintStream err;
+
+    private ByteArrayOutputStream captured;
+
+    @BeforeEach
+    void captureErr() {
+        err = System.err;
+        captured = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(captured, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void restoreErr() {
+        System.setErr(err);
+    }
+
+    private String lines() {
+        return captured.toString(StandardCharsets.UTF_8).replace(System.lineSeparator(), "\n");
+    }
+
+    private String compute() {
+        other.atInfo().log("inner");
+        return "value";
+    }
+
+    @Test
+    void nestedWhileBuilding() {
+        logger.atInfo().setMessage("outer {}").addArgument(compute()).log();
+
+        assertEquals("[main] INFO inner - inner\n[main] INFO outer - outer value\n", lines());
+    }
+
+    @Test
+    void nestedWhileLogging() {
+        Object selfLogging = new Object() {
+            @Override
+            public String toString() {
+                return compute();
+            }
+        };
+        logger.atInfo().setMessage("outer {}").addArgument(selfLogging).log();
+
+        assertEquals("[main] INFO inner - inner\n[main] INFO outer - outer value\n", lines());
+    }
+
+    @Test
+    void neverLoggedBuilder() {
+        logger.atInfo().setMessage("abandoned").addArgument("x");
+        logger.atInfo().log("next");
+        logger.atInfo().addKeyValue("k", 1).log("last");
+
+        assertEquals("[main] INFO outer - next\n[main] INFO outer - k=1 last\n", lines());
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.DefaultLoggingEvent;
+import org.slf4j.event.KeyValuePair;
+import org.slf4j.event.Level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Key-value pairs are stored unboxed with their type, in the order they were
+ * added, and rendered as such.
+ */
+public class KeyValueTest {
+
+    private final Logger logger = LoggerFactory.getLogger(KeyValueTest.class);
+
+    private PrintStream err;
+
+    private ByteArrayOutputStream captured;
+
+    @BeforeEach
+    void captureErr() {
+        err = System.err;
+        captured = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(captured, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void restoreErr() {
+        System.setErr(err);
+    }
+
+    public static class JsonMain {
+        public static void main(String... args) {
+            LoggerFactory.getLogger("kv")
+                    .atInfo()
+                    .addKeyValue("l", 42L)
+                    .addKeyValue("d", 1.5d)
+                    .addKeyValue("f", 2.5f)
+                    .addKeyValue("b", true)
+                    .addKeyValue("c", 'x')
+                    .addKeyValue("o", "text")
+                    .log("json");
+        }
+    }
+
+    @Test
+    void eventKeepsTypedValuesInOrder() {
+        DefaultLoggingEvent event = newEvent();
+
+        assertEquals(7, event.getKeyValueCount());
+        assertEquals(
+                Arrays.asList("l", "d", "f", "b", "c", "o", "s"),
+                event.getKeyValuePairs().stream().map(kvp -> kvp.key).collect(Collectors.toList()));
+        assertEquals(DefaultLoggingEvent.LONG_VALUE, event.getValueType(0));
+        assertEquals(DefaultLoggingEvent.DOUBLE_VALUE, event.getValueType(1));
+        assertEquals(DefaultLoggingEvent.FLOAT_VALUE, event.getValueType(2));
+        assertEquals(DefaultLoggingEvent.BOOLEAN_VALUE, event.getValueType(3));
+        assertEquals(DefaultLoggingEvent.CHAR_VALUE, event.getValueType(4));
+        assertEquals(DefaultLoggingEvent.OBJECT_VALUE, event.getValueType(5));
+        assertEquals(DefaultLoggingEvent.OBJECT_VALUE, event.getValueType(6));
+        assertEquals(-42L, event.getLongValue(0));
+        assertEquals(-0.0d, event.getDoubleValue(1));
+        assertEquals(Float.NaN, event.getFloatValue(2));
+        assertTrue(event.getBooleanValue(3));
+        assertEquals('\uffff', event.getCharValue(4));
+        assertEquals("o", event.getObjectValue(5));
+        assertEquals(
+                Arrays.asList(-42L, -0.0d, Float.NaN, true, '\uffff', "o", "s"),
+                event.getKeyValuePairs().stream().map(kvp -> kvp.value).collect(Collectors.toList()));
+    }
+
+    @Test
+    void supplierIsInvokedOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        DefaultLoggingEvent event = new DefaultLoggingEvent(Level.INFO, logger);
+        event.addKeyValue("s", () -> "supplied" + calls.incrementAndGet());
+
+        assertEquals(0, calls.get());
+        assertEquals("supplied1", event.getObjectValue(0));
+        assertEquals("supplied1", event.getValue(0));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void storageGrowsAndIsReset() {
+        DefaultLoggingEvent event = new DefaultLoggingEvent(Level.INFO, logger);
+        for (int i = 0; i < 10; i++) {
+            event.addKeyValue("k" + i, (long) i);
+        }
+        List<KeyValuePair> pairs = event.getKeyValuePairs();
+        assertEquals(10, pairs.size());
+        assertEquals("k9", pairs.get(9).key);
+        assertEquals(9L, pairs.get(9).value);
+
+        event.reset(Level.INFO, logger);
+        assertEquals(0, event.getKeyValueCount());
+        assertNull(event.getKeyValuePairs());
+        event.addKeyValue("again", "value");
+        assertEquals(DefaultLoggingEvent.OBJECT_VALUE, event.getValueType(0));
+        assertEquals("again", event.getKeyValuePairs().get(0).key);
+    }
+
+    @Test
+    void typedValuesAreRendered() {
+        logger.atInfo()
+                .addKeyValue("l", 42L)
+                .addKeyValue("i", 7)
+                .addKeyValue("d", 1.5d)
+                .addKeyValue("f", 2.5f)
+                .addKeyValue("b", false)
+                .addKeyValue("c", 'x')
+                .addKeyValue("o", "text")
+                .addKeyValue("s", () -> "supplied")
+                .log("message");
+
+        String out = captured.toString(StandardCharsets.UTF_8);
+        assertTrue(out.contains(" - l=42 i=7 d=1.5 f=2.5 b=false c=x o=text s=supplied message"), out);
+    }
+
+    @Test
+    void typedValuesAreEncodedAsJson() throws Exception {
+        LoggingProcess process = new LoggingProcess("format=json").run(JsonMain.class);
+
+        String err = process.stderr();
+        assertTrue(
+                err.contains("\"keyValuePairs\":{\"l\":42,\"d\":1.5,\"f\":2.5,\"b\":true,\"c\":\"x\",\"o\":\"text\"}"),
+                err);
+    }
+
+    private DefaultLoggingEvent newEvent() {
+        DefaultLoggingEvent event = new DefaultLoggingEvent(Level.INFO, logger);
+        event.addKeyValue("l", -42L);
+        event.addKeyValue("d", -0.0d);
+        event.addKeyValue("f", Float.NaN);
+        event.addKeyValue("b", true);
+        event.addKeyValue("c", '\uffff');
+        event.addKeyValue("o", (Object) "o");
+        event.addKeyValue("s", () -> "s");
+        return event;
+    }
+}
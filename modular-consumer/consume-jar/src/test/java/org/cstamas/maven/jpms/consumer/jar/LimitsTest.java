@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The formatting limits, applied to messages, arrays and arguments, and the
+ * stack trace limits.
+ */
+public class LimitsTest {
+
+    /** Logs an event of each kind, prints whether the argument past the cut was rendered. */
+    public static class LimitsMain {
+        static boolean rendered;
+
+        public static void main(String... args) {
+            Logger logger = LoggerFactory.getLogger("limits");
+            Object late = new Object() {
+                @Override
+                public String toString() {
+                    rendered = true;
+                    return "late";
+                }
+            };
+            logger.info("message {} {}", "0123456789012345678901234567890123456789", late);
+            logger.info(
+                    "arrays {} {}", new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, new Object[] {"a", "b", "c", "d", "e"});
+            logger.info(
+                    "arguments {} {}", "abcdefghijklmnopqrstuvwxyz", new StringBuilder("ABCDEFGHIJKLMNOPQRSTUVWXYZ"));
+            logger.info("primitive {}", 12345678901234L);
+            logger.info("trace", nested(3));
+            System.out.print(rendered);
+        }
+
+        // a throwable with the given number of causes, each a few frames deep
+        static Throwable nested(int causes) {
+            Throwable cause = causes > 0 ? nested(causes - 1) : null;
+            return deep(5, new IllegalStateException("level " + causes + " " + "x".repeat(40), cause));
+        }
+
+        static Throwable deep(int depth, Throwable t) {
+            if (depth > 0) {
+                return deep(depth - 1, t);
+            }
+            t.fillInStackTrace();
+            return t;
+        }
+    }
+
+    @Test
+    void unlimitedByDefault() throws Exception {
+        LoggingProcess process = new LoggingProcess().run(LimitsMain.class);
+
+        assertEquals("true", process.stdout());
+        String err = process.stderr();
+        assertFalse(err.contains("truncated"), err);
+        assertFalse(err.contains(" more)"), err);
+        assertTrue(err.contains(" - arrays [1, 2, 3, 4, 5, 6, 7, 8, 9, 10] [a, b, c, d, e]"), err);
+        assertEquals(3, process.stderrLines("Caused by: "), err);
+    }
+
+    @Test
+    void messageIsCutAndLaterArgumentsAreNotRendered() throws Exception {
+        LoggingProcess process = new LoggingProcess("maxMessageLength=30").run(LimitsMain.class);
+
+        assertEquals("false", process.stdout());
+        assertTrue(
+                process.stderr().contains(" - message 0123456789012345678901...(message truncated)\n"),
+                process.stderr());
+        // the description of each throwable is cut the same way
+        assertTrue(
+                process.stderr().contains("\njava.lang.IllegalStateExceptio...(message truncated)\n"),
+                process.stderr());
+    }
+
+    @Test
+    void arraysAreCut() throws Exception {
+        LoggingProcess process = new LoggingProcess("maxArrayElements=3").run(LimitsMain.class);
+
+        assertTrue(
+                process.stderr().contains(" - arrays [1, 2, 3, ...(7 more)] [a, b, c, ...(2 more)]"), process.stderr());
+    }
+
+    @Test
+    void argumentsAreCut() throws Exception {
+        LoggingProcess process = new LoggingProcess("maxArgumentLength=5").run(LimitsMain.class);
+
+        String err = process.stderr();
+        assertTrue(err.contains(" - arguments abcde...(21 chars truncated) ABCDE...(21 chars truncated)"), err);
+        assertTrue(err.contains(" - primitive 12345...(9 chars truncated)"), err);
+    }
+
+    @Test
+    void stackTracesAreCut() throws Exception {
+        LoggingProcess process = new LoggingProcess("maxStackTraceDepth=2", "maxCauses=2").run(LimitsMain.class);
+
+        List<String> trace = process.stderr()
+                .lines()
+                .dropWhile(l -> !l.endsWith(" - trace"))
+                .skip(1)
+                .collect(Collectors.toList());
+        assertTrue(trace.get(0).startsWith("java.lang.IllegalStateException: level 3 "), trace.toString());
+        assertTrue(trace.get(1).startsWith("\tat "), trace.toString());
+        assertTrue(trace.get(2).startsWith("\tat "), trace.toString());
+        assertTrue(trace.get(3).matches("\t\\.\\.\\.\\(\\d+ frames truncated\\)"), trace.toString());
+        assertTrue(trace.get(4).startsWith("Caused by: java.lang.IllegalStateException: level 2 "), trace.toString());
+        assertEquals(
+                2, trace.stream().filter(l -> l.startsWith("Caused by: java")).count(), trace.toString());
+        assertEquals(
+                1,
+                trace.stream()
+                        .filter(l -> l.equals("Caused by: ...(further causes truncated)"))
+                        .count());
+        assertFalse(trace.stream().anyMatch(l -> l.contains("level 0")), trace.toString());
+    }
+}
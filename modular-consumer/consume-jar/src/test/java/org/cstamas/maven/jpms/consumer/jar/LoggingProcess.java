@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs a main class in a JVM of its own, as the SimpleLogger configuration is
+ * read once per JVM. The system properties are "key=value" strings, keys
+ * without a dot get the "org.slf4j.simpleLogger." prefix.
+ */
+final class LoggingProcess {
+    private static final String PREFIX = "org.slf4j.simpleLogger.";
+
+    private final List<String> properties = new ArrayList<>();
+
+    private String stderr;
+
+    private String stdout;
+
+    LoggingProcess(String... properties) {
+        for (String property : properties) {
+            String key = property.substring(0, property.indexOf('='));
+            this.properties.add(key.indexOf('.') >= 0 ? property : PREFIX + property);
+        }
+    }
+
+    /**
+     * Runs the main class to completion, it must exit normally.
+     */
+    LoggingProcess run(Class<?> mainClass, String... args) throws IOException, InterruptedException {
+        Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+        List<String> command = new ArrayList<>();
+        command.add(java.toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        for (String property : properties) {
+            command.add("-D" + property);
+        }
+        command.add(mainClass.getName());
+        command.addAll(Arrays.asList(args));
+
+        Path err = Files.createTempFile("stderr", ".txt");
+        Path out = Files.createTempFile("stdout", ".txt");
+        try {
+            Process process = new ProcessBuilder(command)
+                    .redirectError(err.toFile())
+                    .redirectOutput(out.toFile())
+                    .start();
+            assertTrue(process.waitFor(2, TimeUnit.MINUTES), "process did not exit");
+            stderr = new String(Files.readAllBytes(err), StandardCharsets.UTF_8);
+            stdout = new String(Files.readAllBytes(out), StandardCharsets.UTF_8);
+            assertEquals(0, process.exitValue(), stderr);
+        } finally {
+            Files.deleteIfExists(err);
+            Files.deleteIfExists(out);
+        }
+        return this;
+    }
+
+    String stderr() {
+        return stderr;
+    }
+
+    String stdout() {
+        return stdout;
+    }
+
+    /**
+     * Number of lines of the standard error output containing the text.
+     */
+    long stderrLines(String text) {
+        return stderr.lines().filter(l -> l.contains(text)).count();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.simple.MappedRingFileReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The memory-mapped circular output, read back by {@link MappedRingFileReader}:
+ * it wraps around once full and an existing file of the same size is continued.
+ */
+public class MappedRingTest {
+    private static final Pattern LINE = Pattern.compile("^\\[main\\] INFO .* - line (\\d+)$");
+
+    private static final long FILE_SIZE = 4096;
+
+    /** Logs the lines numbered from the first argument up to the second one, excluded. */
+    public static class LinesMain {
+        public static void main(String... args) {
+            Logger logger = LoggerFactory.getLogger(LinesMain.class);
+            for (int i = Integer.parseInt(args[0]), end = Integer.parseInt(args[1]); i < end; i++) {
+                logger.info("line {}", i);
+            }
+        }
+    }
+
+    @Test
+    void keepsEveryLineUntilFull(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("ring.log");
+        log(file, FILE_SIZE, 0, 10);
+
+        assertEquals(FILE_SIZE, Files.size(file));
+        assertEquals(range(0, 10), lineNumbers(file));
+    }
+
+    @Test
+    void wrapsAroundKeepingTheNewestLines(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("ring.log");
+        log(file, FILE_SIZE, 0, 500);
+
+        assertEquals(FILE_SIZE, Files.size(file));
+        List<Integer> lines = lineNumbers(file);
+        int first = lines.get(0);
+        assertTrue(first > 0, lines.toString());
+        assertEquals(range(first, 500), lines);
+        assertTrue(MappedRingFileReader.read(file).length() <= FILE_SIZE);
+    }
+
+    @Test
+    void resumesAnExistingFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("ring.log");
+        log(file, FILE_SIZE, 0, 10);
+        log(file, FILE_SIZE, 10, 20);
+        assertEquals(range(0, 20), lineNumbers(file));
+
+        // continued across the wrap around too
+        log(file, FILE_SIZE, 20, 500);
+        log(file, FILE_SIZE, 500, 510);
+        List<Integer> lines = lineNumbers(file);
+        assertEquals(range(lines.get(0), 510), lines);
+    }
+
+    @Test
+    void restartsAFileOfAnotherSize(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("ring.log");
+        log(file, FILE_SIZE, 0, 10);
+        log(file, 2 * FILE_SIZE, 10, 20);
+
+        assertEquals(2 * FILE_SIZE, Files.size(file));
+        assertEquals(range(10, 20), lineNumbers(file));
+    }
+
+    @Test
+    void rejectsOtherFiles(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("other.log");
+        Files.write(file, new byte[(int) FILE_SIZE]);
+
+        assertThrows(IOException.class, () -> MappedRingFileReader.read(file));
+    }
+
+    private static void log(Path file, long fileSize, int from, int to) throws Exception {
+        new LoggingProcess("logFile=" + file, "mappedFileSize=" + fileSize)
+                .run(LinesMain.class, String.valueOf(from), String.valueOf(to));
+    }
+
+    // the numbers of the lines read back, every line must be complete
+    private static List<Integer> lineNumbers(Path file) throws IOException {
+        String text = MappedRingFileReader.read(file);
+        assertTrue(text.endsWith("\n"), text);
+        List<Integer> numbers = new ArrayList<>();
+        for (String line : text.split("\\R")) {
+            Matcher m = LINE.matcher(line);
+            assertTrue(m.matches(), line);
+            numbers.add(Integer.parseInt(m.group(1)));
+        }
+        return numbers;
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            numbers.add(i);
+        }
+        return numbers;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.helpers.PersistentMDCAdapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Random updates of the persistent MDC adapter are checked against a
+ * {@link HashMap}, with keys sharing their hash codes and context sizes
+ * moving across the switch from sorted arrays to a trie (8 to 9 entries).
+ */
+public class PersistentMdcTest {
+    // "Aa" and "BB" have equal hash codes, so do their concatenations
+    private static final String[] KEYS = {
+        "Aa", "BB", "AaAa", "AaBB", "BBAa", "BBBB", "k0", "k1", "k2", "k3", "k4", "k5", "k6", "k7", "k8", "k9", "k10",
+        "k11"
+    };
+
+    private final PersistentMDCAdapter adapter = new PersistentMDCAdapter();
+
+    private final Map<String, String> model = new HashMap<>();
+
+    @Test
+    void switchesBetweenArrayAndTrie() {
+        for (int i = 0; i < 9; i++) {
+            put("k" + i, "v" + i);
+        }
+        put("Aa", "a");
+        put("BB", "b");
+        assertMatches();
+        for (int i = 0; i < 9; i++) {
+            remove("k" + i);
+        }
+        assertMatches();
+        for (int i = 0; i < 9; i++) {
+            put("k" + i, null);
+        }
+        remove("Aa");
+        remove("BB");
+        remove("k8");
+        assertMatches();
+    }
+
+    @Test
+    void randomUpdatesMatchHashMap() {
+        for (long seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            adapter.clear();
+            model.clear();
+            List<Map<String, String>> snapshots = new ArrayList<>();
+            List<Map<String, String>> expected = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                String key = KEYS[random.nextInt(KEYS.length)];
+                int op = random.nextInt(100);
+                if (op < 50) {
+                    put(key, random.nextInt(10) == 0 ? null : "v" + i);
+                } else if (op < 85) {
+                    remove(key);
+                } else if (op < 92) {
+                    snapshots.add(adapter.getReadOnlyContextMap());
+                    expected.add(new HashMap<>(model));
+                } else if (op < 99) {
+                    handOff(random, key, i);
+                } else {
+                    adapter.clear();
+                    model.clear();
+                }
+                assertMatches();
+            }
+            for (int i = 0; i < snapshots.size(); i++) {
+                Map<String, String> snapshot = snapshots.get(i);
+                assertEquals(expected.get(i), snapshot == null ? new HashMap<>() : snapshot, "seed " + seed);
+            }
+        }
+    }
+
+    // the copy is updated on its own, then adopted by the adapter
+    private void handOff(Random random, String key, int i) {
+        Map<String, String> copy = adapter.getCopyOfContextMap();
+        if (copy == null) {
+            return;
+        }
+        Map<String, String> before = new HashMap<>(model);
+        if (random.nextBoolean()) {
+            copy.put(key, "copy" + i);
+        } else {
+            copy.remove(key);
+        }
+        assertMatches();
+        assertEquals(before, model);
+
+        adapter.setContextMap(copy);
+        model.clear();
+        model.putAll(copy);
+    }
+
+    private void put(String key, String value) {
+        adapter.put(key, value);
+        model.put(key, value);
+    }
+
+    private void remove(String key) {
+        adapter.remove(key);
+        model.remove(key);
+    }
+
+    private void assertMatches() {
+        for (String key : KEYS) {
+            assertEquals(model.get(key), adapter.get(key), key);
+        }
+        Map<String, String> copy = adapter.getCopyOfContextMap();
+        if (copy == null) {
+            assertTrue(model.isEmpty());
+            assertNull(adapter.getReadOnlyContextMap());
+            return;
+        }
+        assertEquals(model, copy);
+        assertEquals(model, adapter.getReadOnlyContextMap());
+        assertEquals(model.size(), adapter.getReadOnlyContextMap().size());
+        assertEquals(model.keySet(), adapter.getKeys());
+        for (String key : KEYS) {
+            assertEquals(model.containsKey(key), copy.containsKey(key), key);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.DefaultLoggingEvent;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.FormattingLimits;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.helpers.SubstituteLogger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * An {@code int} argument reaches backends as an {@link Integer}, primitive
+ * arguments of the fluent API are kept unboxed until rendered.
+ */
+public class PrimitiveArgumentTest {
+    private static final int ITERATIONS = 20_000;
+
+    private final Logger logger = LoggerFactory.getLogger(PrimitiveArgumentTest.class);
+
+    private PrintStream err;
+
+    private ByteArrayOutputStream captured;
+
+    @BeforeEach
+    void captureErr() {
+        err = System.err;
+        captured = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(captured, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void restoreErr() {
+        System.setErr(err);
+    }
+
+    @Test
+    void intArgumentIsBoxedToInteger() {
+        ArgumentAllocationTest.RecordingLogger recording = new ArgumentAllocationTest.RecordingLogger();
+        recording.info("{}", 42);
+        assertEquals(Integer.valueOf(42), recording.arguments[0]);
+
+        SubstituteLogger substitute = new SubstituteLogger("substitute", null, false);
+        substitute.setDelegate(recording);
+        substitute.warn("{}", (short) 7);
+        assertEquals(Integer.valueOf(7), recording.arguments[0]);
+
+        recording.debug("{}", 42L);
+        assertEquals(Long.valueOf(42), recording.arguments[0]);
+    }
+
+    @Test
+    void eventKeepsPrimitiveArguments() {
+        DefaultLoggingEvent event = newEvent();
+
+        assertEquals(DefaultLoggingEvent.INT_VALUE, event.getArgumentType(0));
+        assertEquals(DefaultLoggingEvent.LONG_VALUE, event.getArgumentType(1));
+        assertEquals(DefaultLoggingEvent.DOUBLE_VALUE, event.getArgumentType(2));
+        assertEquals(DefaultLoggingEvent.FLOAT_VALUE, event.getArgumentType(3));
+        assertEquals(DefaultLoggingEvent.CHAR_VALUE, event.getArgumentType(4));
+        assertEquals(DefaultLoggingEvent.OBJECT_VALUE, event.getArgumentType(5));
+        assertArrayEquals(new Object[] {7, 3L, 1.5d, 2.5f, 'c', "s"}, event.getArgumentArray());
+        assertEquals(Arrays.asList(event.getArgumentArray()), event.getArguments());
+
+        event.reset(Level.INFO, logger);
+        event.addArgument("again");
+        assertEquals(DefaultLoggingEvent.OBJECT_VALUE, event.getArgumentType(0));
+    }
+
+    @Test
+    void builderPrimitivesAreRendered() {
+        RuntimeException e = new RuntimeException("boom");
+        logger.atInfo()
+                .setMessage("{} {} {} {} {}")
+                .addArgument(7)
+                .addArgument(3L)
+                .addArgument(1.5d)
+                .addArgument(2.5f)
+                .addArgument('c')
+                .addArgument(e)
+                .log();
+
+        String out = captured.toString(StandardCharsets.UTF_8);
+        assertTrue(out.contains(" - 7 3 1.5 2.5 c"), out);
+        assertTrue(out.contains("java.lang.RuntimeException: boom"), out);
+    }
+
+    @Test
+    void eventPrimitivesDoNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        long thread = Thread.currentThread().getId();
+
+        DefaultLoggingEvent event = new DefaultLoggingEvent(Level.INFO, logger);
+        event.addArgument(123456789L);
+        event.addArgument('c');
+        event.addArgument(7);
+        StringBuilder buf = new StringBuilder(256);
+        String pattern = "x={} y={} z={}";
+        for (int i = 0; i < ITERATIONS; i++) {
+            buf.setLength(0);
+            MessageFormatter.basicArrayFormat(buf, pattern, event, 3, FormattingLimits.UNLIMITED);
+        }
+        assertEquals("x=123456789 y=c z=7", buf.toString());
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            buf.setLength(0);
+            MessageFormatter.basicArrayFormat(buf, pattern, event, 3, FormattingLimits.UNLIMITED);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertTrue(allocated < ITERATIONS, allocated + " bytes for " + ITERATIONS + " calls");
+    }
+
+    private DefaultLoggingEvent newEvent() {
+        DefaultLoggingEvent event = new DefaultLoggingEvent(Level.INFO, logger);
+        event.addArgument(7);
+        event.addArgument(3L);
+        event.addArgument(1.5d);
+        event.addArgument(2.5f);
+        event.addArgument('c');
+        event.addArgument((Object) "s");
+        return event;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.spi.ArgumentRenderer;
+import org.slf4j.spi.SelfRenderingArgument;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Dispatch of arguments to the renderers registered in
+ * {@code META-INF/services/org.slf4j.spi.ArgumentRenderer}.
+ */
+public class RendererTest {
+
+    public interface Shape {}
+
+    public static class Square implements Shape {}
+
+    public static class Circle implements Shape {}
+
+    public static class Ring extends Circle {}
+
+    public static class Star implements Shape, SelfRenderingArgument {
+        @Override
+        public void appendTo(StringBuilder sb) {
+            sb.append("star");
+        }
+    }
+
+    public static class Broken {}
+
+    public static class Misconfigured {}
+
+    public static class ShapeRenderer implements ArgumentRenderer<Shape> {
+        @Override
+        public Class<Shape> getRenderedClass() {
+            return Shape.class;
+        }
+
+        @Override
+        public void appendTo(Shape argument, StringBuilder sb) {
+            sb.append("shape");
+        }
+    }
+
+    public static class CircleRenderer implements ArgumentRenderer<Circle> {
+        @Override
+        public Class<Circle> getRenderedClass() {
+            return Circle.class;
+        }
+
+        @Override
+        public void appendTo(Circle argument, StringBuilder sb) {
+            sb.append("circle");
+        }
+    }
+
+    public static class FailingRenderer implements ArgumentRenderer<Broken> {
+        @Override
+        public Class<Broken> getRenderedClass() {
+            return Broken.class;
+        }
+
+        @Override
+        public void appendTo(Broken argument, StringBuilder sb) {
+            sb.append("partial");
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    /** Fails to report its class when the {@code renderer.misconfigured} property is set. */
+    public static class MisconfiguredRenderer implements ArgumentRenderer<Misconfigured> {
+        @Override
+        public Class<Misconfigured> getRenderedClass() {
+            if (Boolean.getBoolean("renderer.misconfigured")) {
+                throw new IllegalStateException("misconfigured");
+            }
+            return Misconfigured.class;
+        }
+
+        @Override
+        public void appendTo(Misconfigured argument, StringBuilder sb) {
+            sb.append("misconfigured");
+        }
+    }
+
+    public static class MisconfiguredMain {
+        public static void main(String... args) {
+            Logger logger = LoggerFactory.getLogger("renderer");
+            logger.info("{} {} {}", new Misconfigured(), new Circle(), "text");
+        }
+    }
+
+    private static String format(Object argument) {
+        return MessageFormatter.arrayFormat("<{}>", new Object[] {argument}).getMessage();
+    }
+
+    @Test
+    void rendererOfTheClassIsUsed() {
+        assertEquals("<circle>", format(new Circle()));
+    }
+
+    @Test
+    void rendererOfTheClosestSuperclassIsUsed() {
+        assertEquals("<circle>", format(new Ring()));
+    }
+
+    @Test
+    void rendererOfAnInterfaceComesLast() {
+        assertEquals("<shape>", format(new Square()));
+    }
+
+    @Test
+    void selfRenderingArgumentsAreNotPassedToRenderers() {
+        assertEquals("<star>", format(new Star()));
+    }
+
+    @Test
+    void otherArgumentsAreAppendedAsToString() {
+        assertEquals(
+                "<text> <42>",
+                MessageFormatter.arrayFormat("<{}> <{}>", new Object[] {"text", 42})
+                        .getMessage());
+    }
+
+    @Test
+    void failedRenderingReplacesWhatWasAppended() {
+        assertEquals(
+                "<[FAILED rendering]> <circle>",
+                MessageFormatter.arrayFormat("<{}> <{}>", new Object[] {new Broken(), new Circle()})
+                        .getMessage());
+    }
+
+    @Test
+    void misconfiguredRendererIsSkipped() throws Exception {
+        LoggingProcess process = new LoggingProcess("renderer.misconfigured=true").run(MisconfiguredMain.class);
+
+        String err = process.stderr();
+        assertTrue(err.contains("An argument renderer failed to report its rendered class"), err);
+        assertTrue(err.contains(" - " + Misconfigured.class.getName() + "@"), err);
+        assertTrue(err.contains(" circle text"), err);
+    }
+}
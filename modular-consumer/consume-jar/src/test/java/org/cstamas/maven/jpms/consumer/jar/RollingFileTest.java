@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The rolling file output: by size, by day, with a bounded history and with
+ * compression. Rolled files are named <code>&lt;file&gt;.&lt;yyyy-MM-dd&gt;.&lt;index&gt;</code>.
+ */
+public class RollingFileTest {
+    private static final Pattern LINE = Pattern.compile("^\\[main\\] INFO .* - line (\\d+)$");
+
+    private static final Pattern ROLLED = Pattern.compile("app\\.log\\.(\\d{4}-\\d{2}-\\d{2})\\.(\\d+)(\\.gz)?");
+
+    private static final int MAX_FILE_SIZE = 1024;
+
+    /**
+     * Logs the lines numbered from the first argument up to the second one,
+     * excluded, then waits for the background compression and clean-up.
+     */
+    public static class LinesMain {
+        public static void main(String... args) throws Exception {
+            Logger logger = LoggerFactory.getLogger(LinesMain.class);
+            for (int i = Integer.parseInt(args[0]), end = Integer.parseInt(args[1]); i < end; i++) {
+                logger.info("line {}", i);
+            }
+            Path dir = Paths.get(System.getProperty("org.slf4j.simpleLogger.logFile"))
+                    .getParent();
+            boolean compress = Boolean.getBoolean("org.slf4j.simpleLogger.rollingCompress");
+            int maxHistory = Integer.getInteger("org.slf4j.simpleLogger.rollingMaxHistory", 7);
+            for (int i = 0; i < 300; i++) {
+                List<Path> rolled = rolledFiles(dir);
+                boolean compressed =
+                        !compress || rolled.stream().allMatch(p -> p.toString().endsWith(".gz"));
+                if (compressed && (maxHistory == 0 || rolled.size() <= maxHistory)) {
+                    return;
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    @Test
+    void rollsOverBySize(@TempDir Path dir) throws Exception {
+        log(dir, 0, 100, "rollingMaxHistory=0");
+
+        List<Path> rolled = rolledFiles(dir);
+        assertTrue(rolled.size() >= 3, rolled.toString());
+        for (Path file : rolled) {
+            assertEquals(LocalDate.now(), date(file));
+            // rolled before the line which reaches the maximum size
+            assertTrue(Files.size(file) < MAX_FILE_SIZE + 100, file + " " + Files.size(file));
+        }
+        assertEquals(range(0, 100), allLines(dir));
+    }
+
+    @Test
+    void continuesTheIndexOfEarlierRuns(@TempDir Path dir) throws Exception {
+        log(dir, 0, 50, "rollingMaxHistory=0");
+        int rolled = rolledFiles(dir).size();
+        log(dir, 50, 100, "rollingMaxHistory=0");
+
+        assertTrue(rolledFiles(dir).size() > rolled);
+        assertEquals(range(0, 100), allLines(dir));
+    }
+
+    @Test
+    void keepsMaxHistoryFiles(@TempDir Path dir) throws Exception {
+        log(dir, 0, 100, "rollingMaxHistory=2");
+
+        List<Path> rolled = rolledFiles(dir);
+        assertEquals(2, rolled.size(), rolled.toString());
+        List<Integer> lines = allLines(dir);
+        // the newest lines remain
+        assertEquals(range(lines.get(0), 100), lines);
+        assertTrue(lines.get(0) > 0);
+    }
+
+    @Test
+    void compressesRolledFiles(@TempDir Path dir) throws Exception {
+        log(dir, 0, 100, "rollingMaxHistory=0", "rollingCompress=true");
+
+        List<Path> rolled = rolledFiles(dir);
+        assertTrue(rolled.size() >= 3, rolled.toString());
+        for (Path file : rolled) {
+            assertTrue(file.toString().endsWith(".gz"), file.toString());
+        }
+        assertEquals(range(0, 100), allLines(dir));
+    }
+
+    @Test
+    void rollsOverAFileOfAnEarlierDay(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("app.log");
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        Files.write(file, "[main] INFO earlier - line 0\n".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(
+                file,
+                FileTime.from(
+                        yesterday.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant()));
+
+        new LoggingProcess("logFile=" + file, "rollingDaily=true").run(LinesMain.class, "1", "5");
+
+        List<Path> rolled = rolledFiles(dir);
+        assertEquals(1, rolled.size(), rolled.toString());
+        assertEquals(yesterday, date(rolled.get(0)));
+        assertEquals(1, rolledIndex(rolled.get(0)));
+        assertEquals(range(0, 1), lineNumbers(read(rolled.get(0))));
+        assertEquals(range(1, 5), lineNumbers(read(file)));
+    }
+
+    private static void log(Path dir, int from, int to, String... properties) throws Exception {
+        List<String> all = new ArrayList<>();
+        all.add("logFile=" + dir.resolve("app.log"));
+        all.add("rollingMaxFileSize=" + MAX_FILE_SIZE);
+        all.addAll(List.of(properties));
+        new LoggingProcess(all.toArray(new String[0])).run(LinesMain.class, String.valueOf(from), String.valueOf(to));
+    }
+
+    // oldest first
+    static List<Path> rolledFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> ROLLED.matcher(p.getFileName().toString()).matches())
+                    .sorted(Comparator.comparing(RollingFileTest::date).thenComparing(RollingFileTest::rolledIndex))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static LocalDate date(Path rolled) {
+        Matcher m = ROLLED.matcher(rolled.getFileName().toString());
+        assertTrue(m.matches());
+        return LocalDate.parse(m.group(1));
+    }
+
+    private static int rolledIndex(Path rolled) {
+        Matcher m = ROLLED.matcher(rolled.getFileName().toString());
+        assertTrue(m.matches());
+        return Integer.parseInt(m.group(2));
+    }
+
+    // the lines of the rolled files then of the current one
+    private static List<Integer> allLines(Path dir) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (Path rolled : rolledFiles(dir)) {
+            text.append(read(rolled));
+        }
+        text.append(read(dir.resolve("app.log")));
+        return lineNumbers(text.toString());
+    }
+
+    private static String read(Path file) throws IOException {
+        try (InputStream in = file.toString().endsWith(".gz")
+                ? new GZIPInputStream(Files.newInputStream(file))
+                : Files.newInputStream(file)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static List<Integer> lineNumbers(String text) {
+        List<Integer> numbers = new ArrayList<>();
+        for (String line : text.split("\\R")) {
+            Matcher m = LINE.matcher(line);
+            assertTrue(m.matches(), line);
+            numbers.add(Integer.parseInt(m.group(1)));
+        }
+        return numbers;
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            numbers.add(i);
+        }
+        return numbers;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.helpers.ScopedValueMDCAdapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the variant of the adapter for the running Java version, the one using
+ * ScopedValue from Java 25 on.
+ */
+public class ScopedMdcTest {
+    private final ScopedValueMDCAdapter mdc = new ScopedValueMDCAdapter();
+
+    @Test
+    void bindingLastsForTheTask() {
+        AtomicReference<String> inner = new AtomicReference<>();
+        AtomicReference<String> outer = new AtomicReference<>();
+        mdc.runWith("a", "1", () -> {
+            outer.set(mdc.get("a"));
+            mdc.runWith("b", "2", () -> inner.set(mdc.get("a") + mdc.get("b")));
+            assertNull(mdc.get("b"));
+        });
+
+        assertEquals("1", outer.get());
+        assertEquals("12", inner.get());
+        assertNull(mdc.get("a"));
+    }
+
+    @Test
+    void putAppliesToTheCurrentBinding() {
+        assumeTrue(Runtime.version().feature() >= 25, "ScopedValue needs Java 25");
+
+        AtomicReference<String> inner = new AtomicReference<>();
+        mdc.put("outside", "o");
+        try {
+            mdc.runWith("a", "1", () -> {
+                mdc.put("inside", "i");
+                inner.set(mdc.get("outside") + mdc.get("a") + mdc.get("inside"));
+            });
+
+            assertEquals("o1i", inner.get());
+            assertNull(mdc.get("inside"));
+            assertEquals("o", mdc.get("outside"));
+        } finally {
+            mdc.clear();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.DefaultLoggingEvent;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventAware;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Suppliers of the fluent API are invoked only when the event is rendered,
+ * the default level is info.
+ */
+public class SupplierTest {
+    private final Logger logger = LoggerFactory.getLogger(SupplierTest.class);
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private PrintStream err;
+
+    private ByteArrayOutputStream captured;
+
+    @BeforeEach
+    void captureErr() {
+        err = System.err;
+        captured = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(captured, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void restoreErr() {
+        System.setErr(err);
+    }
+
+    private <T> Supplier<T> counting(T value) {
+        return () -> {
+            invocations.incrementAndGet();
+            return value;
+        };
+    }
+
+    private void addSuppliers(LoggingEventBuilder builder) {
+        builder.setMessage(counting("message {}"))
+                .addArgument(counting("argument"))
+                .addKeyValue("key", counting((Object) "value"));
+    }
+
+    @Test
+    void disabledBuilderDoesNotInvokeSuppliers() {
+        LoggingEventBuilder builder = logger.atDebug();
+        addSuppliers(builder);
+        builder.log();
+        logger.atTrace().log(counting("message"));
+
+        assertEquals(0, invocations.get());
+        assertEquals(0, captured.size());
+    }
+
+    @Test
+    void droppedBuilderDoesNotInvokeSuppliers() {
+        // unlike atDebug() this builder is not a NOP, the logger drops the event
+        LoggingEventBuilder builder = logger.makeLoggingEventBuilder(Level.DEBUG);
+        addSuppliers(builder);
+        builder.log();
+
+        assertEquals(0, invocations.get());
+        assertEquals(0, captured.size());
+    }
+
+    @Test
+    void droppedEventDoesNotInvokeSuppliers() {
+        DefaultLoggingEvent event = new DefaultLoggingEvent(Level.TRACE, logger);
+        event.setMessage(counting("message {}"));
+        event.addArgument(counting("argument"));
+        event.addKeyValue("key", counting("value"));
+        ((LoggingEventAware) logger).log(event);
+
+        assertEquals(0, invocations.get());
+        assertEquals(0, captured.size());
+    }
+
+    @Test
+    void renderedEventInvokesSuppliersOnce() {
+        LoggingEventBuilder builder = logger.atInfo();
+        addSuppliers(builder);
+        builder.log();
+
+        assertEquals(3, invocations.get());
+        String line = captured.toString(StandardCharsets.UTF_8);
+        assertTrue(line.contains("message argument"), line);
+        assertTrue(line.contains("key=value"), line);
+    }
+}
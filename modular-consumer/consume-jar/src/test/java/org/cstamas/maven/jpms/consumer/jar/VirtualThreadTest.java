@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.cstamas.maven.jpms.consumer.jar;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Logs from 10k virtual threads at once, no virtual thread may be pinned to
+ * its carrier while logging. Needs Java 21, the modules target Java 11 so
+ * virtual threads are created reflectively.
+ */
+public class VirtualThreadTest {
+    private static final int THREADS = 10_000;
+
+    private static final int LINES = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(VirtualThreadTest.class);
+
+    /** Counts lines, writes are serialized by the PrintStream. */
+    static class LineCounter extends OutputStream {
+        long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+
+    @Test
+    void loggingDoesNotPin() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+
+        PrintStream err = System.err;
+        LineCounter counter = new LineCounter();
+        System.setErr(new PrintStream(counter, false));
+        Path jfr = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withoutThreshold();
+            recording.start();
+
+            // the same calls from a single platform thread, then from virtual threads
+            long sequential = System.nanoTime();
+            for (int i = 0; i < THREADS; i++) {
+                logLines(i);
+            }
+            sequential = System.nanoTime() - sequential;
+
+            long concurrent = System.nanoTime();
+            ExecutorService executor = (ExecutorService)
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            for (int i = 0; i < THREADS; i++) {
+                int task = i;
+                executor.execute(() -> logLines(task));
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+            concurrent = System.nanoTime() - concurrent;
+
+            recording.stop();
+            recording.dump(jfr);
+
+            System.err.flush();
+            assertEquals(2L * THREADS * LINES, counter.lines);
+            long pinned = 0;
+            for (RecordedEvent event : RecordingFile.readAllEvents(jfr)) {
+                if (event.getEventType().getName().equals("jdk.VirtualThreadPinned")) {
+                    pinned++;
+                }
+            }
+            assertEquals(0, pinned, "pinned virtual threads");
+            // contention must not serialize the threads behind a lock convoy,
+            // even on a single carrier the throughput stays within reach
+            assertTrue(
+                    concurrent < 10 * sequential,
+                    "virtual threads took " + concurrent / 1_000_000 + " ms, one thread " + sequential / 1_000_000
+                            + " ms");
+        } finally {
+            System.setErr(err);
+            Files.deleteIfExists(jfr);
+        }
+    }
+
+    private void logLines(int task) {
+        for (int line = 0; line < LINES; line++) {
+            logger.info("task {} line {}", task, line);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.helpers;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The cache of parsed patterns: patterns are parsed the second time they are
+ * seen, used ones survive a flood of others mapping to the same set, unused
+ * ones are replaced and patterns merely seen are not kept alive.
+ */
+public class CompiledMessagePatternTest {
+    private static final int WAYS = 4;
+
+    // distinct pattern instances mapping to the same set of the cache
+    private static List<String> colliding(int count) {
+        List<String> patterns = new ArrayList<>();
+        int set = -1;
+        for (int i = 0; patterns.size() < count; i++) {
+            String pattern = new String("pattern " + i + " {}");
+            int s = System.identityHashCode(pattern) & 0xff;
+            if (set < 0) {
+                set = s;
+            }
+            if (s == set) {
+                patterns.add(pattern);
+            }
+        }
+        return patterns;
+    }
+
+    // the set may hold patterns of other tests, they are replaced as they are
+    // not used; the patterns are all used once this returns
+    private static void fill(List<String> patterns) {
+        for (int round = 0; round < 10; round++) {
+            boolean cached = true;
+            for (String pattern : patterns) {
+                cached &= CompiledMessagePattern.lookup(pattern) != null;
+            }
+            if (cached) {
+                // parsed patterns are not used yet
+                for (String pattern : patterns) {
+                    CompiledMessagePattern.lookup(pattern);
+                }
+                return;
+            }
+        }
+        throw new AssertionError("not cached: " + patterns);
+    }
+
+    @Test
+    void parsedTheSecondTimeSeen() {
+        String pattern = colliding(1).get(0);
+        assertNull(CompiledMessagePattern.lookup(pattern));
+        CompiledMessagePattern compiled = CompiledMessagePattern.lookup(pattern);
+        assertNotNull(compiled);
+        assertSame(compiled, CompiledMessagePattern.lookup(pattern));
+    }
+
+    @Test
+    void usedPatternsSurviveAFlood() {
+        List<String> patterns = colliding(WAYS + 200);
+        fill(patterns.subList(0, WAYS));
+        List<CompiledMessagePattern> hot = new ArrayList<>();
+        for (String pattern : patterns.subList(0, WAYS)) {
+            hot.add(CompiledMessagePattern.lookup(pattern));
+        }
+        for (String oneShot : patterns.subList(WAYS, patterns.size())) {
+            for (int i = 0; i < WAYS; i++) {
+                CompiledMessagePattern.lookup(patterns.get(i));
+            }
+            // each seen twice in a row, so it would be parsed if there was room
+            CompiledMessagePattern.lookup(oneShot);
+            CompiledMessagePattern.lookup(oneShot);
+        }
+        for (int i = 0; i < WAYS; i++) {
+            assertSame(hot.get(i), CompiledMessagePattern.lookup(patterns.get(i)));
+        }
+    }
+
+    @Test
+    void unusedPatternIsReplaced() {
+        List<String> patterns = colliding(WAYS + 1);
+        fill(patterns.subList(0, WAYS));
+        String newcomer = patterns.get(WAYS);
+        assertNull(CompiledMessagePattern.lookup(newcomer));
+        // every way was used, their use is forgotten instead
+        assertNull(CompiledMessagePattern.lookup(newcomer));
+
+        // use all but the last one again
+        for (int i = 0; i < WAYS - 1; i++) {
+            assertNotNull(CompiledMessagePattern.lookup(patterns.get(i)));
+        }
+        assertNotNull(CompiledMessagePattern.lookup(newcomer));
+
+        // the unused one was replaced, it is merely seen again
+        assertNull(CompiledMessagePattern.lookup(patterns.get(WAYS - 1)));
+        for (int i = 0; i < WAYS - 1; i++) {
+            assertNotNull(CompiledMessagePattern.lookup(patterns.get(i)));
+        }
+    }
+
+    @Test
+    void seenPatternsAreNotKeptAlive() throws InterruptedException {
+        String pattern = new String("seen once {}");
+        assertNull(CompiledMessagePattern.lookup(pattern));
+        WeakReference<String> reference = new WeakReference<>(pattern);
+        pattern = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertTrue(reference.get() == null, "pattern still reachable");
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Date patterns render as {@link SimpleDateFormat} renders them, whatever the
+ * count of each letter, in a few locales and time zones.
+ */
+public class CachedDateTimeFormatterTest {
+    private static final String[] PATTERNS = {
+        "yyyy-MM-dd HH:mm:ss,SSS",
+        "yyyy-MM-dd'T'HH:mm:ss.SSSZ",
+        "yy-M-d H:m:s S",
+        "'it''s' h:mm a",
+        "[HH:mm] {} #",
+        "aa a aaaa",
+        "HHH kkk KKK hhh mmm sss SSSS",
+        "EEEEE EEEE EEE EE E u F",
+        "MMMMM MMMM MMM MM M",
+        "LLLLL LLLL LLL LL L",
+        "ZZZZ Z X XX XXX",
+        "zzzz zzz z",
+        "G GG GGGG GGGGG",
+        "y yy yyy yyyy yyyyy",
+        "Y YY YYYY w ww W",
+        "D DDD d dd"
+    };
+
+    private static final long[] TIMES = {
+        0L, 1760745600007L, 1760745600123L, 1760832000456L + 3600_000L * 13, 1761004800999L, 1704067199999L
+    };
+
+    private final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+
+    private final TimeZone timeZone = TimeZone.getDefault();
+
+    @AfterEach
+    void restoreDefaults() {
+        Locale.setDefault(Locale.Category.FORMAT, locale);
+        TimeZone.setDefault(timeZone);
+    }
+
+    @Test
+    void rendersAsSimpleDateFormat() {
+        for (Locale l : new Locale[] {Locale.US, Locale.UK, Locale.FRANCE, Locale.JAPAN, new Locale("ar", "EG")}) {
+            for (String zone : new String[] {"UTC", "Europe/Paris", "America/New_York", "Asia/Kolkata"}) {
+                Locale.setDefault(Locale.Category.FORMAT, l);
+                TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                for (String pattern : PATTERNS) {
+                    CachedDateTimeFormatter formatter = new CachedDateTimeFormatter(pattern);
+                    SimpleDateFormat expected = new SimpleDateFormat(pattern);
+                    for (long time : TIMES) {
+                        // the second time is served from the cache
+                        for (long delta : new long[] {0, 1, 30, 0}) {
+                            StringBuilder buf = new StringBuilder();
+                            formatter.appendTo(buf, time + delta);
+                            assertEquals(
+                                    expected.format(new Date(time + delta)),
+                                    buf.toString(),
+                                    pattern + " " + l + " " + zone);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void rejectsWhatSimpleDateFormatRejects() {
+        for (String pattern : new String[] {"yyyy q", "XXXX", "'unterminated"}) {
+            assertThrows(IllegalArgumentException.class, () -> new SimpleDateFormat(pattern), pattern);
+            assertThrows(IllegalArgumentException.class, () -> new CachedDateTimeFormatter(pattern), pattern);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.DefaultLoggingEvent;
+import org.slf4j.event.Level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Strings are escaped as JSON requires, numbers without a JSON representation
+ * are written as strings.
+ */
+public class JsonEncoderTest {
+
+    @Test
+    void quotesAndBackslashesAreEscaped() {
+        assertEquals("\"a\\\"b\\\\c/\"", JsonEncoder.quote("a\"b\\c/"));
+        assertEquals("null", JsonEncoder.quote(null));
+    }
+
+    @Test
+    void controlCharactersAreEscaped() {
+        assertEquals("\"\\b\\f\\n\\r\\t\"", JsonEncoder.quote("\b\f\n\r\t"));
+        assertEquals("\"\\u0000\\u0001\\u001f \u007f\"", JsonEncoder.quote("\u0000\u0001\u001f \u007f"));
+    }
+
+    @Test
+    void surrogatePairsAreKept() {
+        String emoji = "\ud83d\ude00";
+        assertEquals('"' + emoji + "x" + emoji + '"', JsonEncoder.quote(emoji + "x" + emoji));
+        assertEquals("\"\\ud83d" + emoji + "\"", JsonEncoder.quote("\ud83d" + emoji));
+    }
+
+    @Test
+    void loneSurrogatesAreEscaped() {
+        assertEquals("\"\\ud83d\"", JsonEncoder.quote("\ud83d"));
+        assertEquals("\"\\ude00\"", JsonEncoder.quote("\ude00"));
+        assertEquals("\"a\\ude00\\ud83db\"", JsonEncoder.quote("a\ude00\ud83db"));
+        assertEquals("\"\\ud83d\\n\"", JsonEncoder.quote("\ud83d\n"));
+    }
+
+    @Test
+    void onlyCharactersFromStartAreEscaped() {
+        StringBuilder buf = new StringBuilder("\n\ud83d");
+        int start = buf.length();
+        buf.append("\ude00\t\"");
+        JsonEncoder.escape(buf, start);
+        assertEquals("\n\ud83d" + "\\ude00\\t\\\"", buf.toString());
+    }
+
+    @Test
+    void nonFiniteNumbersAreStrings() {
+        DefaultLoggingEvent event = new DefaultLoggingEvent(Level.INFO, LoggerFactory.getLogger(JsonEncoderTest.class));
+        event.addArgument(Double.NaN);
+        event.addArgument(Double.POSITIVE_INFINITY);
+        event.addArgument(Float.NEGATIVE_INFINITY);
+        event.addArgument(1.5d);
+        event.addArgument((Object) Double.NaN);
+        event.addArgument((Object) Float.POSITIVE_INFINITY);
+        event.addArgument((Object) 2.5f);
+        StringBuilder buf = new StringBuilder();
+
+        JsonEncoder.appendArguments(buf, event, event.getArgumentCount(), new Object[1]);
+
+        assertEquals(
+                ",\"arguments\":[\"NaN\",\"Infinity\",\"-Infinity\",1.5,\"NaN\",\"Infinity\",2.5]", buf.toString());
+    }
+}
@@ -5,6 +5,7 @@ module org.slf4j {
     exports org.slf4j.helpers;
 
     uses org.slf4j.spi.SLF4JServiceProvider;
+    uses org.slf4j.spi.ArgumentRenderer;
 
     requires java.base;
 }
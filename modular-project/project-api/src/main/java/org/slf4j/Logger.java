@@ -181,6 +181,91 @@ public interface Logger {
      */
     public void trace(String format, Object arg);
 
+    /**
+     * Log a message at the TRACE level according to the specified format
+     * and {@code int} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the TRACE level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void trace(String format, int arg) {
+        if (isTraceEnabled()) {
+            trace(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the TRACE level according to the specified format
+     * and {@code long} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the TRACE level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void trace(String format, long arg) {
+        if (isTraceEnabled()) {
+            trace(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the TRACE level according to the specified format
+     * and {@code double} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the TRACE level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void trace(String format, double arg) {
+        if (isTraceEnabled()) {
+            trace(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the TRACE level according to the specified format
+     * and {@code float} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the TRACE level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void trace(String format, float arg) {
+        if (isTraceEnabled()) {
+            trace(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the TRACE level according to the specified format
+     * and {@code char} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the TRACE level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void trace(String format, char arg) {
+        if (isTraceEnabled()) {
+            trace(format, (Object) arg);
+        }
+    }
+
     /**
      * Log a message at the TRACE level according to the specified format
      * and arguments.
@@ -331,6 +416,91 @@ public interface Logger {
      */
     public void debug(String format, Object arg);
 
+    /**
+     * Log a message at the DEBUG level according to the specified format
+     * and {@code int} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the DEBUG level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void debug(String format, int arg) {
+        if (isDebugEnabled()) {
+            debug(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the DEBUG level according to the specified format
+     * and {@code long} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the DEBUG level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void debug(String format, long arg) {
+        if (isDebugEnabled()) {
+            debug(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the DEBUG level according to the specified format
+     * and {@code double} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the DEBUG level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void debug(String format, double arg) {
+        if (isDebugEnabled()) {
+            debug(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the DEBUG level according to the specified format
+     * and {@code float} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the DEBUG level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void debug(String format, float arg) {
+        if (isDebugEnabled()) {
+            debug(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the DEBUG level according to the specified format
+     * and {@code char} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the DEBUG level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void debug(String format, char arg) {
+        if (isDebugEnabled()) {
+            debug(format, (Object) arg);
+        }
+    }
+
     /**
      * Log a message at the DEBUG level according to the specified format
      * and arguments.
@@ -472,6 +642,91 @@ public interface Logger {
      */
     public void info(String format, Object arg);
 
+    /**
+     * Log a message at the INFO level according to the specified format
+     * and {@code int} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the INFO level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void info(String format, int arg) {
+        if (isInfoEnabled()) {
+            info(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the INFO level according to the specified format
+     * and {@code long} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the INFO level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void info(String format, long arg) {
+        if (isInfoEnabled()) {
+            info(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the INFO level according to the specified format
+     * and {@code double} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the INFO level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void info(String format, double arg) {
+        if (isInfoEnabled()) {
+            info(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the INFO level according to the specified format
+     * and {@code float} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the INFO level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void info(String format, float arg) {
+        if (isInfoEnabled()) {
+            info(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the INFO level according to the specified format
+     * and {@code char} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the INFO level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void info(String format, char arg) {
+        if (isInfoEnabled()) {
+            info(format, (Object) arg);
+        }
+    }
+
     /**
      * Log a message at the INFO level according to the specified format
      * and arguments.
@@ -613,6 +868,91 @@ public interface Logger {
      */
     public void warn(String format, Object arg);
 
+    /**
+     * Log a message at the WARN level according to the specified format
+     * and {@code int} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the WARN level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void warn(String format, int arg) {
+        if (isWarnEnabled()) {
+            warn(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the WARN level according to the specified format
+     * and {@code long} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the WARN level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void warn(String format, long arg) {
+        if (isWarnEnabled()) {
+            warn(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the WARN level according to the specified format
+     * and {@code double} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the WARN level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void warn(String format, double arg) {
+        if (isWarnEnabled()) {
+            warn(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the WARN level according to the specified format
+     * and {@code float} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the WARN level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void warn(String format, float arg) {
+        if (isWarnEnabled()) {
+            warn(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the WARN level according to the specified format
+     * and {@code char} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the WARN level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void warn(String format, char arg) {
+        if (isWarnEnabled()) {
+            warn(format, (Object) arg);
+        }
+    }
+
     /**
      * Log a message at the WARN level according to the specified format
      * and arguments.
@@ -754,6 +1094,91 @@ public interface Logger {
      */
     public void error(String format, Object arg);
 
+    /**
+     * Log a message at the ERROR level according to the specified format
+     * and {@code int} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the ERROR level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void error(String format, int arg) {
+        if (isErrorEnabled()) {
+            error(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the ERROR level according to the specified format
+     * and {@code long} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the ERROR level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void error(String format, long arg) {
+        if (isErrorEnabled()) {
+            error(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the ERROR level according to the specified format
+     * and {@code double} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the ERROR level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void error(String format, double arg) {
+        if (isErrorEnabled()) {
+            error(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the ERROR level according to the specified format
+     * and {@code float} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the ERROR level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void error(String format, float arg) {
+        if (isErrorEnabled()) {
+            error(format, (Object) arg);
+        }
+    }
+
+    /**
+     * Log a message at the ERROR level according to the specified format
+     * and {@code char} argument.
+     *
+     * <p>Implementations may append the argument without boxing it. This
+     * default implementation boxes the argument if the logger is enabled for
+     * the ERROR level.
+     *
+     * @param format the format string
+     * @param arg    the argument
+     */
+    public default void error(String format, char arg) {
+        if (isErrorEnabled()) {
+            error(format, (Object) arg);
+        }
+    }
+
     /**
      * Log a message at the ERROR level according to the specified format
      * and arguments.
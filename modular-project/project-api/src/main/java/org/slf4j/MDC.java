@@ -92,6 +92,22 @@ public class MDC {
         }
     }
 
+    /**
+     * Register a well-known key, typically once at startup, and return its
+     * handle. Values put and read through the handle are stored by index
+     * rather than hashed by adapters supporting it, see {@link MDCKey}.
+     * Registering a name twice returns the same handle.
+     *
+     * @param name non-null name of the key
+     * @return the handle of the key
+     * @throws IllegalArgumentException
+     *           in case the "name" parameter is null
+     * @since 2.0.0
+     */
+    public static MDCKey registerKey(String name) throws IllegalArgumentException {
+        return MDCKey.register(name);
+    }
+
     /**
      * Put a diagnostic context value (the <code>val</code> parameter) as identified with the
      * <code>key</code> parameter into the current thread's diagnostic context map. The
@@ -150,6 +166,54 @@ public class MDC {
         return new MDCCloseable(key);
     }
 
+    /**
+     * Run the given task with the <code>key</code> parameter mapped to the
+     * <code>val</code> parameter in the diagnostic context, and restore the
+     * context afterwards.
+     *
+     * <p>
+     * Adapters supporting scoped bindings, such as
+     * {@link org.slf4j.helpers.ScopedValueMDCAdapter}, bind the value for the
+     * extent of the task only, and subtasks forked within a structured scope
+     * inherit it at no cost. Other adapters fall back to a put, restoring the
+     * previous value once the task completes.
+     *
+     * @param key non-null key
+     * @param val value to put in the map
+     * @param task the task to run
+     * @throws IllegalArgumentException
+     *           in case the "key" parameter is null
+     * @since 2.0.0
+     */
+    public static void runWith(String key, String val, Runnable task) throws IllegalArgumentException {
+        if (key == null) {
+            throw new IllegalArgumentException("key parameter cannot be null");
+        }
+        if (mdcAdapter == null) {
+            throw new IllegalStateException(MDC_APAPTER_CANNOT_BE_NULL_MESSAGE);
+        }
+        mdcAdapter.runWith(key, val, task);
+    }
+
+    /**
+     * Same as {@link #put(String, String)} for a registered key.
+     *
+     * @param key non-null key, see {@link #registerKey(String)}
+     * @param val value to put in the map
+     * @throws IllegalArgumentException
+     *           in case the "key" parameter is null
+     * @since 2.0.0
+     */
+    public static void put(MDCKey key, String val) throws IllegalArgumentException {
+        if (key == null) {
+            throw new IllegalArgumentException("key parameter cannot be null");
+        }
+        if (mdcAdapter == null) {
+            throw new IllegalStateException(MDC_APAPTER_CANNOT_BE_NULL_MESSAGE);
+        }
+        mdcAdapter.put(key, val);
+    }
+
     /**
      * Get the diagnostic context identified by the <code>key</code> parameter. The
      * <code>key</code> parameter cannot be null.
@@ -173,6 +237,25 @@ public class MDC {
         return mdcAdapter.get(key);
     }
 
+    /**
+     * Same as {@link #get(String)} for a registered key.
+     *
+     * @param key non-null key, see {@link #registerKey(String)}
+     * @return the string value identified by the <code>key</code> parameter.
+     * @throws IllegalArgumentException
+     *           in case the "key" parameter is null
+     * @since 2.0.0
+     */
+    public static String get(MDCKey key) throws IllegalArgumentException {
+        if (key == null) {
+            throw new IllegalArgumentException("key parameter cannot be null");
+        }
+        if (mdcAdapter == null) {
+            throw new IllegalStateException(MDC_APAPTER_CANNOT_BE_NULL_MESSAGE);
+        }
+        return mdcAdapter.get(key);
+    }
+
     /**
      * Remove the diagnostic context identified by the <code>key</code> parameter using
      * the underlying system's MDC implementation. The <code>key</code> parameter
@@ -194,6 +277,24 @@ public class MDC {
         mdcAdapter.remove(key);
     }
 
+    /**
+     * Same as {@link #remove(String)} for a registered key.
+     *
+     * @param key non-null key, see {@link #registerKey(String)}
+     * @throws IllegalArgumentException
+     *           in case the "key" parameter is null
+     * @since 2.0.0
+     */
+    public static void remove(MDCKey key) throws IllegalArgumentException {
+        if (key == null) {
+            throw new IllegalArgumentException("key parameter cannot be null");
+        }
+        if (mdcAdapter == null) {
+            throw new IllegalStateException(MDC_APAPTER_CANNOT_BE_NULL_MESSAGE);
+        }
+        mdcAdapter.remove(key);
+    }
+
     /**
      * Clear all entries in the MDC of the underlying implementation.
      */
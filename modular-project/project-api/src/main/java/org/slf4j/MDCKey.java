@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A handle on a well-known MDC key, see {@link MDC#registerKey(String)}.
+ *
+ * <p>Each registered key is assigned the next index, starting at 0, for the
+ * lifetime of the class loader. Adapters supporting them, such as
+ * {@link org.slf4j.helpers.IndexedMDCAdapter}, keep the values of registered
+ * keys in an array by index, thus putting or getting a value through the
+ * handle involves no hashing. Other adapters look the value up by name.
+ *
+ * @since 2.0.0
+ */
+public final class MDCKey {
+
+    private static final ConcurrentMap<String, MDCKey> REGISTRY = new ConcurrentHashMap<>();
+
+    // guarded by REGISTRY
+    private static int registeredCount;
+
+    private final String name;
+    private final int index;
+
+    private MDCKey(String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    /**
+     * Register a key, as {@link MDC#registerKey(String)} does, without
+     * initializing {@link MDC}. Meant for providers, which must not touch
+     * {@link MDC} while being bound.
+     *
+     * @param name non-null name of the key
+     * @return the key registered under the name, the existing one if any
+     * @throws IllegalArgumentException
+     *           in case the "name" parameter is null
+     */
+    public static MDCKey register(String name) throws IllegalArgumentException {
+        if (name == null) {
+            throw new IllegalArgumentException("name parameter cannot be null");
+        }
+        MDCKey key = REGISTRY.get(name);
+        if (key != null) {
+            return key;
+        }
+        synchronized (REGISTRY) {
+            key = REGISTRY.get(name);
+            if (key == null) {
+                key = new MDCKey(name, registeredCount);
+                REGISTRY.put(name, key);
+                registeredCount++;
+            }
+            return key;
+        }
+    }
+
+    /**
+     * @param name the name of the key
+     * @return the key registered under the name, null if there is none
+     */
+    public static MDCKey forName(String name) {
+        return name == null ? null : REGISTRY.get(name);
+    }
+
+    /**
+     * @return the number of keys registered so far, an upper bound of their indexes
+     */
+    public static int getRegisteredCount() {
+        synchronized (REGISTRY) {
+            return registeredCount;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the index of the key, unique among registered keys
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
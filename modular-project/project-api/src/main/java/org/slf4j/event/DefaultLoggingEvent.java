@@ -18,9 +18,11 @@
  */
 package org.slf4j.event;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.Marker;
@@ -28,18 +30,61 @@ import org.slf4j.Marker;
 /**
  * A default implementation of {@link LoggingEvent}.
  *
+ * <p>Suppliers of the message, of arguments and of key-value pair values are
+ * only invoked once the corresponding getter is called, that is once the
+ * event is rendered, and only once.
+ *
+ * <p>Key-value pairs are kept in parallel arrays, values added as primitives
+ * are not boxed unless {@link #getKeyValuePairs()} is called. Backends may
+ * read them by index instead, see {@link #getKeyValueCount()}. Arguments
+ * added as primitives are kept the same way, see {@link #getArgumentType(int)}.
+ *
  * @author Ceki G&uuml;lc&uuml;
  *
  * @since 2.0.0
  */
 public class DefaultLoggingEvent implements LoggingEvent {
 
+    /** The value of a key-value pair is an object, see {@link #getValueType(int)}. */
+    public static final int OBJECT_VALUE = 0;
+    /** The value of a key-value pair is a {@code long}, see {@link #getValueType(int)}. */
+    public static final int LONG_VALUE = 1;
+    /** The value of a key-value pair is a {@code double}, see {@link #getValueType(int)}. */
+    public static final int DOUBLE_VALUE = 2;
+    /** The value of a key-value pair is a {@code float}, see {@link #getValueType(int)}. */
+    public static final int FLOAT_VALUE = 3;
+    /** The value of a key-value pair is a {@code boolean}, see {@link #getValueType(int)}. */
+    public static final int BOOLEAN_VALUE = 4;
+    /** The value of a key-value pair is a {@code char}, see {@link #getValueType(int)}. */
+    public static final int CHAR_VALUE = 5;
+    /** An argument is an {@code int}, see {@link #getArgumentType(int)}. */
+    public static final int INT_VALUE = 6;
+
     Logger logger;
     Level level;
 
     String message;
-    List<Marker> markers;
-    List<Object> arguments;
+    Supplier<String> messageSupplier;
+
+    // the first marker inline, further ones spill over into moreMarkers
+    Marker marker;
+    Marker[] moreMarkers;
+    int markerCount;
+
+    // valid up to argumentCount, kept when the event is reset; primitive
+    // arguments are kept as raw bits, their types are only set once there is one
+    Object[] arguments;
+    long[] primitiveArguments;
+    byte[] argumentTypes;
+    int argumentCount;
+
+    // the key-value pairs, primitive values are kept as raw bits
+    String[] keys;
+    Object[] values;
+    long[] primitiveValues;
+    byte[] valueTypes;
+    int keyValueCount;
+    // boxed view of the key-value pairs, built on demand
     List<KeyValuePair> keyValuePairs;
 
     Throwable throwable;
@@ -48,65 +93,442 @@ public class DefaultLoggingEvent implements LoggingEvent {
 
     String callerBoundary;
 
+    boolean deferredArguments;
+
+    // live views, created on first use
+    private List<Marker> markerList;
+    private List<Object> argumentList;
+
+    // an argument or the value of a key-value pair not computed yet
+    private static final class Deferred {
+        final Supplier<?> supplier;
+
+        Deferred(Supplier<?> supplier) {
+            this.supplier = supplier;
+        }
+    }
+
     public DefaultLoggingEvent(Level level, Logger logger) {
         this.logger = logger;
         this.level = level;
     }
 
+    /**
+     * Clear the event for reuse, keeping the storage it allocated so far. The
+     * event must not be referenced elsewhere anymore.
+     */
+    public void reset(Level level, Logger logger) {
+        this.logger = logger;
+        this.level = level;
+        message = null;
+        messageSupplier = null;
+        marker = null;
+        if (markerCount > 1) {
+            Arrays.fill(moreMarkers, 0, markerCount - 1, null);
+        }
+        markerCount = 0;
+        if (argumentCount > 0) {
+            Arrays.fill(arguments, 0, argumentCount, null);
+            if (argumentTypes != null) {
+                Arrays.fill(argumentTypes, 0, argumentCount, (byte) OBJECT_VALUE);
+            }
+        }
+        argumentCount = 0;
+        deferredArguments = false;
+        if (keyValueCount > 0) {
+            Arrays.fill(keys, 0, keyValueCount, null);
+            Arrays.fill(values, 0, keyValueCount, null);
+        }
+        keyValueCount = 0;
+        keyValuePairs = null;
+        throwable = null;
+        threadName = null;
+        timeStamp = 0;
+        callerBoundary = null;
+    }
+
     public void addMarker(Marker marker) {
-        if (markers == null) {
-            markers = new ArrayList<>(2);
+        if (markerCount == 0) {
+            this.marker = marker;
+        } else {
+            if (moreMarkers == null) {
+                moreMarkers = new Marker[2];
+            } else if (markerCount - 1 == moreMarkers.length) {
+                moreMarkers = Arrays.copyOf(moreMarkers, moreMarkers.length * 2);
+            }
+            moreMarkers[markerCount - 1] = marker;
         }
-        markers.add(marker);
+        markerCount++;
     }
 
+    /**
+     * @return a live view of the markers, null if there are none
+     */
     @Override
     public List<Marker> getMarkers() {
-        return markers;
+        if (markerCount == 0) {
+            return null;
+        }
+        if (markerList == null) {
+            markerList = new AbstractList<Marker>() {
+                @Override
+                public Marker get(int index) {
+                    if (index < 0 || index >= markerCount) {
+                        throw new IndexOutOfBoundsException(String.valueOf(index));
+                    }
+                    return index == 0 ? marker : moreMarkers[index - 1];
+                }
+
+                @Override
+                public int size() {
+                    return markerCount;
+                }
+            };
+        }
+        return markerList;
     }
 
     public void addArgument(Object p) {
-        getNonNullArguments().add(p);
+        if (arguments == null) {
+            arguments = new Object[4];
+        } else if (argumentCount == arguments.length) {
+            growArguments();
+        }
+        arguments[argumentCount++] = p;
     }
 
-    public void addArguments(Object... args) {
-        getNonNullArguments().addAll(Arrays.asList(args));
+    public void addArgument(int p) {
+        addArgument(INT_VALUE, p);
     }
 
-    private List<Object> getNonNullArguments() {
-        if (arguments == null) {
-            arguments = new ArrayList<>(3);
+    public void addArgument(long p) {
+        addArgument(LONG_VALUE, p);
+    }
+
+    public void addArgument(double p) {
+        addArgument(DOUBLE_VALUE, Double.doubleToRawLongBits(p));
+    }
+
+    public void addArgument(float p) {
+        addArgument(FLOAT_VALUE, Float.floatToRawIntBits(p));
+    }
+
+    public void addArgument(char p) {
+        addArgument(CHAR_VALUE, p);
+    }
+
+    private void addArgument(int type, long bits) {
+        addArgument((Object) null);
+        int index = argumentCount - 1;
+        if (argumentTypes == null) {
+            argumentTypes = new byte[arguments.length];
+            primitiveArguments = new long[arguments.length];
+        }
+        argumentTypes[index] = (byte) type;
+        primitiveArguments[index] = bits;
+    }
+
+    private void growArguments() {
+        int capacity = argumentCount * 2;
+        arguments = Arrays.copyOf(arguments, capacity);
+        if (argumentTypes != null) {
+            argumentTypes = Arrays.copyOf(argumentTypes, capacity);
+            primitiveArguments = Arrays.copyOf(primitiveArguments, capacity);
         }
-        return arguments;
     }
 
+    public void addArgument(Supplier<?> objectSupplier) {
+        addArgument(new Deferred(objectSupplier));
+        deferredArguments = true;
+    }
+
+    public void addArguments(Object... args) {
+        for (Object arg : args) {
+            addArgument(arg);
+        }
+    }
+
+    /**
+     * @return a live view of the arguments, null if there are none; arguments
+     *         added as primitives are boxed on each access
+     */
     @Override
     public List<Object> getArguments() {
-        return arguments;
+        if (argumentCount == 0) {
+            return null;
+        }
+        resolveArguments();
+        if (argumentList == null) {
+            argumentList = new AbstractList<Object>() {
+                @Override
+                public Object get(int index) {
+                    if (index < 0 || index >= argumentCount) {
+                        throw new IndexOutOfBoundsException(String.valueOf(index));
+                    }
+                    return getArgument(index);
+                }
+
+                @Override
+                public int size() {
+                    return argumentCount;
+                }
+            };
+        }
+        return argumentList;
     }
 
     @Override
     public Object[] getArgumentArray() {
-        if (arguments == null) return null;
-        return arguments.toArray();
+        if (argumentCount == 0) return null;
+        resolveArguments();
+        Object[] copy = Arrays.copyOf(arguments, argumentCount);
+        if (argumentTypes != null) {
+            for (int i = 0; i < argumentCount; i++) {
+                if (argumentTypes[i] != OBJECT_VALUE) {
+                    copy[i] = getArgument(i);
+                }
+            }
+        }
+        return copy;
+    }
+
+    public int getArgumentCount() {
+        return argumentCount;
+    }
+
+    /**
+     * Same as {@link #getArgumentArray()} without copying. The returned array
+     * may be longer than {@link #getArgumentCount()} and must neither be
+     * modified nor retained. Arguments added as primitives are boxed into it,
+     * prefer the indexed accessors such as {@link #getLongArgument(int)} to
+     * avoid that.
+     *
+     * @return the arguments, null if there are none
+     */
+    public Object[] getRawArgumentArray() {
+        if (argumentCount == 0) return null;
+        resolveArguments();
+        if (argumentTypes != null) {
+            for (int i = 0; i < argumentCount; i++) {
+                if (argumentTypes[i] != OBJECT_VALUE) {
+                    arguments[i] = getArgument(i);
+                    argumentTypes[i] = OBJECT_VALUE;
+                }
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * @return one of {@link #OBJECT_VALUE}, {@link #INT_VALUE}, {@link #LONG_VALUE},
+     *         {@link #DOUBLE_VALUE}, {@link #FLOAT_VALUE} and {@link #CHAR_VALUE}
+     */
+    public int getArgumentType(int index) {
+        return argumentTypes == null ? OBJECT_VALUE : argumentTypes[index];
+    }
+
+    /**
+     * @return the value of an {@link #OBJECT_VALUE} argument, its supplier is invoked if need be
+     */
+    public Object getObjectArgument(int index) {
+        Object argument = arguments[index];
+        if (argument instanceof Deferred) {
+            argument = ((Deferred) argument).supplier.get();
+            arguments[index] = argument;
+        }
+        return argument;
+    }
+
+    public int getIntArgument(int index) {
+        return (int) primitiveArguments[index];
+    }
+
+    public long getLongArgument(int index) {
+        return primitiveArguments[index];
+    }
+
+    public double getDoubleArgument(int index) {
+        return Double.longBitsToDouble(primitiveArguments[index]);
+    }
+
+    public float getFloatArgument(int index) {
+        return Float.intBitsToFloat((int) primitiveArguments[index]);
+    }
+
+    public char getCharArgument(int index) {
+        return (char) primitiveArguments[index];
+    }
+
+    /**
+     * @return the argument, boxed if it is a primitive
+     */
+    public Object getArgument(int index) {
+        switch (getArgumentType(index)) {
+            case INT_VALUE:
+                return getIntArgument(index);
+            case LONG_VALUE:
+                return getLongArgument(index);
+            case DOUBLE_VALUE:
+                return getDoubleArgument(index);
+            case FLOAT_VALUE:
+                return getFloatArgument(index);
+            case CHAR_VALUE:
+                return getCharArgument(index);
+            default:
+                return getObjectArgument(index);
+        }
+    }
+
+    private void resolveArguments() {
+        if (deferredArguments) {
+            deferredArguments = false;
+            for (int i = 0; i < argumentCount; i++) {
+                if (arguments[i] instanceof Deferred) {
+                    arguments[i] = ((Deferred) arguments[i]).supplier.get();
+                }
+            }
+        }
     }
 
     public void addKeyValue(String key, Object value) {
-        getNonnullKeyValuePairs().add(new KeyValuePair(key, value));
+        addKeyValue(key, OBJECT_VALUE, value, 0);
     }
 
-    private List<KeyValuePair> getNonnullKeyValuePairs() {
-        if (keyValuePairs == null) {
-            keyValuePairs = new ArrayList<>(4);
+    public void addKeyValue(String key, Supplier<?> valueSupplier) {
+        addKeyValue(key, OBJECT_VALUE, new Deferred(valueSupplier), 0);
+    }
+
+    public void addKeyValue(String key, long value) {
+        addKeyValue(key, LONG_VALUE, null, value);
+    }
+
+    public void addKeyValue(String key, double value) {
+        addKeyValue(key, DOUBLE_VALUE, null, Double.doubleToRawLongBits(value));
+    }
+
+    public void addKeyValue(String key, float value) {
+        addKeyValue(key, FLOAT_VALUE, null, Float.floatToRawIntBits(value));
+    }
+
+    public void addKeyValue(String key, boolean value) {
+        addKeyValue(key, BOOLEAN_VALUE, null, value ? 1 : 0);
+    }
+
+    public void addKeyValue(String key, char value) {
+        addKeyValue(key, CHAR_VALUE, null, value);
+    }
+
+    private void addKeyValue(String key, int type, Object value, long primitiveValue) {
+        if (keys == null) {
+            keys = new String[4];
+            values = new Object[4];
+            primitiveValues = new long[4];
+            valueTypes = new byte[4];
+        } else if (keyValueCount == keys.length) {
+            int capacity = keyValueCount * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+            primitiveValues = Arrays.copyOf(primitiveValues, capacity);
+            valueTypes = Arrays.copyOf(valueTypes, capacity);
         }
-        return keyValuePairs;
+        keys[keyValueCount] = key;
+        values[keyValueCount] = value;
+        primitiveValues[keyValueCount] = primitiveValue;
+        valueTypes[keyValueCount] = (byte) type;
+        keyValueCount++;
+        keyValuePairs = null;
     }
 
+    /**
+     * Boxes values added as primitives, prefer the indexed accessors such as
+     * {@link #getLongValue(int)} to avoid that.
+     */
     @Override
     public List<KeyValuePair> getKeyValuePairs() {
+        if (keyValueCount == 0) {
+            return null;
+        }
+        if (keyValuePairs == null) {
+            List<KeyValuePair> list = new ArrayList<>(keyValueCount);
+            for (int i = 0; i < keyValueCount; i++) {
+                list.add(new KeyValuePair(keys[i], getValue(i)));
+            }
+            keyValuePairs = list;
+        }
         return keyValuePairs;
     }
 
+    /**
+     * @return the number of key-value pairs, in the order they were added
+     */
+    public int getKeyValueCount() {
+        return keyValueCount;
+    }
+
+    public String getKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * @return one of {@link #OBJECT_VALUE}, {@link #LONG_VALUE}, {@link #DOUBLE_VALUE},
+     *         {@link #FLOAT_VALUE}, {@link #BOOLEAN_VALUE} and {@link #CHAR_VALUE}
+     */
+    public int getValueType(int index) {
+        return valueTypes[index];
+    }
+
+    /**
+     * @return the value of an {@link #OBJECT_VALUE} pair, its supplier is invoked if need be
+     */
+    public Object getObjectValue(int index) {
+        Object value = values[index];
+        if (value instanceof Deferred) {
+            value = ((Deferred) value).supplier.get();
+            values[index] = value;
+        }
+        return value;
+    }
+
+    public long getLongValue(int index) {
+        return primitiveValues[index];
+    }
+
+    public double getDoubleValue(int index) {
+        return Double.longBitsToDouble(primitiveValues[index]);
+    }
+
+    public float getFloatValue(int index) {
+        return Float.intBitsToFloat((int) primitiveValues[index]);
+    }
+
+    public boolean getBooleanValue(int index) {
+        return primitiveValues[index] != 0;
+    }
+
+    public char getCharValue(int index) {
+        return (char) primitiveValues[index];
+    }
+
+    /**
+     * @return the value of the pair, boxed if it is a primitive
+     */
+    public Object getValue(int index) {
+        switch (valueTypes[index]) {
+            case LONG_VALUE:
+                return getLongValue(index);
+            case DOUBLE_VALUE:
+                return getDoubleValue(index);
+            case FLOAT_VALUE:
+                return getFloatValue(index);
+            case BOOLEAN_VALUE:
+                return getBooleanValue(index);
+            case CHAR_VALUE:
+                return getCharValue(index);
+            default:
+                return getObjectValue(index);
+        }
+    }
+
     public void setThrowable(Throwable cause) {
         this.throwable = cause;
     }
@@ -123,11 +545,21 @@ public class DefaultLoggingEvent implements LoggingEvent {
 
     @Override
     public String getMessage() {
+        if (messageSupplier != null) {
+            message = messageSupplier.get();
+            messageSupplier = null;
+        }
         return message;
     }
 
     public void setMessage(String message) {
         this.message = message;
+        this.messageSupplier = null;
+    }
+
+    public void setMessage(Supplier<String> messageSupplier) {
+        this.message = null;
+        this.messageSupplier = messageSupplier;
     }
 
     @Override
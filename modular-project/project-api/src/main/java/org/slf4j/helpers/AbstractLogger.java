@@ -20,6 +20,7 @@ package org.slf4j.helpers;
 
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Arrays;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -77,6 +78,41 @@ public abstract class AbstractLogger implements Logger, Serializable {
         }
     }
 
+    @Override
+    public void trace(String format, int arg) {
+        if (isTraceEnabled()) {
+            handlePrimitiveArgCall(Level.TRACE, null, format, arg);
+        }
+    }
+
+    @Override
+    public void trace(String format, long arg) {
+        if (isTraceEnabled()) {
+            handlePrimitiveArgCall(Level.TRACE, null, format, arg);
+        }
+    }
+
+    @Override
+    public void trace(String format, double arg) {
+        if (isTraceEnabled()) {
+            handlePrimitiveArgCall(Level.TRACE, null, format, arg);
+        }
+    }
+
+    @Override
+    public void trace(String format, float arg) {
+        if (isTraceEnabled()) {
+            handlePrimitiveArgCall(Level.TRACE, null, format, arg);
+        }
+    }
+
+    @Override
+    public void trace(String format, char arg) {
+        if (isTraceEnabled()) {
+            handlePrimitiveArgCall(Level.TRACE, null, format, arg);
+        }
+    }
+
     @Override
     public void trace(String format, Object arg1, Object arg2) {
         if (isTraceEnabled()) {
@@ -144,6 +180,41 @@ public abstract class AbstractLogger implements Logger, Serializable {
         }
     }
 
+    @Override
+    public void debug(String format, int arg) {
+        if (isDebugEnabled()) {
+            handlePrimitiveArgCall(Level.DEBUG, null, format, arg);
+        }
+    }
+
+    @Override
+    public void debug(String format, long arg) {
+        if (isDebugEnabled()) {
+            handlePrimitiveArgCall(Level.DEBUG, null, format, arg);
+        }
+    }
+
+    @Override
+    public void debug(String format, double arg) {
+        if (isDebugEnabled()) {
+            handlePrimitiveArgCall(Level.DEBUG, null, format, arg);
+        }
+    }
+
+    @Override
+    public void debug(String format, float arg) {
+        if (isDebugEnabled()) {
+            handlePrimitiveArgCall(Level.DEBUG, null, format, arg);
+        }
+    }
+
+    @Override
+    public void debug(String format, char arg) {
+        if (isDebugEnabled()) {
+            handlePrimitiveArgCall(Level.DEBUG, null, format, arg);
+        }
+    }
+
     public void debug(String format, Object arg1, Object arg2) {
         if (isDebugEnabled()) {
             handle2ArgsCall(Level.DEBUG, null, format, arg1, arg2);
@@ -204,6 +275,41 @@ public abstract class AbstractLogger implements Logger, Serializable {
         }
     }
 
+    @Override
+    public void info(String format, int arg) {
+        if (isInfoEnabled()) {
+            handlePrimitiveArgCall(Level.INFO, null, format, arg);
+        }
+    }
+
+    @Override
+    public void info(String format, long arg) {
+        if (isInfoEnabled()) {
+            handlePrimitiveArgCall(Level.INFO, null, format, arg);
+        }
+    }
+
+    @Override
+    public void info(String format, double arg) {
+        if (isInfoEnabled()) {
+            handlePrimitiveArgCall(Level.INFO, null, format, arg);
+        }
+    }
+
+    @Override
+    public void info(String format, float arg) {
+        if (isInfoEnabled()) {
+            handlePrimitiveArgCall(Level.INFO, null, format, arg);
+        }
+    }
+
+    @Override
+    public void info(String format, char arg) {
+        if (isInfoEnabled()) {
+            handlePrimitiveArgCall(Level.INFO, null, format, arg);
+        }
+    }
+
     public void info(String format, Object arg1, Object arg2) {
         if (isInfoEnabled()) {
             handle2ArgsCall(Level.INFO, null, format, arg1, arg2);
@@ -264,6 +370,41 @@ public abstract class AbstractLogger implements Logger, Serializable {
         }
     }
 
+    @Override
+    public void warn(String format, int arg) {
+        if (isWarnEnabled()) {
+            handlePrimitiveArgCall(Level.WARN, null, format, arg);
+        }
+    }
+
+    @Override
+    public void warn(String format, long arg) {
+        if (isWarnEnabled()) {
+            handlePrimitiveArgCall(Level.WARN, null, format, arg);
+        }
+    }
+
+    @Override
+    public void warn(String format, double arg) {
+        if (isWarnEnabled()) {
+            handlePrimitiveArgCall(Level.WARN, null, format, arg);
+        }
+    }
+
+    @Override
+    public void warn(String format, float arg) {
+        if (isWarnEnabled()) {
+            handlePrimitiveArgCall(Level.WARN, null, format, arg);
+        }
+    }
+
+    @Override
+    public void warn(String format, char arg) {
+        if (isWarnEnabled()) {
+            handlePrimitiveArgCall(Level.WARN, null, format, arg);
+        }
+    }
+
     public void warn(String format, Object arg1, Object arg2) {
         if (isWarnEnabled()) {
             handle2ArgsCall(Level.WARN, null, format, arg1, arg2);
@@ -324,6 +465,41 @@ public abstract class AbstractLogger implements Logger, Serializable {
         }
     }
 
+    @Override
+    public void error(String format, int arg) {
+        if (isErrorEnabled()) {
+            handlePrimitiveArgCall(Level.ERROR, null, format, arg);
+        }
+    }
+
+    @Override
+    public void error(String format, long arg) {
+        if (isErrorEnabled()) {
+            handlePrimitiveArgCall(Level.ERROR, null, format, arg);
+        }
+    }
+
+    @Override
+    public void error(String format, double arg) {
+        if (isErrorEnabled()) {
+            handlePrimitiveArgCall(Level.ERROR, null, format, arg);
+        }
+    }
+
+    @Override
+    public void error(String format, float arg) {
+        if (isErrorEnabled()) {
+            handlePrimitiveArgCall(Level.ERROR, null, format, arg);
+        }
+    }
+
+    @Override
+    public void error(String format, char arg) {
+        if (isErrorEnabled()) {
+            handlePrimitiveArgCall(Level.ERROR, null, format, arg);
+        }
+    }
+
     public void error(String format, Object arg1, Object arg2) {
         if (isErrorEnabled()) {
             handle2ArgsCall(Level.ERROR, null, format, arg1, arg2);
@@ -380,6 +556,51 @@ public abstract class AbstractLogger implements Logger, Serializable {
         handleNormalizedLoggingCall(level, marker, msg, new Object[] {arg1}, null);
     }
 
+    /**
+     * Handle a logging call with a single {@code int} argument. This default
+     * implementation boxes the argument to an {@link Integer}, subclasses may
+     * override it to append the argument as is.
+     */
+    protected void handlePrimitiveArgCall(Level level, Marker marker, String msg, int arg) {
+        handle_1ArgsCall(level, marker, msg, arg);
+    }
+
+    /**
+     * Handle a logging call with a single {@code long} argument. This default
+     * implementation boxes the argument, subclasses may override it to append
+     * the argument as is.
+     */
+    protected void handlePrimitiveArgCall(Level level, Marker marker, String msg, long arg) {
+        handle_1ArgsCall(level, marker, msg, arg);
+    }
+
+    /**
+     * Handle a logging call with a single {@code double} argument. This default
+     * implementation boxes the argument, subclasses may override it to append
+     * the argument as is.
+     */
+    protected void handlePrimitiveArgCall(Level level, Marker marker, String msg, double arg) {
+        handle_1ArgsCall(level, marker, msg, arg);
+    }
+
+    /**
+     * Handle a logging call with a single {@code float} argument. This default
+     * implementation boxes the argument, subclasses may override it to append
+     * the argument as is.
+     */
+    protected void handlePrimitiveArgCall(Level level, Marker marker, String msg, float arg) {
+        handle_1ArgsCall(level, marker, msg, arg);
+    }
+
+    /**
+     * Handle a logging call with a single {@code char} argument. This default
+     * implementation boxes the argument, subclasses may override it to append
+     * the argument as is.
+     */
+    protected void handlePrimitiveArgCall(Level level, Marker marker, String msg, char arg) {
+        handle_1ArgsCall(level, marker, msg, arg);
+    }
+
     private void handle2ArgsCall(Level level, Marker marker, String msg, Object arg1, Object arg2) {
         if (arg2 instanceof Throwable) {
             handleNormalizedLoggingCall(level, marker, msg, new Object[] {arg1}, (Throwable) arg2);
@@ -391,8 +612,7 @@ public abstract class AbstractLogger implements Logger, Serializable {
     private void handleArgArrayCall(Level level, Marker marker, String msg, Object[] args) {
         Throwable throwableCandidate = MessageFormatter.getThrowableCandidate(args);
         if (throwableCandidate != null) {
-            Object[] trimmedCopy = MessageFormatter.trimmedCopy(args);
-            handleNormalizedLoggingCall(level, marker, msg, trimmedCopy, throwableCandidate);
+            handleNormalizedLoggingCall(level, marker, msg, args, args.length - 1, throwableCandidate);
         } else {
             handleNormalizedLoggingCall(level, marker, msg, args, null);
         }
@@ -414,4 +634,28 @@ public abstract class AbstractLogger implements Logger, Serializable {
      */
     protected abstract void handleNormalizedLoggingCall(
             Level level, Marker marker, String messagePattern, Object[] arguments, Throwable throwable);
+
+    /**
+     * Same as {@link #handleNormalizedLoggingCall(Level, Marker, String, Object[], Throwable)}
+     * except that only the first argumentCount elements of the arguments array
+     * are arguments, e.g. because its last element was separated as the throwable.
+     *
+     * <p>This default implementation copies the arguments to an array of the
+     * right size, subclasses may override it to avoid the copy.
+     *
+     * @param argumentCount the number of leading elements of arguments to be formatted
+     */
+    protected void handleNormalizedLoggingCall(
+            Level level,
+            Marker marker,
+            String messagePattern,
+            Object[] arguments,
+            int argumentCount,
+            Throwable throwable) {
+        Object[] actualArguments = arguments;
+        if (arguments != null && argumentCount < arguments.length) {
+            actualArguments = Arrays.copyOf(arguments, argumentCount);
+        }
+        handleNormalizedLoggingCall(level, marker, messagePattern, actualArguments, throwable);
+    }
 }
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.helpers;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import org.slf4j.spi.ArgumentRenderer;
+import org.slf4j.spi.SelfRenderingArgument;
+
+/**
+ * Finds the {@link ArgumentRenderer} of an argument class, once per class.
+ */
+final class ArgumentRenderers {
+
+    // stands for "use toString()" as ClassValue does not cache absent values
+    private static final ArgumentRenderer<Object> TO_STRING = new ArgumentRenderer<Object>() {
+        @Override
+        public Class<Object> getRenderedClass() {
+            return Object.class;
+        }
+
+        @Override
+        public void appendTo(Object argument, StringBuilder sb) {
+            sb.append(argument.toString());
+        }
+    };
+
+    private static final ArgumentRenderer<Object> SELF = new ArgumentRenderer<Object>() {
+        @Override
+        public Class<Object> getRenderedClass() {
+            return Object.class;
+        }
+
+        @Override
+        public void appendTo(Object argument, StringBuilder sb) {
+            ((SelfRenderingArgument) argument).appendTo(sb);
+        }
+    };
+
+    private static final ClassValue<ArgumentRenderer<Object>> RENDERERS = new ClassValue<ArgumentRenderer<Object>>() {
+        @Override
+        protected ArgumentRenderer<Object> computeValue(Class<?> type) {
+            return find(type);
+        }
+    };
+
+    private ArgumentRenderers() {}
+
+    /**
+     * @return the renderer for arguments of the given class, null if their
+     *         {@code toString()} value is to be appended
+     */
+    static ArgumentRenderer<Object> lookup(Class<?> type) {
+        ArgumentRenderer<Object> renderer = RENDERERS.get(type);
+        return renderer == TO_STRING ? null : renderer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentRenderer<Object> find(Class<?> type) {
+        if (SelfRenderingArgument.class.isAssignableFrom(type)) {
+            return SELF;
+        }
+        List<ArgumentRenderer<?>> registered = Registered.RENDERERS;
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (ArgumentRenderer<?> renderer : registered) {
+                if (renderer.getRenderedClass() == c) {
+                    return (ArgumentRenderer<Object>) renderer;
+                }
+            }
+        }
+        for (ArgumentRenderer<?> renderer : registered) {
+            if (renderer.getRenderedClass().isAssignableFrom(type)) {
+                return (ArgumentRenderer<Object>) renderer;
+            }
+        }
+        return TO_STRING;
+    }
+
+    // loads the renderers on first use only
+    private static final class Registered {
+        static final List<ArgumentRenderer<?>> RENDERERS = load();
+
+        @SuppressWarnings("rawtypes")
+        private static List<ArgumentRenderer<?>> load() {
+            List<ArgumentRenderer<?>> renderers = new ArrayList<>();
+            Iterator<ArgumentRenderer> iterator = getServiceLoader().iterator();
+            while (iterator.hasNext()) {
+                try {
+                    ArgumentRenderer<?> renderer = iterator.next();
+                    if (renderer.getRenderedClass() != null) {
+                        renderers.add(renderer);
+                    }
+                } catch (ServiceConfigurationError e) {
+                    Util.report("An argument renderer failed to instantiate:\n" + e.getMessage());
+                } catch (RuntimeException e) {
+                    // skip it rather than fail the lookup of every argument class
+                    Util.report("SLF4J: An argument renderer failed to report its rendered class", e);
+                }
+            }
+            return renderers;
+        }
+
+        @SuppressWarnings("rawtypes")
+        private static ServiceLoader<ArgumentRenderer> getServiceLoader() {
+            final ClassLoader classLoader = ArgumentRenderers.class.getClassLoader();
+            SecurityManager securityManager = System.getSecurityManager();
+            if (securityManager == null) {
+                return ServiceLoader.load(ArgumentRenderer.class, classLoader);
+            }
+            final PrivilegedAction<ServiceLoader<ArgumentRenderer>> action =
+                    () -> ServiceLoader.load(ArgumentRenderer.class, classLoader);
+            return AccessController.doPrivileged(action);
+        }
+    }
+}
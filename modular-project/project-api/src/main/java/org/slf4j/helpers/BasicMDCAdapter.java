@@ -136,6 +136,15 @@ public class BasicMDCAdapter implements MDCAdapter {
         }
     }
 
+    /**
+     * Return the current thread's context map itself, see
+     * {@link MDCAdapter#getReadOnlyContextMap()}.
+     */
+    @Override
+    public Map<String, String> getReadOnlyContextMap() {
+        return inheritableThreadLocalMap.get();
+    }
+
     public void setContextMap(Map<String, String> contextMap) {
         Map<String, String> copy = null;
         if (contextMap != null) {
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message pattern parsed once into the literal text preceding each formatting
+ * anchor, with escaped delimiters already resolved, so that formatting merely
+ * interleaves the literals with the arguments.
+ *
+ * <p>Parsed patterns are kept in a small cache keyed by the identity of the
+ * pattern string, which suits string literals. A pattern is only parsed the
+ * second time the same instance is seen, thus patterns built at runtime do not
+ * pay for parsing; only the identity hash codes of the patterns merely seen
+ * are kept, so they do not keep the strings alive. The cache is 4-way
+ * set-associative with second-chance replacement: a parsed pattern used since
+ * the clock hand of its set last passed is spared, one left unused is replaced.
+ * If every way of the set was used, their use is forgotten and the pattern is
+ * formatted by the scanner of {@link MessageFormatter} until it is seen again,
+ * thus a working set exceeding the cache does not parse patterns on every call.
+ *
+ * <p>The result is identical to the one of the scanner in
+ * {@link MessageFormatter}, including its handling of arguments in excess or
+ * lacking: with fewer arguments than anchors the text following the last
+ * substituted anchor is appended as is, escapes included.
+ */
+final class CompiledMessagePattern {
+
+    private static final int WAYS = 4;
+    private static final int SETS = 256;
+
+    // the ways of a set are adjacent; entries are immutable, thus racy
+    // publication is harmless, at worst a pattern is parsed twice or a use
+    // of a way is lost
+    private static final CompiledMessagePattern[] CACHE = new CompiledMessagePattern[SETS * WAYS];
+    // set when a way is used, cleared when the clock hand passes it
+    private static final boolean[] REFERENCED = new boolean[SETS * WAYS];
+    // the next way of CACHE to consider for replacement, per set
+    private static final byte[] CLOCK_HAND = new byte[SETS];
+    // identity hash codes of patterns seen once, a false match merely parses
+    // a pattern seen once
+    private static final int[] SEEN = new int[SETS * WAYS];
+    // the next way of SEEN to replace, per set
+    private static final byte[] SEEN_VICTIM = new byte[SETS];
+
+    private final String pattern;
+    // the text preceding each anchor, escapes resolved
+    private final String[] literals;
+    // the index in the pattern following each anchor
+    private final int[] resumeIndexes;
+    // the text following the last anchor, escapes resolved
+    private final String tail;
+
+    private CompiledMessagePattern(String pattern, String[] literals, int[] resumeIndexes, String tail) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.resumeIndexes = resumeIndexes;
+        this.tail = tail;
+    }
+
+    /**
+     * Returns the parsed pattern, or null if the pattern is not cached (yet).
+     */
+    static CompiledMessagePattern lookup(String pattern) {
+        int hash = System.identityHashCode(pattern);
+        int set = hash & (SETS - 1);
+        int base = set * WAYS;
+        int free = -1;
+        for (int i = base; i < base + WAYS; i++) {
+            CompiledMessagePattern compiled = CACHE[i];
+            if (compiled == null) {
+                if (free < 0) {
+                    free = i;
+                }
+            } else if (compiled.pattern == pattern) {
+                if (!REFERENCED[i]) {
+                    REFERENCED[i] = true;
+                }
+                return compiled;
+            }
+        }
+        for (int i = base; i < base + WAYS; i++) {
+            if (SEEN[i] == hash) {
+                int way = free >= 0 ? free : replaceableWay(set, base);
+                if (way < 0) {
+                    // seen again later, once the ways were passed by the hand
+                    return null;
+                }
+                SEEN[i] = 0;
+                CompiledMessagePattern compiled = compile(pattern);
+                REFERENCED[way] = false;
+                CACHE[way] = compiled;
+                return compiled;
+            }
+        }
+        int victim = SEEN_VICTIM[set];
+        SEEN[base + victim] = hash;
+        SEEN_VICTIM[set] = (byte) ((victim + 1) & (WAYS - 1));
+        return null;
+    }
+
+    /**
+     * Moves the clock hand of the set past the used ways, forgetting their use.
+     *
+     * @return the first unused way, or -1 if every way was used
+     */
+    private static int replaceableWay(int set, int base) {
+        int hand = CLOCK_HAND[set];
+        for (int k = 0; k < WAYS; k++) {
+            int way = (hand + k) & (WAYS - 1);
+            if (!REFERENCED[base + way]) {
+                CLOCK_HAND[set] = (byte) ((way + 1) & (WAYS - 1));
+                return base + way;
+            }
+            REFERENCED[base + way] = false;
+        }
+        return -1;
+    }
+
+    static CompiledMessagePattern compile(String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> resumeIndexes = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        int j;
+        while ((j = pattern.indexOf(MessageFormatter.DELIM_STR, i)) != -1) {
+            if (MessageFormatter.isEscapedDelimeter(pattern, j)) {
+                if (!MessageFormatter.isDoubleEscaped(pattern, j)) {
+                    literal.append(pattern, i, j - 1).append(MessageFormatter.DELIM_START);
+                    i = j + 1;
+                    continue;
+                }
+                // consume one of the two backward slashes
+                literal.append(pattern, i, j - 1);
+            } else {
+                literal.append(pattern, i, j);
+            }
+            literals.add(literal.toString());
+            literal.setLength(0);
+            i = j + 2;
+            resumeIndexes.add(i);
+        }
+        literal.append(pattern, i, pattern.length());
+
+        int[] resume = new int[resumeIndexes.size()];
+        for (int k = 0; k < resume.length; k++) {
+            resume[k] = resumeIndexes.get(k);
+        }
+        return new CompiledMessagePattern(pattern, literals.toArray(new String[0]), resume, literal.toString());
+    }
+
+    int getAnchorCount() {
+        return literals.length;
+    }
+
+    String getLiteral(int anchor) {
+        return literals[anchor];
+    }
+
+    int getResumeIndex(int anchor) {
+        return resumeIndexes[anchor];
+    }
+
+    /**
+     * Append what follows the anchors substituted with the given number of
+     * arguments, at least one.
+     */
+    void appendTail(StringBuilder sbuf, int argCount) {
+        if (argCount > literals.length) {
+            sbuf.append(tail);
+        } else {
+            sbuf.append(pattern, resumeIndexes[argCount - 1], pattern.length());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.helpers;
+
+/**
+ * Caps applied by {@link MessageFormatter} while formatting, so that huge
+ * arguments cannot produce huge messages.
+ *
+ * <p>The argument length caps what is appended, not what is computed: the
+ * characters of a {@link CharSequence} argument are read in place, but the
+ * {@code toString()} value of any other object, or the output of its
+ * {@link org.slf4j.spi.ArgumentRenderer}, is produced in full before being
+ * cut. Arrays are only walked up to their cap.
+ *
+ * <p>Truncated output is marked: arrays end with <code>...(N more)]</code>,
+ * arguments with <code>...(N chars truncated)</code> and messages with
+ * <code>...(message truncated)</code>.
+ *
+ * @see MessageFormatter#formatTo(StringBuilder, String, Object[], FormattingLimits)
+ */
+public final class FormattingLimits {
+
+    /**
+     * No limits at all, what the methods of {@link MessageFormatter} which do not
+     * take limits apply.
+     */
+    public static final FormattingLimits UNLIMITED = new FormattingLimits(0, 0, 0);
+
+    private final int maxMessageLength;
+    private final int maxArrayElements;
+    private final int maxArgumentLength;
+
+    /**
+     * A value of 0 or less means no limit.
+     *
+     * @param maxMessageLength the maximum length of a formatted message, not counting the truncation marker
+     * @param maxArrayElements the maximum number of elements rendered per array
+     * @param maxArgumentLength the maximum length of the {@code toString()} value appended per argument
+     */
+    public FormattingLimits(int maxMessageLength, int maxArrayElements, int maxArgumentLength) {
+        this.maxMessageLength = orUnlimited(maxMessageLength);
+        this.maxArrayElements = orUnlimited(maxArrayElements);
+        this.maxArgumentLength = orUnlimited(maxArgumentLength);
+    }
+
+    private static int orUnlimited(int limit) {
+        return limit > 0 ? limit : Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return the maximum length of a formatted message, {@link Integer#MAX_VALUE} if unlimited
+     */
+    public int getMaxMessageLength() {
+        return maxMessageLength;
+    }
+
+    /**
+     * @return the maximum number of elements rendered per array, {@link Integer#MAX_VALUE} if unlimited
+     */
+    public int getMaxArrayElements() {
+        return maxArrayElements;
+    }
+
+    /**
+     * @return the maximum length rendered per argument, {@link Integer#MAX_VALUE} if unlimited
+     */
+    public int getMaxArgumentLength() {
+        return maxArgumentLength;
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.helpers;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.slf4j.MDCKey;
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * MDC implementation storing the values of registered keys, see
+ * {@link org.slf4j.MDC#registerKey(String)}, in a per-thread array indexed by
+ * {@link MDCKey#getIndex()}. Putting or getting a value through an
+ * {@link MDCKey} is an array access, other keys fall back to a
+ * {@link HashMap}. Putting a value by the name of a registered key looks the
+ * key up first, and stores the value by index as well.
+ *
+ * <p>Keys are meant to be registered at startup, a value put by name before
+ * its key was registered is not found through the key. A null value removes
+ * a registered key. The context is copied to child threads, like
+ * {@link BasicMDCAdapter} does.
+ *
+ * @since 2.0.0
+ */
+public class IndexedMDCAdapter implements MDCAdapter {
+
+    /**
+     * The context of one thread.
+     */
+    private static final class Context {
+        // by key index, a null value meaning absent
+        MDCKey[] keys;
+        String[] values;
+        int indexedCount;
+        // the unregistered keys, null until needed
+        Map<String, String> others;
+        // created on first use
+        Map<String, String> view;
+
+        Context(int capacity) {
+            keys = new MDCKey[capacity];
+            values = new String[capacity];
+        }
+
+        Context(Context context) {
+            keys = context.keys.clone();
+            values = context.values.clone();
+            indexedCount = context.indexedCount;
+            if (context.others != null) {
+                others = new HashMap<>(context.others);
+            }
+        }
+
+        String get(int index) {
+            return index < values.length ? values[index] : null;
+        }
+
+        void put(MDCKey key, String value) {
+            int index = key.getIndex();
+            if (index >= values.length) {
+                if (value == null) {
+                    return;
+                }
+                int capacity = Math.max(index + 1, MDCKey.getRegisteredCount());
+                keys = Arrays.copyOf(keys, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            if (values[index] == null) {
+                if (value != null) {
+                    indexedCount++;
+                }
+            } else if (value == null) {
+                indexedCount--;
+            }
+            keys[index] = key;
+            values[index] = value;
+        }
+
+        void put(String key, String value) {
+            MDCKey mdcKey = MDCKey.forName(key);
+            if (mdcKey != null) {
+                put(mdcKey, value);
+            } else {
+                if (others == null) {
+                    others = new HashMap<>();
+                }
+                others.put(key, value);
+            }
+        }
+
+        String get(String key) {
+            MDCKey mdcKey = MDCKey.forName(key);
+            if (mdcKey != null) {
+                return get(mdcKey.getIndex());
+            }
+            return others == null ? null : others.get(key);
+        }
+
+        void remove(String key) {
+            MDCKey mdcKey = MDCKey.forName(key);
+            if (mdcKey != null) {
+                put(mdcKey, null);
+            } else if (others != null) {
+                others.remove(key);
+            }
+        }
+
+        int size() {
+            return indexedCount + (others == null ? 0 : others.size());
+        }
+
+        Map<String, String> view() {
+            if (view == null) {
+                view = new ContextView(this);
+            }
+            return view;
+        }
+    }
+
+    /**
+     * A live view of a context, the values by index first.
+     */
+    private static final class ContextView extends AbstractMap<String, String> {
+
+        private final Context context;
+
+        ContextView(Context context) {
+            this.context = context;
+        }
+
+        @Override
+        public int size() {
+            return context.size();
+        }
+
+        @Override
+        public String get(Object key) {
+            return key instanceof String ? context.get((String) key) : null;
+        }
+
+        @Override
+        public Set<Map.Entry<String, String>> entrySet() {
+            return new AbstractSet<Map.Entry<String, String>>() {
+                @Override
+                public Iterator<Map.Entry<String, String>> iterator() {
+                    return new Iterator<Map.Entry<String, String>>() {
+                        private int index = nextIndex(0);
+                        private Iterator<Map.Entry<String, String>> others;
+
+                        private int nextIndex(int from) {
+                            while (from < context.values.length && context.values[from] == null) {
+                                from++;
+                            }
+                            return from;
+                        }
+
+                        private Iterator<Map.Entry<String, String>> others() {
+                            if (others == null) {
+                                others = context.others == null
+                                        ? Collections.<Map.Entry<String, String>>emptyIterator()
+                                        : context.others.entrySet().iterator();
+                            }
+                            return others;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < context.values.length || others().hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<String, String> next() {
+                            if (index < context.values.length) {
+                                Map.Entry<String, String> entry = new AbstractMap.SimpleImmutableEntry<>(
+                                        context.keys[index].getName(), context.values[index]);
+                                index = nextIndex(index + 1);
+                                return entry;
+                            }
+                            if (!others().hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            return others.next();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return context.size();
+                }
+            };
+        }
+    }
+
+    private final ThreadLocalMapOfStacks threadLocalMapOfDeques = new ThreadLocalMapOfStacks();
+
+    private final InheritableThreadLocal<Context> inheritableThreadLocalContext =
+            new InheritableThreadLocal<Context>() {
+                @Override
+                protected Context childValue(Context parentValue) {
+                    return parentValue == null ? null : new Context(parentValue);
+                }
+            };
+
+    private Context context() {
+        Context context = inheritableThreadLocalContext.get();
+        if (context == null) {
+            context = new Context(MDCKey.getRegisteredCount());
+            inheritableThreadLocalContext.set(context);
+        }
+        return context;
+    }
+
+    /**
+     * Put a context value (the <code>val</code> parameter) as identified with
+     * the <code>key</code> parameter into the current thread's context map.
+     *
+     * @throws IllegalArgumentException
+     *                 in case the "key" parameter is null
+     */
+    @Override
+    public void put(String key, String val) {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        context().put(key, val);
+    }
+
+    @Override
+    public void put(MDCKey key, String val) {
+        context().put(key, val);
+    }
+
+    @Override
+    public String get(String key) {
+        Context context = inheritableThreadLocalContext.get();
+        return context == null || key == null ? null : context.get(key);
+    }
+
+    @Override
+    public String get(MDCKey key) {
+        Context context = inheritableThreadLocalContext.get();
+        return context == null ? null : context.get(key.getIndex());
+    }
+
+    @Override
+    public void remove(String key) {
+        Context context = inheritableThreadLocalContext.get();
+        if (context != null && key != null) {
+            context.remove(key);
+        }
+    }
+
+    @Override
+    public void remove(MDCKey key) {
+        Context context = inheritableThreadLocalContext.get();
+        if (context != null) {
+            context.put(key, null);
+        }
+    }
+
+    @Override
+    public void clear() {
+        inheritableThreadLocalContext.remove();
+    }
+
+    /**
+     * Returns a copy of the keys in the MDC. The returned value can be null.
+     */
+    public Set<String> getKeys() {
+        Context context = inheritableThreadLocalContext.get();
+        return context == null ? null : new HashSet<>(context.view().keySet());
+    }
+
+    @Override
+    public Map<String, String> getCopyOfContextMap() {
+        Context context = inheritableThreadLocalContext.get();
+        return context == null ? null : new HashMap<>(context.view());
+    }
+
+    /**
+     * Return a live view of the current thread's context, see
+     * {@link MDCAdapter#getReadOnlyContextMap()}.
+     */
+    @Override
+    public Map<String, String> getReadOnlyContextMap() {
+        Context context = inheritableThreadLocalContext.get();
+        return context == null ? null : context.view();
+    }
+
+    @Override
+    public void setContextMap(Map<String, String> contextMap) {
+        if (contextMap == null) {
+            inheritableThreadLocalContext.remove();
+            return;
+        }
+        Context context = new Context(MDCKey.getRegisteredCount());
+        for (Map.Entry<String, String> entry : contextMap.entrySet()) {
+            context.put(entry.getKey(), entry.getValue());
+        }
+        inheritableThreadLocalContext.set(context);
+    }
+
+    @Override
+    public void pushByKey(String key, String value) {
+        threadLocalMapOfDeques.pushByKey(key, value);
+    }
+
+    @Override
+    public String popByKey(String key) {
+        return threadLocalMapOfDeques.popByKey(key);
+    }
+
+    @Override
+    public Deque<String> getCopyOfDequeByKey(String key) {
+        return threadLocalMapOfDeques.getCopyOfDequeByKey(key);
+    }
+
+    @Override
+    public void clearDequeByKey(String key) {
+        threadLocalMapOfDeques.clearDequeByKey(key);
+    }
+}
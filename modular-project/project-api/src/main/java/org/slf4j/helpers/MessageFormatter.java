@@ -18,10 +18,16 @@
  */
 package org.slf4j.helpers;
 
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
 import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.slf4j.event.DefaultLoggingEvent;
+import org.slf4j.spi.ArgumentRenderer;
+
 // contributors: lizongbo: proposed special treatment of array parameter values
 // Joern Huxhorn: pointed out double[] omission, suggested deep array copy
 /**
@@ -95,6 +101,14 @@ public final class MessageFormatter {
     static final String DELIM_STR = "{}";
     private static final char ESCAPE_CHAR = '\\';
 
+    private static final String MESSAGE_TRUNCATED_MARKER = "...(message truncated)";
+
+    // scratch buffers which grew beyond this capacity are not retained
+    private static final int MAX_SCRATCH_CAPACITY = 16 * 1024;
+
+    // null while in use, e.g. when an argument's toString() formats a message too
+    private static final ThreadLocal<StringBuilder> SCRATCH = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
     /**
      * Performs single argument substitution for the 'messagePattern' passed as
      * parameter.
@@ -166,7 +180,402 @@ public final class MessageFormatter {
     }
 
     public static String basicArrayFormat(NormalizedParameters np) {
-        return basicArrayFormat(np.getMessage(), np.getArguments());
+        if (np.getMessage() == null || np.getArgumentArray() == null) {
+            return np.getMessage();
+        }
+        StringBuilder sbuf = new StringBuilder(np.getMessage().length() + 50);
+        appendFormatted(sbuf, np.getMessage(), np.getArgumentArray(), np.getArgumentCount());
+        return sbuf.toString();
+    }
+
+    /**
+     * Formats the message pattern directly into the string builder passed as
+     * parameter, thus avoiding the intermediate {@link String} instances created
+     * by {@link #basicArrayFormat(String, Object[])}.
+     *
+     * <p>Assumes that argArray only contains arguments with no throwable as last element.
+     *
+     * @param sbuf the string builder to append the formatted message to
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param argArray the arguments to be substituted in place of the formatting anchors, may be null
+     */
+    public static void basicArrayFormat(StringBuilder sbuf, final String messagePattern, final Object[] argArray) {
+        basicArrayFormat(sbuf, messagePattern, argArray, argArray == null ? 0 : argArray.length);
+    }
+
+    /**
+     * Same as {@link #basicArrayFormat(StringBuilder, String, Object[])} except
+     * that only the first argCount elements of argArray are substituted, e.g.
+     * to leave out a trailing throwable without copying the array.
+     *
+     * @param sbuf the string builder to append the formatted message to
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param argArray the arguments to be substituted in place of the formatting anchors, may be null
+     * @param argCount the number of leading elements of argArray to substitute
+     */
+    public static void basicArrayFormat(
+            StringBuilder sbuf, final String messagePattern, final Object[] argArray, int argCount) {
+        if (messagePattern == null || argArray == null) {
+            sbuf.append(messagePattern);
+            return;
+        }
+        appendFormatted(sbuf, messagePattern, argArray, argCount);
+    }
+
+    /**
+     * Same as {@link #basicArrayFormat(StringBuilder, String, Object[], int)}
+     * except that the given limits are enforced while formatting.
+     *
+     * @param sbuf the string builder to append the formatted message to
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param argArray the arguments to be substituted in place of the formatting anchors, may be null
+     * @param argCount the number of leading elements of argArray to substitute
+     * @param limits the limits to enforce
+     */
+    public static void basicArrayFormat(
+            StringBuilder sbuf,
+            final String messagePattern,
+            final Object[] argArray,
+            int argCount,
+            FormattingLimits limits) {
+        if (messagePattern == null) {
+            sbuf.append(messagePattern);
+            return;
+        }
+        appendFormatted(sbuf, messagePattern, argArray, null, argArray == null ? 0 : argCount, limits);
+    }
+
+    /**
+     * Same as {@link #basicArrayFormat(StringBuilder, String, Object[], int, FormattingLimits)}
+     * for the arguments of an event. Arguments the event keeps as primitives
+     * are appended without boxing them.
+     *
+     * @param sbuf the string builder to append the formatted message to
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param event the event holding the arguments
+     * @param argCount the number of leading arguments of the event to substitute
+     * @param limits the limits to enforce
+     */
+    public static void basicArrayFormat(
+            StringBuilder sbuf,
+            final String messagePattern,
+            final DefaultLoggingEvent event,
+            int argCount,
+            FormattingLimits limits) {
+        if (messagePattern == null) {
+            sbuf.append(messagePattern);
+            return;
+        }
+        appendFormatted(sbuf, messagePattern, null, event, argCount, limits);
+    }
+
+    /**
+     * Formats the message pattern with a single {@code long} argument directly
+     * into the string builder passed as parameter, without boxing the argument.
+     *
+     * @param sbuf the string builder to append the formatted message to
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param arg the argument to be substituted in place of the first formatting anchor
+     */
+    public static void basicFormat(StringBuilder sbuf, final String messagePattern, long arg) {
+        int resumeIndex = appendFirstLiteral(sbuf, messagePattern);
+        if (resumeIndex >= 0) {
+            sbuf.append(arg);
+            sbuf.append(messagePattern, resumeIndex, messagePattern.length());
+        }
+    }
+
+    /**
+     * Same as {@link #basicFormat(StringBuilder, String, long)} except that the
+     * given limits are enforced while formatting.
+     *
+     * @param sbuf the string builder to append the formatted message to
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param arg the argument to be substituted in place of the first formatting anchor
+     * @param limits the limits to enforce
+     */
+    public static void basicFormat(StringBuilder sbuf, final String messagePattern, long arg, FormattingLimits limits) {
+        final int end = endIndex(sbuf, limits);
+        int resumeIndex = appendFirstLiteral(sbuf, messagePattern);
+        if (resumeIndex >= 0 && sbuf.length() <= end) {
+            int argStart = sbuf.length();
+            sbuf.append(arg);
+            appendPrimitiveTail(sbuf, messagePattern, resumeIndex, argStart, limits, end);
+        }
+        truncateMessage(sbuf, end);
+    }
+
+    /**
+     * Formats the message pattern with a single {@code double} argument directly
+     * into the string builder passed as parameter, without boxing the argument.
+     *
+     * @param sbuf the string builder to append the formatted message to
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param arg the argument to be substituted in place of the first formatting anchor
+     */
+    public static void basicFormat(StringBuilder sbuf, final String messagePattern, double arg) {
+        int resumeIndex = appendFirstLiteral(sbuf, messagePattern);
+        if (resumeIndex >= 0) {
+            sbuf.append(arg);
+            sbuf.append(messagePattern, resumeIndex, messagePattern.length());
+        }
+    }
+
+    /**
+     * Same as {@link #basicFormat(StringBuilder, String, double)} except that the
+     * given limits are enforced while formatting.
+     *
+     * @param sbuf the string builder to append the formatted message to
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param arg the argument to be substituted in place of the first formatting anchor
+     * @param limits the limits to enforce
+     */
+    public static void basicFormat(
+            StringBuilder sbuf, final String messagePattern, double arg, FormattingLimits limits) {
+        final int end = endIndex(sbuf, limits);
+        int resumeIndex = appendFirstLiteral(sbuf, messagePattern);
+        if (resumeIndex >= 0 && sbuf.length() <= end) {
+            int argStart = sbuf.length();
+            sbuf.append(arg);
+            appendPrimitiveTail(sbuf, messagePattern, resumeIndex, argStart, limits, end);
+        }
+        truncateMessage(sbuf, end);
+    }
+
+    /**
+     * Formats the message pattern with a single {@code float} argument directly
+     * into the string builder passed as parameter, without boxing the argument.
+     *
+     * @param sbuf the string builder to append the formatted message to
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param arg the argument to be substituted in place of the first formatting anchor
+     */
+    public static void basicFormat(StringBuilder sbuf, final String messagePattern, float arg) {
+        int resumeIndex = appendFirstLiteral(sbuf, messagePattern);
+        if (resumeIndex >= 0) {
+            sbuf.append(arg);
+            sbuf.append(messagePattern, resumeIndex, messagePattern.length());
+        }
+    }
+
+    /**
+     * Same as {@link #basicFormat(StringBuilder, String, float)} except that the
+     * given limits are enforced while formatting.
+     *
+     * @param sbuf the string builder to append the formatted message to
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param arg the argument to be substituted in place of the first formatting anchor
+     * @param limits the limits to enforce
+     */
+    public static void basicFormat(
+            StringBuilder sbuf, final String messagePattern, float arg, FormattingLimits limits) {
+        final int end = endIndex(sbuf, limits);
+        int resumeIndex = appendFirstLiteral(sbuf, messagePattern);
+        if (resumeIndex >= 0 && sbuf.length() <= end) {
+            int argStart = sbuf.length();
+            sbuf.append(arg);
+            appendPrimitiveTail(sbuf, messagePattern, resumeIndex, argStart, limits, end);
+        }
+        truncateMessage(sbuf, end);
+    }
+
+    /**
+     * Formats the message pattern with a single {@code char} argument directly
+     * into the string builder passed as parameter, without boxing the argument.
+     *
+     * @param sbuf the string builder to append the formatted message to
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param arg the argument to be substituted in place of the first formatting anchor
+     */
+    public static void basicFormat(StringBuilder sbuf, final String messagePattern, char arg) {
+        int resumeIndex = appendFirstLiteral(sbuf, messagePattern);
+        if (resumeIndex >= 0) {
+            sbuf.append(arg);
+            sbuf.append(messagePattern, resumeIndex, messagePattern.length());
+        }
+    }
+
+    /**
+     * Same as {@link #basicFormat(StringBuilder, String, char)} except that the
+     * given limits are enforced while formatting.
+     *
+     * @param sbuf the string builder to append the formatted message to
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param arg the argument to be substituted in place of the first formatting anchor
+     * @param limits the limits to enforce
+     */
+    public static void basicFormat(StringBuilder sbuf, final String messagePattern, char arg, FormattingLimits limits) {
+        final int end = endIndex(sbuf, limits);
+        int resumeIndex = appendFirstLiteral(sbuf, messagePattern);
+        if (resumeIndex >= 0 && sbuf.length() <= end) {
+            int argStart = sbuf.length();
+            sbuf.append(arg);
+            appendPrimitiveTail(sbuf, messagePattern, resumeIndex, argStart, limits, end);
+        }
+        truncateMessage(sbuf, end);
+    }
+
+    /**
+     * Appends the text preceding the first formatting anchor, as formatting with
+     * a single argument would.
+     *
+     * @return the index following the anchor, or -1 if there is none in which
+     *         case the whole message was appended
+     */
+    private static int appendFirstLiteral(StringBuilder sbuf, final String messagePattern) {
+        if (messagePattern == null) {
+            sbuf.append(messagePattern);
+            return -1;
+        }
+        CompiledMessagePattern compiled = CompiledMessagePattern.lookup(messagePattern);
+        if (compiled != null) {
+            if (compiled.getAnchorCount() == 0) {
+                compiled.appendTail(sbuf, 1);
+                return -1;
+            }
+            sbuf.append(compiled.getLiteral(0));
+            return compiled.getResumeIndex(0);
+        }
+
+        int i = 0;
+        int j;
+        while ((j = messagePattern.indexOf(DELIM_STR, i)) != -1) {
+            if (isEscapedDelimeter(messagePattern, j)) {
+                if (!isDoubleEscaped(messagePattern, j)) {
+                    // DELIM_START was escaped, look for the next anchor
+                    sbuf.append(messagePattern, i, j - 1);
+                    sbuf.append(DELIM_START);
+                    i = j + 1;
+                    continue;
+                }
+                // consume one of the two backward slashes
+                sbuf.append(messagePattern, i, j - 1);
+            } else {
+                sbuf.append(messagePattern, i, j);
+            }
+            return j + 2;
+        }
+        sbuf.append(messagePattern, i, messagePattern.length());
+        return -1;
+    }
+
+    /**
+     * Formats the message pattern directly into the string builder passed as
+     * parameter. If the last argument is a {@link Throwable}, it is not
+     * substituted but returned, as {@link #arrayFormat(String, Object[])} does.
+     *
+     * @param sbuf the string builder to append the formatted message to
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param argArray the arguments, may be null
+     * @return the throwable candidate, null if there is none
+     */
+    public static Throwable formatTo(StringBuilder sbuf, final String messagePattern, final Object[] argArray) {
+        Throwable throwableCandidate = getThrowableCandidate(argArray);
+        int argCount = argArray == null ? 0 : argArray.length;
+        if (throwableCandidate != null) {
+            argCount--;
+        }
+        basicArrayFormat(sbuf, messagePattern, argArray, argCount);
+        return throwableCandidate;
+    }
+
+    /**
+     * Same as {@link #formatTo(StringBuilder, String, Object[])} except that the
+     * given limits are enforced while formatting.
+     *
+     * @param sbuf the string builder to append the formatted message to
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param argArray the arguments, may be null
+     * @param limits the limits to enforce
+     * @return the throwable candidate, null if there is none
+     */
+    public static Throwable formatTo(
+            StringBuilder sbuf, final String messagePattern, final Object[] argArray, FormattingLimits limits) {
+        Throwable throwableCandidate = getThrowableCandidate(argArray);
+        int argCount = argArray == null ? 0 : argArray.length;
+        if (throwableCandidate != null) {
+            argCount--;
+        }
+        basicArrayFormat(sbuf, messagePattern, argArray, argCount, limits);
+        return throwableCandidate;
+    }
+
+    /**
+     * Same as {@link #formatTo(StringBuilder, String, Object[])} for any
+     * {@link Appendable}. The message is formatted into a reusable buffer of the
+     * calling thread, then appended with a single call.
+     *
+     * @param appendable the target to append the formatted message to
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param argArray the arguments, may be null
+     * @return the throwable candidate, null if there is none
+     * @throws IOException if appending fails
+     */
+    public static Throwable formatTo(Appendable appendable, final String messagePattern, final Object[] argArray)
+            throws IOException {
+        if (appendable instanceof StringBuilder) {
+            return formatTo((StringBuilder) appendable, messagePattern, argArray);
+        }
+        StringBuilder scratch = acquireScratch();
+        try {
+            Throwable throwableCandidate = formatTo(scratch, messagePattern, argArray);
+            appendable.append(scratch);
+            return throwableCandidate;
+        } finally {
+            releaseScratch(scratch);
+        }
+    }
+
+    /**
+     * Same as {@link #formatTo(StringBuilder, String, Object[])} for a
+     * {@link CharBuffer}, whose position is advanced past the message.
+     *
+     * @param charBuffer the buffer to put the formatted message into
+     * @param messagePattern the message pattern which will be parsed and formatted
+     * @param argArray the arguments, may be null
+     * @return the throwable candidate, null if there is none
+     * @throws BufferOverflowException if the message does not fit, in
+     *         which case nothing is put into the buffer
+     */
+    public static Throwable formatTo(CharBuffer charBuffer, final String messagePattern, final Object[] argArray) {
+        StringBuilder scratch = acquireScratch();
+        try {
+            Throwable throwableCandidate = formatTo(scratch, messagePattern, argArray);
+            int len = scratch.length();
+            if (len > charBuffer.remaining()) {
+                throw new BufferOverflowException();
+            }
+            if (charBuffer.hasArray()) {
+                int position = charBuffer.position();
+                scratch.getChars(0, len, charBuffer.array(), charBuffer.arrayOffset() + position);
+                charBuffer.position(position + len);
+            } else {
+                for (int i = 0; i < len; i++) {
+                    charBuffer.put(scratch.charAt(i));
+                }
+            }
+            return throwableCandidate;
+        } finally {
+            releaseScratch(scratch);
+        }
+    }
+
+    private static StringBuilder acquireScratch() {
+        StringBuilder scratch = SCRATCH.get();
+        if (scratch == null) {
+            return new StringBuilder(256);
+        }
+        SCRATCH.set(null);
+        scratch.setLength(0);
+        return scratch;
+    }
+
+    private static void releaseScratch(StringBuilder scratch) {
+        if (scratch.capacity() <= MAX_SCRATCH_CAPACITY) {
+            SCRATCH.set(scratch);
+        } else {
+            SCRATCH.set(new StringBuilder(256));
+        }
     }
 
     public static final FormattingTuple arrayFormat(
@@ -180,25 +589,63 @@ public final class MessageFormatter {
             return new FormattingTuple(messagePattern);
         }
 
-        int i = 0;
-        int j;
+        if (argArray.length > 0 && messagePattern.indexOf(DELIM_STR) == -1) {
+            // this is a simple string
+            return new FormattingTuple(messagePattern, argArray, throwable);
+        }
+
         // use string builder for better multicore performance
         StringBuilder sbuf = new StringBuilder(messagePattern.length() + 50);
+        appendFormatted(sbuf, messagePattern, argArray, argArray.length);
+        return new FormattingTuple(sbuf.toString(), argArray, throwable);
+    }
+
+    private static void appendFormatted(
+            StringBuilder sbuf, final String messagePattern, final Object[] argArray, int argCount) {
+        appendFormatted(sbuf, messagePattern, argArray, null, argCount, FormattingLimits.UNLIMITED);
+    }
+
+    // the limits are checked while appending, arguments following the point
+    // where the message exceeds its maximum length are not rendered at all;
+    // the arguments are taken from the event if there is one
+    private static void appendFormatted(
+            StringBuilder sbuf,
+            final String messagePattern,
+            final Object[] argArray,
+            final DefaultLoggingEvent event,
+            int argCount,
+            FormattingLimits limits) {
+        final int end = endIndex(sbuf, limits);
+        if (argCount == 0) {
+            appendBounded(sbuf, messagePattern, 0, messagePattern.length(), end);
+            truncateMessage(sbuf, end);
+            return;
+        }
+        CompiledMessagePattern compiled = CompiledMessagePattern.lookup(messagePattern);
+        if (compiled != null) {
+            int count = Math.min(argCount, compiled.getAnchorCount());
+            for (int L = 0; L < count && sbuf.length() <= end; L++) {
+                sbuf.append(compiled.getLiteral(L));
+                appendArgument(sbuf, argArray, event, L, limits, end);
+            }
+            if (sbuf.length() <= end) {
+                compiled.appendTail(sbuf, argCount);
+            }
+            truncateMessage(sbuf, end);
+            return;
+        }
+
+        int i = 0;
+        int j;
 
         int L;
-        for (L = 0; L < argArray.length; L++) {
+        for (L = 0; L < argCount && sbuf.length() <= end; L++) {
 
             j = messagePattern.indexOf(DELIM_STR, i);
 
             if (j == -1) {
                 // no more variables
-                if (i == 0) { // this is a simple string
-                    return new FormattingTuple(messagePattern, argArray, throwable);
-                } else { // add the tail string which contains no variables and return
-                    // the result.
-                    sbuf.append(messagePattern, i, messagePattern.length());
-                    return new FormattingTuple(sbuf.toString(), argArray, throwable);
-                }
+                break;
             } else {
                 if (isEscapedDelimeter(messagePattern, j)) {
                     if (!isDoubleEscaped(messagePattern, j)) {
@@ -211,20 +658,102 @@ public final class MessageFormatter {
                         // itself escaped: "abc x:\\{}"
                         // we have to consume one backward slash
                         sbuf.append(messagePattern, i, j - 1);
-                        deeplyAppendParameter(sbuf, argArray[L], new HashMap<>());
+                        appendArgument(sbuf, argArray, event, L, limits, end);
                         i = j + 2;
                     }
                 } else {
                     // normal case
                     sbuf.append(messagePattern, i, j);
-                    deeplyAppendParameter(sbuf, argArray[L], new HashMap<>());
+                    appendArgument(sbuf, argArray, event, L, limits, end);
                     i = j + 2;
                 }
             }
         }
         // append the characters following the last {} pair.
-        sbuf.append(messagePattern, i, messagePattern.length());
-        return new FormattingTuple(sbuf.toString(), argArray, throwable);
+        if (sbuf.length() <= end) {
+            appendBounded(sbuf, messagePattern, i, messagePattern.length(), end);
+        }
+        truncateMessage(sbuf, end);
+    }
+
+    private static void appendArgument(
+            StringBuilder sbuf,
+            Object[] argArray,
+            DefaultLoggingEvent event,
+            int index,
+            FormattingLimits limits,
+            int end) {
+        if (event == null) {
+            deeplyAppendParameter(sbuf, argArray[index], null, limits, end);
+            return;
+        }
+        int argStart = sbuf.length();
+        switch (event.getArgumentType(index)) {
+            case DefaultLoggingEvent.INT_VALUE:
+                sbuf.append(event.getIntArgument(index));
+                break;
+            case DefaultLoggingEvent.LONG_VALUE:
+                sbuf.append(event.getLongArgument(index));
+                break;
+            case DefaultLoggingEvent.DOUBLE_VALUE:
+                sbuf.append(event.getDoubleArgument(index));
+                break;
+            case DefaultLoggingEvent.FLOAT_VALUE:
+                sbuf.append(event.getFloatArgument(index));
+                break;
+            case DefaultLoggingEvent.CHAR_VALUE:
+                sbuf.append(event.getCharArgument(index));
+                break;
+            default:
+                deeplyAppendParameter(sbuf, event.getObjectArgument(index), null, limits, end);
+                return;
+        }
+        truncateArgument(sbuf, argStart, limits);
+    }
+
+    // the argument appended from argStart on is truncated as a toString() value would be
+    private static void truncateArgument(StringBuilder sbuf, int argStart, FormattingLimits limits) {
+        int rendered = sbuf.length() - argStart;
+        int maxLength = limits.getMaxArgumentLength();
+        if (rendered > maxLength) {
+            sbuf.setLength(argStart + maxLength);
+            appendArgumentTruncated(sbuf, rendered - maxLength);
+        }
+    }
+
+    private static void appendPrimitiveTail(
+            StringBuilder sbuf,
+            String messagePattern,
+            int resumeIndex,
+            int argStart,
+            FormattingLimits limits,
+            int end) {
+        truncateArgument(sbuf, argStart, limits);
+        if (sbuf.length() <= end) {
+            appendBounded(sbuf, messagePattern, resumeIndex, messagePattern.length(), end);
+        }
+    }
+
+    // the index of sbuf beyond which the message being appended is truncated
+    private static int endIndex(StringBuilder sbuf, FormattingLimits limits) {
+        return (int) Math.min((long) sbuf.length() + limits.getMaxMessageLength(), Integer.MAX_VALUE);
+    }
+
+    // appends at most one character beyond end, enough for truncateMessage to notice
+    private static void appendBounded(StringBuilder sbuf, CharSequence s, int from, int to, int end) {
+        int room = end - sbuf.length();
+        if (to - from <= room) {
+            sbuf.append(s, from, to);
+        } else if (room >= 0) {
+            sbuf.append(s, from, from + room + 1);
+        }
+    }
+
+    private static void truncateMessage(StringBuilder sbuf, int end) {
+        if (sbuf.length() > end) {
+            sbuf.setLength(end);
+            sbuf.append(MESSAGE_TRUNCATED_MARKER);
+        }
     }
 
     static final boolean isEscapedDelimeter(String messagePattern, int delimeterStartIndex) {
@@ -249,145 +778,213 @@ public final class MessageFormatter {
     }
 
     // special treatment of array values was suggested by 'lizongbo'
-    private static void deeplyAppendParameter(StringBuilder sbuf, Object o, Map<Object[], Object> seenMap) {
+    // seenMap is only created once an object array is met, thus may be null
+    private static void deeplyAppendParameter(
+            StringBuilder sbuf, Object o, Map<Object[], Object> seenMap, FormattingLimits limits, int end) {
         if (o == null) {
             sbuf.append("null");
             return;
         }
         if (!o.getClass().isArray()) {
-            safeObjectAppend(sbuf, o);
+            safeObjectAppend(sbuf, o, limits, end);
         } else {
             // check for primitive array types because they
             // unfortunately cannot be cast to Object[]
             if (o instanceof boolean[]) {
-                booleanArrayAppend(sbuf, (boolean[]) o);
+                booleanArrayAppend(sbuf, (boolean[]) o, limits, end);
             } else if (o instanceof byte[]) {
-                byteArrayAppend(sbuf, (byte[]) o);
+                byteArrayAppend(sbuf, (byte[]) o, limits, end);
             } else if (o instanceof char[]) {
-                charArrayAppend(sbuf, (char[]) o);
+                charArrayAppend(sbuf, (char[]) o, limits, end);
             } else if (o instanceof short[]) {
-                shortArrayAppend(sbuf, (short[]) o);
+                shortArrayAppend(sbuf, (short[]) o, limits, end);
             } else if (o instanceof int[]) {
-                intArrayAppend(sbuf, (int[]) o);
+                intArrayAppend(sbuf, (int[]) o, limits, end);
             } else if (o instanceof long[]) {
-                longArrayAppend(sbuf, (long[]) o);
+                longArrayAppend(sbuf, (long[]) o, limits, end);
             } else if (o instanceof float[]) {
-                floatArrayAppend(sbuf, (float[]) o);
+                floatArrayAppend(sbuf, (float[]) o, limits, end);
             } else if (o instanceof double[]) {
-                doubleArrayAppend(sbuf, (double[]) o);
+                doubleArrayAppend(sbuf, (double[]) o, limits, end);
             } else {
-                objectArrayAppend(sbuf, (Object[]) o, seenMap);
+                objectArrayAppend(sbuf, (Object[]) o, seenMap, limits, end);
             }
         }
     }
 
-    private static void safeObjectAppend(StringBuilder sbuf, Object o) {
+    private static void safeObjectAppend(StringBuilder sbuf, Object o, FormattingLimits limits, int end) {
+        int start = sbuf.length();
+        String failed = "rendering";
         try {
-            String oAsString = o.toString();
-            sbuf.append(oAsString);
+            ArgumentRenderer<Object> renderer = ArgumentRenderers.lookup(o.getClass());
+            if (renderer != null) {
+                renderedAppend(sbuf, o, renderer, limits, start);
+                return;
+            }
+            failed = "toString()";
+            // the characters of a CharSequence are read in place, only those
+            // kept are copied; toString() of other objects runs in full
+            CharSequence oAsString = o instanceof CharSequence ? (CharSequence) o : o.toString();
+            int length = oAsString.length();
+            int maxLength = limits.getMaxArgumentLength();
+            if (length <= maxLength) {
+                appendBounded(sbuf, oAsString, 0, length, end);
+            } else {
+                appendBounded(sbuf, oAsString, 0, maxLength, end);
+                if (sbuf.length() <= end) {
+                    appendArgumentTruncated(sbuf, length - maxLength);
+                }
+            }
         } catch (Throwable t) {
             Util.report(
-                    "SLF4J: Failed toString() invocation on an object of type ["
+                    "SLF4J: Failed " + failed + " invocation on an object of type ["
                             + o.getClass().getName() + "]",
                     t);
-            sbuf.append("[FAILED toString()]");
+            sbuf.setLength(start);
+            sbuf.append("[FAILED ").append(failed).append(']');
+        }
+    }
+
+    // the message length is enforced by the caller once the renderer returned
+    private static void renderedAppend(
+            StringBuilder sbuf, Object o, ArgumentRenderer<Object> renderer, FormattingLimits limits, int start) {
+        renderer.appendTo(o, sbuf);
+        int rendered = sbuf.length() - start;
+        int maxLength = limits.getMaxArgumentLength();
+        if (rendered > maxLength) {
+            sbuf.setLength(start + maxLength);
+            appendArgumentTruncated(sbuf, rendered - maxLength);
         }
     }
 
-    private static void objectArrayAppend(StringBuilder sbuf, Object[] a, Map<Object[], Object> seenMap) {
+    private static void appendArgumentTruncated(StringBuilder sbuf, int truncated) {
+        sbuf.append("...(").append(truncated).append(" chars truncated)");
+    }
+
+    private static void objectArrayAppend(
+            StringBuilder sbuf, Object[] a, Map<Object[], Object> seenMap, FormattingLimits limits, int end) {
         sbuf.append('[');
+        if (seenMap == null) {
+            seenMap = new HashMap<>();
+        }
         if (!seenMap.containsKey(a)) {
             seenMap.put(a, null);
             final int len = a.length;
-            for (int i = 0; i < len; i++) {
-                deeplyAppendParameter(sbuf, a[i], seenMap);
+            final int shown = Math.min(len, limits.getMaxArrayElements());
+            int i = 0;
+            for (; i < shown && sbuf.length() < end; i++) {
+                deeplyAppendParameter(sbuf, a[i], seenMap, limits, end);
                 if (i != len - 1) sbuf.append(", ");
             }
             // allow repeats in siblings
             seenMap.remove(a);
+            appendArrayEnd(sbuf, len - i);
         } else {
             sbuf.append("...");
+            sbuf.append(']');
         }
-        sbuf.append(']');
     }
 
-    private static void booleanArrayAppend(StringBuilder sbuf, boolean[] a) {
+    private static void booleanArrayAppend(StringBuilder sbuf, boolean[] a, FormattingLimits limits, int end) {
         sbuf.append('[');
         final int len = a.length;
-        for (int i = 0; i < len; i++) {
+        final int shown = Math.min(len, limits.getMaxArrayElements());
+        int i = 0;
+        for (; i < shown && sbuf.length() < end; i++) {
             sbuf.append(a[i]);
             if (i != len - 1) sbuf.append(", ");
         }
-        sbuf.append(']');
+        appendArrayEnd(sbuf, len - i);
     }
 
-    private static void byteArrayAppend(StringBuilder sbuf, byte[] a) {
+    private static void byteArrayAppend(StringBuilder sbuf, byte[] a, FormattingLimits limits, int end) {
         sbuf.append('[');
         final int len = a.length;
-        for (int i = 0; i < len; i++) {
+        final int shown = Math.min(len, limits.getMaxArrayElements());
+        int i = 0;
+        for (; i < shown && sbuf.length() < end; i++) {
             sbuf.append(a[i]);
             if (i != len - 1) sbuf.append(", ");
         }
-        sbuf.append(']');
+        appendArrayEnd(sbuf, len - i);
     }
 
-    private static void charArrayAppend(StringBuilder sbuf, char[] a) {
+    private static void charArrayAppend(StringBuilder sbuf, char[] a, FormattingLimits limits, int end) {
         sbuf.append('[');
         final int len = a.length;
-        for (int i = 0; i < len; i++) {
+        final int shown = Math.min(len, limits.getMaxArrayElements());
+        int i = 0;
+        for (; i < shown && sbuf.length() < end; i++) {
             sbuf.append(a[i]);
             if (i != len - 1) sbuf.append(", ");
         }
-        sbuf.append(']');
+        appendArrayEnd(sbuf, len - i);
     }
 
-    private static void shortArrayAppend(StringBuilder sbuf, short[] a) {
+    private static void shortArrayAppend(StringBuilder sbuf, short[] a, FormattingLimits limits, int end) {
         sbuf.append('[');
         final int len = a.length;
-        for (int i = 0; i < len; i++) {
+        final int shown = Math.min(len, limits.getMaxArrayElements());
+        int i = 0;
+        for (; i < shown && sbuf.length() < end; i++) {
             sbuf.append(a[i]);
             if (i != len - 1) sbuf.append(", ");
         }
-        sbuf.append(']');
+        appendArrayEnd(sbuf, len - i);
     }
 
-    private static void intArrayAppend(StringBuilder sbuf, int[] a) {
+    private static void intArrayAppend(StringBuilder sbuf, int[] a, FormattingLimits limits, int end) {
         sbuf.append('[');
         final int len = a.length;
-        for (int i = 0; i < len; i++) {
+        final int shown = Math.min(len, limits.getMaxArrayElements());
+        int i = 0;
+        for (; i < shown && sbuf.length() < end; i++) {
             sbuf.append(a[i]);
             if (i != len - 1) sbuf.append(", ");
         }
-        sbuf.append(']');
+        appendArrayEnd(sbuf, len - i);
     }
 
-    private static void longArrayAppend(StringBuilder sbuf, long[] a) {
+    private static void longArrayAppend(StringBuilder sbuf, long[] a, FormattingLimits limits, int end) {
         sbuf.append('[');
         final int len = a.length;
-        for (int i = 0; i < len; i++) {
+        final int shown = Math.min(len, limits.getMaxArrayElements());
+        int i = 0;
+        for (; i < shown && sbuf.length() < end; i++) {
             sbuf.append(a[i]);
             if (i != len - 1) sbuf.append(", ");
         }
-        sbuf.append(']');
+        appendArrayEnd(sbuf, len - i);
     }
 
-    private static void floatArrayAppend(StringBuilder sbuf, float[] a) {
+    private static void floatArrayAppend(StringBuilder sbuf, float[] a, FormattingLimits limits, int end) {
         sbuf.append('[');
         final int len = a.length;
-        for (int i = 0; i < len; i++) {
+        final int shown = Math.min(len, limits.getMaxArrayElements());
+        int i = 0;
+        for (; i < shown && sbuf.length() < end; i++) {
             sbuf.append(a[i]);
             if (i != len - 1) sbuf.append(", ");
         }
-        sbuf.append(']');
+        appendArrayEnd(sbuf, len - i);
     }
 
-    private static void doubleArrayAppend(StringBuilder sbuf, double[] a) {
+    private static void doubleArrayAppend(StringBuilder sbuf, double[] a, FormattingLimits limits, int end) {
         sbuf.append('[');
         final int len = a.length;
-        for (int i = 0; i < len; i++) {
+        final int shown = Math.min(len, limits.getMaxArrayElements());
+        int i = 0;
+        for (; i < shown && sbuf.length() < end; i++) {
             sbuf.append(a[i]);
             if (i != len - 1) sbuf.append(", ");
         }
+        appendArrayEnd(sbuf, len - i);
+    }
+
+    private static void appendArrayEnd(StringBuilder sbuf, int omitted) {
+        if (omitted > 0) {
+            sbuf.append("...(").append(omitted).append(" more)");
+        }
         sbuf.append(']');
     }
 
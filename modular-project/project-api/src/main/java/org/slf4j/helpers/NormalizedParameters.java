@@ -18,6 +18,8 @@
  */
 package org.slf4j.helpers;
 
+import java.util.Arrays;
+
 import org.slf4j.event.LoggingEvent;
 
 /**
@@ -31,12 +33,23 @@ import org.slf4j.event.LoggingEvent;
 public class NormalizedParameters {
 
     final String message;
-    final Object[] arguments;
+    // may hold the throwable beyond argumentCount until trimmed by getArguments()
+    Object[] arguments;
+    final int argumentCount;
     final Throwable throwable;
 
     public NormalizedParameters(String message, Object[] arguments, Throwable throwable) {
+        this(message, arguments, arguments == null ? 0 : arguments.length, throwable);
+    }
+
+    /**
+     * @param argumentCount the number of leading elements of arguments which are
+     *                      actual arguments, the others are ignored
+     */
+    public NormalizedParameters(String message, Object[] arguments, int argumentCount, Throwable throwable) {
         this.message = message;
         this.arguments = arguments;
+        this.argumentCount = argumentCount;
         this.throwable = throwable;
     }
 
@@ -48,10 +61,30 @@ public class NormalizedParameters {
         return message;
     }
 
+    /**
+     * Returns the arguments. If the throwable was extracted from the argument
+     * array, the array is trimmed on the first call of this method.
+     */
     public Object[] getArguments() {
+        if (arguments != null && argumentCount < arguments.length) {
+            arguments = Arrays.copyOf(arguments, argumentCount);
+        }
         return arguments;
     }
 
+    /**
+     * Returns the argument array as passed in, whose first
+     * {@link #getArgumentCount()} elements are the arguments. Unlike
+     * {@link #getArguments()}, this method never copies the array.
+     */
+    public Object[] getArgumentArray() {
+        return arguments;
+    }
+
+    public int getArgumentCount() {
+        return argumentCount;
+    }
+
     public Throwable getThrowable() {
         return throwable;
     }
@@ -119,8 +152,8 @@ public class NormalizedParameters {
 
         Throwable throwableCandidate = NormalizedParameters.getThrowableCandidate(arguments);
         if (throwableCandidate != null) {
-            Object[] trimmedArguments = MessageFormatter.trimmedCopy(arguments);
-            return new NormalizedParameters(msg, trimmedArguments, throwableCandidate);
+            // the array is trimmed lazily, see getArguments()
+            return new NormalizedParameters(msg, arguments, arguments.length - 1, throwableCandidate);
         } else {
             return new NormalizedParameters(msg, arguments);
         }
@@ -0,0 +1,666 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.helpers;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable map of strings, updated by returning a new map which shares
+ * all unchanged structure with the original one. Thus a copy is a pointer
+ * copy, see {@link PersistentMDCAdapter}.
+ *
+ * <p>Up to {@link #MAX_ARRAY_SIZE} entries are kept in arrays sorted by key,
+ * larger maps in a hash array mapped trie (HAMT): nodes index 32 children by
+ * 5 bits of the key hash, a bitmap telling which children are present. Keys
+ * with equal hash codes share a collision node. Values may be null.
+ *
+ * @since 2.0.0
+ */
+final class PersistentContextMap {
+
+    static final int MAX_ARRAY_SIZE = 8;
+
+    static final PersistentContextMap EMPTY = new PersistentContextMap(0, new String[0], new String[0], null);
+
+    // returned by lookups for absent keys, values may be null
+    private static final Object NOT_FOUND = new Object();
+
+    private final int size;
+    // sorted, null once the map is a trie
+    private final String[] keys;
+    private final String[] values;
+    private final Node root;
+
+    // created on first use
+    private Map<String, String> readOnlyView;
+
+    private PersistentContextMap(int size, String[] keys, String[] values, Node root) {
+        this.size = size;
+        this.keys = keys;
+        this.values = values;
+        this.root = root;
+    }
+
+    int size() {
+        return size;
+    }
+
+    String get(String key) {
+        Object value = find(key);
+        return value == NOT_FOUND ? null : (String) value;
+    }
+
+    boolean containsKey(String key) {
+        return find(key) != NOT_FOUND;
+    }
+
+    private Object find(String key) {
+        if (key == null) {
+            return NOT_FOUND;
+        }
+        if (keys != null) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? values[index] : NOT_FOUND;
+        }
+        return root.find(0, key.hashCode(), key);
+    }
+
+    PersistentContextMap put(String key, String value) {
+        Object old = find(key);
+        if (old != NOT_FOUND && Objects.equals(old, value)) {
+            return this;
+        }
+        int newSize = old == NOT_FOUND ? size + 1 : size;
+        if (keys != null) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                String[] newValues = values.clone();
+                newValues[index] = value;
+                return new PersistentContextMap(size, keys, newValues, null);
+            }
+            if (newSize <= MAX_ARRAY_SIZE) {
+                int insertion = -index - 1;
+                String[] newKeys = new String[newSize];
+                String[] newValues = new String[newSize];
+                System.arraycopy(keys, 0, newKeys, 0, insertion);
+                System.arraycopy(values, 0, newValues, 0, insertion);
+                newKeys[insertion] = key;
+                newValues[insertion] = value;
+                System.arraycopy(keys, insertion, newKeys, insertion + 1, size - insertion);
+                System.arraycopy(values, insertion, newValues, insertion + 1, size - insertion);
+                return new PersistentContextMap(newSize, newKeys, newValues, null);
+            }
+            // outgrows the arrays
+            Node trie = BitmapNode.EMPTY;
+            for (int i = 0; i < size; i++) {
+                trie = trie.put(0, keys[i].hashCode(), keys[i], values[i]);
+            }
+            return new PersistentContextMap(newSize, null, null, trie.put(0, key.hashCode(), key, value));
+        }
+        return new PersistentContextMap(newSize, null, null, root.put(0, key.hashCode(), key, value));
+    }
+
+    PersistentContextMap remove(String key) {
+        if (!containsKey(key)) {
+            return this;
+        }
+        int newSize = size - 1;
+        if (newSize == 0) {
+            return EMPTY;
+        }
+        if (keys != null) {
+            int index = Arrays.binarySearch(keys, key);
+            String[] newKeys = new String[newSize];
+            String[] newValues = new String[newSize];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, newSize - index);
+            System.arraycopy(values, index + 1, newValues, index, newSize - index);
+            return new PersistentContextMap(newSize, newKeys, newValues, null);
+        }
+        Node newRoot = root.remove(0, key.hashCode(), key);
+        if (newSize == MAX_ARRAY_SIZE) {
+            // small enough for the arrays again
+            String[] newKeys = new String[newSize];
+            String[] newValues = new String[newSize];
+            newRoot.collect(newKeys, newValues, 0);
+            sort(newKeys, newValues);
+            return new PersistentContextMap(newSize, newKeys, newValues, null);
+        }
+        return new PersistentContextMap(newSize, null, null, newRoot);
+    }
+
+    // insertion sort of the keys, moving the values along
+    private static void sort(String[] keys, String[] values) {
+        for (int i = 1; i < keys.length; i++) {
+            String key = keys[i];
+            String value = values[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j].compareTo(key) > 0) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * @param map any map, possibly a view of a persistent one
+     * @return the given map as a persistent one, without copying if it is a view
+     */
+    static PersistentContextMap of(Map<String, String> map) {
+        if (map instanceof View) {
+            return ((View) map).getMap();
+        }
+        PersistentContextMap result = EMPTY;
+        if (map != null) {
+            for (Map.Entry<String, String> entry : map.entrySet()) {
+                if (entry.getKey() != null) {
+                    result = result.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    void forEach(BiConsumer<String, String> action) {
+        if (keys != null) {
+            for (int i = 0; i < size; i++) {
+                action.accept(keys[i], values[i]);
+            }
+        } else {
+            root.forEach(action);
+        }
+    }
+
+    /**
+     * @return an unmodifiable view, the same one on each call
+     */
+    Map<String, String> asReadOnlyMap() {
+        Map<String, String> view = readOnlyView;
+        if (view == null) {
+            view = new ReadOnlyView(this);
+            readOnlyView = view;
+        }
+        return view;
+    }
+
+    /**
+     * @return a modifiable map of the same entries, its updates do not affect this map
+     */
+    Map<String, String> asModifiableMap() {
+        return new ModifiableView(this);
+    }
+
+    private abstract static class Node {
+
+        abstract Object find(int shift, int hash, String key);
+
+        abstract Node put(int shift, int hash, String key, String value);
+
+        // null if the node becomes empty
+        abstract Node remove(int shift, int hash, String key);
+
+        abstract void forEach(BiConsumer<String, String> action);
+
+        /**
+         * Copy the entries into the arrays, starting at the given index.
+         *
+         * @return the index following the last entry copied
+         */
+        abstract int collect(String[] keys, String[] values, int index);
+    }
+
+    /**
+     * Children at even indexes are keys, followed by their value, or null
+     * followed by a sub node.
+     */
+    private static final class BitmapNode extends Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        final int bitmap;
+        final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private static int bit(int shift, int hash) {
+            return 1 << ((hash >>> shift) & 31);
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, String key) {
+            int bit = bit(shift, hash);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int index = index(bit);
+            Object k = array[2 * index];
+            Object v = array[2 * index + 1];
+            if (k == null) {
+                return ((Node) v).find(shift + 5, hash, key);
+            }
+            return key.equals(k) ? v : NOT_FOUND;
+        }
+
+        @Override
+        Node put(int shift, int hash, String key, String value) {
+            int bit = bit(shift, hash);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, 2 * index);
+                newArray[2 * index] = key;
+                newArray[2 * index + 1] = value;
+                System.arraycopy(array, 2 * index, newArray, 2 * index + 2, array.length - 2 * index);
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+            Object k = array[2 * index];
+            Object v = array[2 * index + 1];
+            Object[] newArray = array.clone();
+            if (k == null) {
+                newArray[2 * index + 1] = ((Node) v).put(shift + 5, hash, key, value);
+            } else if (key.equals(k)) {
+                newArray[2 * index + 1] = value;
+            } else {
+                newArray[2 * index] = null;
+                newArray[2 * index + 1] = createNode(shift + 5, (String) k, (String) v, hash, key, value);
+            }
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        private static Node createNode(int shift, String key1, String value1, int hash2, String key2, String value2) {
+            int hash1 = key1.hashCode();
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new String[] {key1, value1, key2, value2});
+            }
+            return EMPTY.put(shift, hash1, key1, value1).put(shift, hash2, key2, value2);
+        }
+
+        @Override
+        Node remove(int shift, int hash, String key) {
+            int bit = bit(shift, hash);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int index = index(bit);
+            Object k = array[2 * index];
+            Object v = array[2 * index + 1];
+            if (k == null) {
+                Node node = ((Node) v).remove(shift + 5, hash, key);
+                if (node == v) {
+                    return this;
+                }
+                if (node != null) {
+                    Object[] newArray = array.clone();
+                    newArray[2 * index + 1] = node;
+                    return new BitmapNode(bitmap, newArray);
+                }
+            } else if (!key.equals(k)) {
+                return this;
+            }
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, 2 * index);
+            System.arraycopy(array, 2 * index + 2, newArray, 2 * index, newArray.length - 2 * index);
+            return new BitmapNode(bitmap ^ bit, newArray);
+        }
+
+        @Override
+        void forEach(BiConsumer<String, String> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept((String) array[i], (String) array[i + 1]);
+                }
+            }
+        }
+
+        @Override
+        int collect(String[] keys, String[] values, int index) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    index = ((Node) array[i + 1]).collect(keys, values, index);
+                } else {
+                    keys[index] = (String) array[i];
+                    values[index++] = (String) array[i + 1];
+                }
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Keys of the same hash code, keys and values alternating.
+     */
+    private static final class CollisionNode extends Node {
+
+        final int hash;
+        final String[] array;
+
+        CollisionNode(int hash, String[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(String key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, String key) {
+            int index = indexOf(key);
+            return index < 0 ? NOT_FOUND : array[index + 1];
+        }
+
+        @Override
+        Node put(int shift, int hash, String key, String value) {
+            if (hash != this.hash) {
+                // nest into a bitmap node distinguishing both hashes
+                return new BitmapNode(1 << ((this.hash >>> shift) & 31), new Object[] {null, this})
+                        .put(shift, hash, key, value);
+            }
+            int index = indexOf(key);
+            String[] newArray;
+            if (index >= 0) {
+                newArray = array.clone();
+            } else {
+                index = array.length;
+                newArray = Arrays.copyOf(array, array.length + 2);
+                newArray[index] = key;
+            }
+            newArray[index + 1] = value;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        Node remove(int shift, int hash, String key) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return this;
+            }
+            if (array.length == 2) {
+                return null;
+            }
+            String[] newArray = new String[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, newArray.length - index);
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        void forEach(BiConsumer<String, String> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+
+        @Override
+        int collect(String[] keys, String[] values, int index) {
+            for (int i = 0; i < array.length; i += 2) {
+                keys[index] = array[i];
+                values[index++] = array[i + 1];
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Iterates over the entries of a map depth first, with an explicit stack
+     * of the nodes entered. A trie is at most 7 levels deep.
+     */
+    private static final class EntryIterator implements Iterator<Map.Entry<String, String>> {
+
+        private final PersistentContextMap map;
+        private final Object[][] stack = new Object[8][];
+        private final int[] positions = new int[8];
+        private int depth;
+        private int arrayIndex;
+        private String nextKey;
+        private String nextValue;
+        private boolean hasNext;
+
+        EntryIterator(PersistentContextMap map) {
+            this.map = map;
+            if (map.root != null) {
+                stack[0] = nodeArray(map.root);
+            }
+            advance();
+        }
+
+        private static Object[] nodeArray(Node node) {
+            return node instanceof BitmapNode ? ((BitmapNode) node).array : ((CollisionNode) node).array;
+        }
+
+        private void advance() {
+            if (map.keys != null) {
+                hasNext = arrayIndex < map.size;
+                if (hasNext) {
+                    nextKey = map.keys[arrayIndex];
+                    nextValue = map.values[arrayIndex++];
+                }
+                return;
+            }
+            while (depth >= 0 && stack[depth] != null) {
+                Object[] array = stack[depth];
+                int position = positions[depth];
+                if (position >= array.length) {
+                    stack[depth] = null;
+                    depth--;
+                    continue;
+                }
+                positions[depth] = position + 2;
+                if (array[position] == null) {
+                    depth++;
+                    stack[depth] = nodeArray((Node) array[position + 1]);
+                    positions[depth] = 0;
+                    continue;
+                }
+                nextKey = (String) array[position];
+                nextValue = (String) array[position + 1];
+                hasNext = true;
+                return;
+            }
+            hasNext = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public Map.Entry<String, String> next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, String> entry = new AbstractMap.SimpleImmutableEntry<>(nextKey, nextValue);
+            advance();
+            return entry;
+        }
+    }
+
+    /**
+     * A map backed by a persistent one.
+     */
+    abstract static class View extends AbstractMap<String, String> {
+
+        abstract PersistentContextMap getMap();
+
+        @Override
+        public int size() {
+            return getMap().size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && getMap().containsKey((String) key);
+        }
+
+        @Override
+        public String get(Object key) {
+            return key instanceof String ? getMap().get((String) key) : null;
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super String, ? super String> action) {
+            getMap().forEach(action::accept);
+        }
+    }
+
+    private static final class ReadOnlyView extends View {
+
+        private final PersistentContextMap map;
+        private Set<Map.Entry<String, String>> entrySet;
+
+        ReadOnlyView(PersistentContextMap map) {
+            this.map = map;
+        }
+
+        @Override
+        PersistentContextMap getMap() {
+            return map;
+        }
+
+        @Override
+        public Set<Map.Entry<String, String>> entrySet() {
+            if (entrySet == null) {
+                entrySet = new AbstractSet<Map.Entry<String, String>>() {
+                    @Override
+                    public Iterator<Map.Entry<String, String>> iterator() {
+                        return new EntryIterator(map);
+                    }
+
+                    @Override
+                    public int size() {
+                        return map.size();
+                    }
+                };
+            }
+            return entrySet;
+        }
+    }
+
+    /**
+     * Updates replace the persistent map it is backed by, iterators run over
+     * the map as it was when they were created.
+     */
+    private static final class ModifiableView extends View {
+
+        private PersistentContextMap map;
+
+        ModifiableView(PersistentContextMap map) {
+            this.map = map;
+        }
+
+        @Override
+        PersistentContextMap getMap() {
+            return map;
+        }
+
+        @Override
+        public String put(String key, String value) {
+            Objects.requireNonNull(key, "key");
+            String old = map.get(key);
+            map = map.put(key, value);
+            return old;
+        }
+
+        @Override
+        public String remove(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            String old = map.get((String) key);
+            map = map.remove((String) key);
+            return old;
+        }
+
+        @Override
+        public void clear() {
+            map = EMPTY;
+        }
+
+        @Override
+        public Set<Map.Entry<String, String>> entrySet() {
+            return new AbstractSet<Map.Entry<String, String>>() {
+                @Override
+                public Iterator<Map.Entry<String, String>> iterator() {
+                    Iterator<Map.Entry<String, String>> iterator = new EntryIterator(map);
+                    return new Iterator<Map.Entry<String, String>>() {
+                        private String lastKey;
+                        private boolean removable;
+
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<String, String> next() {
+                            Map.Entry<String, String> entry = iterator.next();
+                            lastKey = entry.getKey();
+                            removable = true;
+                            return entry;
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (!removable) {
+                                throw new IllegalStateException();
+                            }
+                            removable = false;
+                            ModifiableView.this.remove(lastKey);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return map.size();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.helpers;
+
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * MDC implementation keeping an immutable, persistent map per thread. A put
+ * or remove replaces the map by an updated one sharing the unchanged entries
+ * with it, thus taking a snapshot of the context is a pointer copy.
+ *
+ * <p>Compared to {@link BasicMDCAdapter}, neither inheriting the context to a
+ * child thread, nor {@link #getCopyOfContextMap()} followed by
+ * {@link #setContextMap(Map)} on another thread copy any entries: the map
+ * returned by the former is copy-on-write, and is adopted as is by the latter.
+ * This suits applications handing the context over with each task submitted
+ * to a thread pool. Updates are more expensive than with a
+ * {@link java.util.HashMap}, all the more so for large contexts.
+ *
+ * @since 2.0.0
+ */
+public class PersistentMDCAdapter implements MDCAdapter {
+
+    private final ThreadLocalMapOfStacks threadLocalMapOfDeques = new ThreadLocalMapOfStacks();
+
+    // inherited as is, the map being immutable
+    private final InheritableThreadLocal<PersistentContextMap> inheritableThreadLocalMap =
+            new InheritableThreadLocal<>();
+
+    private PersistentContextMap getMap() {
+        PersistentContextMap map = inheritableThreadLocalMap.get();
+        return map == null ? PersistentContextMap.EMPTY : map;
+    }
+
+    /**
+     * Put a context value (the <code>val</code> parameter) as identified with
+     * the <code>key</code> parameter into the current thread's context map.
+     * The <code>val</code> parameter can be null.
+     *
+     * @throws IllegalArgumentException
+     *                 in case the "key" parameter is null
+     */
+    @Override
+    public void put(String key, String val) {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        inheritableThreadLocalMap.set(getMap().put(key, val));
+    }
+
+    @Override
+    public String get(String key) {
+        return getMap().get(key);
+    }
+
+    @Override
+    public void remove(String key) {
+        PersistentContextMap map = inheritableThreadLocalMap.get();
+        if (map != null) {
+            inheritableThreadLocalMap.set(map.remove(key));
+        }
+    }
+
+    @Override
+    public void clear() {
+        inheritableThreadLocalMap.remove();
+    }
+
+    /**
+     * Returns a copy of the keys in the MDC. The returned value can be null.
+     */
+    public Set<String> getKeys() {
+        PersistentContextMap map = inheritableThreadLocalMap.get();
+        return map == null ? null : new HashSet<>(map.asReadOnlyMap().keySet());
+    }
+
+    /**
+     * Return a copy of the current thread's context map, without copying its
+     * entries until the copy is modified. Returned value may be null.
+     */
+    @Override
+    public Map<String, String> getCopyOfContextMap() {
+        PersistentContextMap map = inheritableThreadLocalMap.get();
+        return map == null ? null : map.asModifiableMap();
+    }
+
+    /**
+     * Return an unmodifiable view of the current thread's context map, see
+     * {@link MDCAdapter#getReadOnlyContextMap()}. Unlike the map returned by
+     * {@link BasicMDCAdapter}, the view does not change with later updates.
+     */
+    @Override
+    public Map<String, String> getReadOnlyContextMap() {
+        PersistentContextMap map = inheritableThreadLocalMap.get();
+        return map == null ? null : map.asReadOnlyMap();
+    }
+
+    /**
+     * Set the current thread's context map. A map obtained from this adapter
+     * is adopted without copying its entries.
+     */
+    @Override
+    public void setContextMap(Map<String, String> contextMap) {
+        inheritableThreadLocalMap.set(contextMap == null ? null : PersistentContextMap.of(contextMap));
+    }
+
+    @Override
+    public void pushByKey(String key, String value) {
+        threadLocalMapOfDeques.pushByKey(key, value);
+    }
+
+    @Override
+    public String popByKey(String key) {
+        return threadLocalMapOfDeques.popByKey(key);
+    }
+
+    @Override
+    public Deque<String> getCopyOfDequeByKey(String key) {
+        return threadLocalMapOfDeques.getCopyOfDequeByKey(key);
+    }
+
+    @Override
+    public void clearDequeByKey(String key) {
+        threadLocalMapOfDeques.clearDequeByKey(key);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.helpers;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * MDC implementation keeping the context in <code>ScopedValue</code> bindings,
+ * made by {@link #runWith(String, String, Runnable)}, on Java 25 and later.
+ *
+ * <p>This is the variant for earlier Java versions, it behaves like
+ * {@link PersistentMDCAdapter}. The library ships as a multi-release jar,
+ * the variant for Java 25 replaces this class there. The fat artifact is
+ * built from the sources of this variant only, so there it is used on Java 25
+ * as well.
+ *
+ * @since 2.0.0
+ */
+public class ScopedValueMDCAdapter implements MDCAdapter {
+
+    private final PersistentMDCAdapter fallback = new PersistentMDCAdapter();
+
+    @Override
+    public void put(String key, String val) {
+        fallback.put(key, val);
+    }
+
+    @Override
+    public String get(String key) {
+        return fallback.get(key);
+    }
+
+    @Override
+    public void remove(String key) {
+        fallback.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        fallback.clear();
+    }
+
+    /**
+     * Returns a copy of the keys in the MDC. The returned value can be null.
+     */
+    public Set<String> getKeys() {
+        return fallback.getKeys();
+    }
+
+    @Override
+    public Map<String, String> getCopyOfContextMap() {
+        return fallback.getCopyOfContextMap();
+    }
+
+    @Override
+    public Map<String, String> getReadOnlyContextMap() {
+        return fallback.getReadOnlyContextMap();
+    }
+
+    @Override
+    public void setContextMap(Map<String, String> contextMap) {
+        fallback.setContextMap(contextMap);
+    }
+
+    @Override
+    public void pushByKey(String key, String value) {
+        fallback.pushByKey(key, value);
+    }
+
+    @Override
+    public String popByKey(String key) {
+        return fallback.popByKey(key);
+    }
+
+    @Override
+    public Deque<String> getCopyOfDequeByKey(String key) {
+        return fallback.getCopyOfDequeByKey(key);
+    }
+
+    @Override
+    public void clearDequeByKey(String key) {
+        fallback.clearDequeByKey(key);
+    }
+}
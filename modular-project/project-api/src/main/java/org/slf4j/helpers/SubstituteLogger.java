@@ -92,6 +92,31 @@ public class SubstituteLogger implements Logger {
         delegate().trace(format, arg);
     }
 
+    @Override
+    public void trace(String format, int arg) {
+        delegate().trace(format, arg);
+    }
+
+    @Override
+    public void trace(String format, long arg) {
+        delegate().trace(format, arg);
+    }
+
+    @Override
+    public void trace(String format, double arg) {
+        delegate().trace(format, arg);
+    }
+
+    @Override
+    public void trace(String format, float arg) {
+        delegate().trace(format, arg);
+    }
+
+    @Override
+    public void trace(String format, char arg) {
+        delegate().trace(format, arg);
+    }
+
     @Override
     public void trace(String format, Object arg1, Object arg2) {
         delegate().trace(format, arg1, arg2);
@@ -157,6 +182,31 @@ public class SubstituteLogger implements Logger {
         delegate().debug(format, arg);
     }
 
+    @Override
+    public void debug(String format, int arg) {
+        delegate().debug(format, arg);
+    }
+
+    @Override
+    public void debug(String format, long arg) {
+        delegate().debug(format, arg);
+    }
+
+    @Override
+    public void debug(String format, double arg) {
+        delegate().debug(format, arg);
+    }
+
+    @Override
+    public void debug(String format, float arg) {
+        delegate().debug(format, arg);
+    }
+
+    @Override
+    public void debug(String format, char arg) {
+        delegate().debug(format, arg);
+    }
+
     @Override
     public void debug(String format, Object arg1, Object arg2) {
         delegate().debug(format, arg1, arg2);
@@ -222,6 +272,31 @@ public class SubstituteLogger implements Logger {
         delegate().info(format, arg);
     }
 
+    @Override
+    public void info(String format, int arg) {
+        delegate().info(format, arg);
+    }
+
+    @Override
+    public void info(String format, long arg) {
+        delegate().info(format, arg);
+    }
+
+    @Override
+    public void info(String format, double arg) {
+        delegate().info(format, arg);
+    }
+
+    @Override
+    public void info(String format, float arg) {
+        delegate().info(format, arg);
+    }
+
+    @Override
+    public void info(String format, char arg) {
+        delegate().info(format, arg);
+    }
+
     @Override
     public void info(String format, Object arg1, Object arg2) {
         delegate().info(format, arg1, arg2);
@@ -287,6 +362,31 @@ public class SubstituteLogger implements Logger {
         delegate().warn(format, arg);
     }
 
+    @Override
+    public void warn(String format, int arg) {
+        delegate().warn(format, arg);
+    }
+
+    @Override
+    public void warn(String format, long arg) {
+        delegate().warn(format, arg);
+    }
+
+    @Override
+    public void warn(String format, double arg) {
+        delegate().warn(format, arg);
+    }
+
+    @Override
+    public void warn(String format, float arg) {
+        delegate().warn(format, arg);
+    }
+
+    @Override
+    public void warn(String format, char arg) {
+        delegate().warn(format, arg);
+    }
+
     @Override
     public void warn(String format, Object arg1, Object arg2) {
         delegate().warn(format, arg1, arg2);
@@ -351,6 +451,31 @@ public class SubstituteLogger implements Logger {
         delegate().error(format, arg);
     }
 
+    @Override
+    public void error(String format, int arg) {
+        delegate().error(format, arg);
+    }
+
+    @Override
+    public void error(String format, long arg) {
+        delegate().error(format, arg);
+    }
+
+    @Override
+    public void error(String format, double arg) {
+        delegate().error(format, arg);
+    }
+
+    @Override
+    public void error(String format, float arg) {
+        delegate().error(format, arg);
+    }
+
+    @Override
+    public void error(String format, char arg) {
+        delegate().error(format, arg);
+    }
+
     @Override
     public void error(String format, Object arg1, Object arg2) {
         delegate().error(format, arg1, arg2);
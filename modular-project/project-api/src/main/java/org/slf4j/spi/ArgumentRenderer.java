@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.spi;
+
+/**
+ * Renders logging arguments of a given class and its subclasses into the
+ * message being formatted, instead of having their {@code toString()} value
+ * appended. Useful for classes which cannot implement
+ * {@link SelfRenderingArgument} themselves.
+ *
+ * <p>Renderers are found by {@link java.util.ServiceLoader}. Arguments
+ * implementing {@link SelfRenderingArgument} are not passed to renderers. If
+ * several renderers apply to an argument, the one registered for the closest
+ * superclass wins, renderers registered for interfaces come last.
+ *
+ * <p>Implementations have to be thread safe.
+ *
+ * @param <T> the class of the rendered arguments
+ * @since 2.0
+ */
+public interface ArgumentRenderer<T> {
+
+    /**
+     * @return the class of the arguments rendered by this renderer
+     */
+    Class<T> getRenderedClass();
+
+    /**
+     * Append the argument to the message being formatted.
+     *
+     * @param argument the argument, never null
+     * @param sb the message being formatted
+     */
+    void appendTo(T argument, StringBuilder sb);
+}
@@ -71,7 +71,37 @@ public class DefaultLoggingEventBuilder implements LoggingEventBuilder, CallerBo
 
     @Override
     public LoggingEventBuilder addArgument(Supplier<?> objectSupplier) {
-        loggingEvent.addArgument(objectSupplier.get());
+        loggingEvent.addArgument(objectSupplier);
+        return this;
+    }
+
+    @Override
+    public LoggingEventBuilder addArgument(int p) {
+        loggingEvent.addArgument(p);
+        return this;
+    }
+
+    @Override
+    public LoggingEventBuilder addArgument(long p) {
+        loggingEvent.addArgument(p);
+        return this;
+    }
+
+    @Override
+    public LoggingEventBuilder addArgument(double p) {
+        loggingEvent.addArgument(p);
+        return this;
+    }
+
+    @Override
+    public LoggingEventBuilder addArgument(float p) {
+        loggingEvent.addArgument(p);
+        return this;
+    }
+
+    @Override
+    public LoggingEventBuilder addArgument(char p) {
+        loggingEvent.addArgument(p);
         return this;
     }
 
@@ -93,7 +123,7 @@ public class DefaultLoggingEventBuilder implements LoggingEventBuilder, CallerBo
 
     @Override
     public LoggingEventBuilder setMessage(Supplier<String> messageSupplier) {
-        loggingEvent.setMessage(messageSupplier.get());
+        loggingEvent.setMessage(messageSupplier);
         return this;
     }
 
@@ -131,7 +161,8 @@ public class DefaultLoggingEventBuilder implements LoggingEventBuilder, CallerBo
         if (messageSupplier == null) {
             log((String) null);
         } else {
-            log(messageSupplier.get());
+            loggingEvent.setMessage(messageSupplier);
+            log(loggingEvent);
         }
     }
 
@@ -230,7 +261,37 @@ public class DefaultLoggingEventBuilder implements LoggingEventBuilder, CallerBo
 
     @Override
     public LoggingEventBuilder addKeyValue(String key, Supplier<Object> value) {
-        loggingEvent.addKeyValue(key, value.get());
+        loggingEvent.addKeyValue(key, value);
+        return this;
+    }
+
+    @Override
+    public LoggingEventBuilder addKeyValue(String key, long value) {
+        loggingEvent.addKeyValue(key, value);
+        return this;
+    }
+
+    @Override
+    public LoggingEventBuilder addKeyValue(String key, double value) {
+        loggingEvent.addKeyValue(key, value);
+        return this;
+    }
+
+    @Override
+    public LoggingEventBuilder addKeyValue(String key, float value) {
+        loggingEvent.addKeyValue(key, value);
+        return this;
+    }
+
+    @Override
+    public LoggingEventBuilder addKeyValue(String key, boolean value) {
+        loggingEvent.addKeyValue(key, value);
+        return this;
+    }
+
+    @Override
+    public LoggingEventBuilder addKeyValue(String key, char value) {
+        loggingEvent.addKeyValue(key, value);
         return this;
     }
 }
@@ -27,6 +27,13 @@ import org.slf4j.helpers.CheckReturnValue;
  * This is the main interface in slf4j's fluent API for creating
  * {@link org.slf4j.event.LoggingEvent logging events}.
  *
+ * <p>A builder is meant to be used in a single statement, from
+ * {@code atXxx()} to one of the {@code log} methods. It must not be kept:
+ * implementations may hand the same builder out again, on the same thread,
+ * once it was logged, or once a later {@code atXxx()} call found it was never
+ * logged. Nested statements, e.g. in the computation of an argument, get
+ * builders of their own.
+ *
  * @author Ceki G&uuml;lc&uuml;
  * @since 2.0.0
  */
@@ -61,12 +68,85 @@ public interface LoggingEventBuilder {
     /**
      * Add an argument supplier to the event being built.
      *
+     * The supplier is invoked once the event is rendered, if at all.
+     *
      * @param objectSupplier an Object supplier to add.
      * @return a LoggingEventBuilder, usually <b>this</b>.
      */
     @CheckReturnValue
     LoggingEventBuilder addArgument(Supplier<?> objectSupplier);
 
+    /**
+     * Add an {@code int} argument to the event being built. Without this
+     * overload an {@code int} would be widened to a {@code long}.
+     *
+     * <p>This default implementation boxes the argument to an {@link Integer},
+     * implementations may avoid doing so.
+     *
+     * @param p an {@code int} to add.
+     * @return a LoggingEventBuilder, usually <b>this</b>.
+     */
+    @CheckReturnValue
+    default LoggingEventBuilder addArgument(int p) {
+        return addArgument((Object) p);
+    }
+
+    /**
+     * Add a {@code long} argument to the event being built.
+     *
+     * <p>This default implementation boxes the argument, implementations may
+     * avoid doing so.
+     *
+     * @param p a {@code long} to add.
+     * @return a LoggingEventBuilder, usually <b>this</b>.
+     */
+    @CheckReturnValue
+    default LoggingEventBuilder addArgument(long p) {
+        return addArgument((Object) p);
+    }
+
+    /**
+     * Add a {@code double} argument to the event being built.
+     *
+     * <p>This default implementation boxes the argument, implementations may
+     * avoid doing so.
+     *
+     * @param p a {@code double} to add.
+     * @return a LoggingEventBuilder, usually <b>this</b>.
+     */
+    @CheckReturnValue
+    default LoggingEventBuilder addArgument(double p) {
+        return addArgument((Object) p);
+    }
+
+    /**
+     * Add a {@code float} argument to the event being built.
+     *
+     * <p>This default implementation boxes the argument, implementations may
+     * avoid doing so.
+     *
+     * @param p a {@code float} to add.
+     * @return a LoggingEventBuilder, usually <b>this</b>.
+     */
+    @CheckReturnValue
+    default LoggingEventBuilder addArgument(float p) {
+        return addArgument((Object) p);
+    }
+
+    /**
+     * Add a {@code char} argument to the event being built.
+     *
+     * <p>This default implementation boxes the argument, implementations may
+     * avoid doing so.
+     *
+     * @param p a {@code char} to add.
+     * @return a LoggingEventBuilder, usually <b>this</b>.
+     */
+    @CheckReturnValue
+    default LoggingEventBuilder addArgument(char p) {
+        return addArgument((Object) p);
+    }
+
     /**
      * Add a {@link org.slf4j.event.KeyValuePair key value pair} to the event being built.
      *
@@ -79,6 +159,7 @@ public interface LoggingEventBuilder {
 
     /**
      * Add a {@link org.slf4j.event.KeyValuePair key value pair} to the event being built.
+     * The supplier is invoked once the event is rendered, if at all.
      *
      * @param key the key of the key value pair.
      * @param valueSupplier a supplier of a value for the key value pair.
@@ -87,6 +168,84 @@ public interface LoggingEventBuilder {
     @CheckReturnValue
     LoggingEventBuilder addKeyValue(String key, Supplier<Object> valueSupplier);
 
+    /**
+     * Add a key value pair with a {@code long} value to the event being built.
+     * Smaller integral values are widened, thus an {@code int} value is
+     * reported as a {@link Long} by {@link org.slf4j.event.LoggingEvent#getKeyValuePairs()}.
+     *
+     * <p>This default implementation boxes the value, implementations may
+     * avoid doing so.
+     *
+     * @param key the key of the key value pair.
+     * @param value the value of the key value pair.
+     * @return a LoggingEventBuilder, usually <b>this</b>.
+     */
+    @CheckReturnValue
+    default LoggingEventBuilder addKeyValue(String key, long value) {
+        return addKeyValue(key, (Object) value);
+    }
+
+    /**
+     * Add a key value pair with a {@code double} value to the event being built.
+     *
+     * <p>This default implementation boxes the value, implementations may
+     * avoid doing so.
+     *
+     * @param key the key of the key value pair.
+     * @param value the value of the key value pair.
+     * @return a LoggingEventBuilder, usually <b>this</b>.
+     */
+    @CheckReturnValue
+    default LoggingEventBuilder addKeyValue(String key, double value) {
+        return addKeyValue(key, (Object) value);
+    }
+
+    /**
+     * Add a key value pair with a {@code float} value to the event being built.
+     *
+     * <p>This default implementation boxes the value, implementations may
+     * avoid doing so.
+     *
+     * @param key the key of the key value pair.
+     * @param value the value of the key value pair.
+     * @return a LoggingEventBuilder, usually <b>this</b>.
+     */
+    @CheckReturnValue
+    default LoggingEventBuilder addKeyValue(String key, float value) {
+        return addKeyValue(key, (Object) value);
+    }
+
+    /**
+     * Add a key value pair with a {@code boolean} value to the event being built.
+     *
+     * <p>This default implementation boxes the value, implementations may
+     * avoid doing so.
+     *
+     * @param key the key of the key value pair.
+     * @param value the value of the key value pair.
+     * @return a LoggingEventBuilder, usually <b>this</b>.
+     */
+    @CheckReturnValue
+    default LoggingEventBuilder addKeyValue(String key, boolean value) {
+        return addKeyValue(key, (Object) value);
+    }
+
+    /**
+     * Add a key value pair with a {@code char} value to the event being built.
+     * Without this overload a {@code char} would be widened to a {@code long}.
+     *
+     * <p>This default implementation boxes the value, implementations may
+     * avoid doing so.
+     *
+     * @param key the key of the key value pair.
+     * @param value the value of the key value pair.
+     * @return a LoggingEventBuilder, usually <b>this</b>.
+     */
+    @CheckReturnValue
+    default LoggingEventBuilder addKeyValue(String key, char value) {
+        return addKeyValue(key, (Object) value);
+    }
+
     /**
      *  Sets the message of the logging event.
      *
@@ -98,6 +257,8 @@ public interface LoggingEventBuilder {
     /**
      * Sets the message of the event via a message supplier.
      *
+     * The supplier is invoked once the event is rendered, if at all.
+     *
      * @param messageSupplier supplies a String to be used as the message for the event
      * @since 2.0.0-beta0
      */
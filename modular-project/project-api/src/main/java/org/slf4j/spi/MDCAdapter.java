@@ -21,6 +21,8 @@ package org.slf4j.spi;
 import java.util.Deque;
 import java.util.Map;
 
+import org.slf4j.MDCKey;
+
 /**
  * This interface abstracts the service offered by various MDC
  * implementations.
@@ -86,6 +88,82 @@ public interface MDCAdapter {
      */
     public void setContextMap(Map<String, String> contextMap);
 
+    /**
+     * Return the current thread's context map without copying it, for logging
+     * backends which render the map on the current thread. The returned map
+     * must neither be modified nor retained. Returned value may be null.
+     *
+     * <p>This default implementation returns {@link #getCopyOfContextMap()}.
+     *
+     * @return the current thread's context map. May be null.
+     * @since 2.0
+     */
+    default Map<String, String> getReadOnlyContextMap() {
+        return getCopyOfContextMap();
+    }
+
+    /**
+     * Put a context value identified by a registered key. This default
+     * implementation puts it by name, adapters storing registered keys by
+     * index override it.
+     *
+     * @param key the registered key, see {@link org.slf4j.MDC#registerKey(String)}
+     * @param val the value, may be null
+     * @since 2.0.0
+     */
+    default void put(MDCKey key, String val) {
+        put(key.getName(), val);
+    }
+
+    /**
+     * Get the context value identified by a registered key, see
+     * {@link #put(MDCKey, String)}.
+     *
+     * @param key the registered key
+     * @return the value, null if there is none
+     * @since 2.0.0
+     */
+    default String get(MDCKey key) {
+        return get(key.getName());
+    }
+
+    /**
+     * Remove the context value identified by a registered key, see
+     * {@link #put(MDCKey, String)}.
+     *
+     * @param key the registered key
+     * @since 2.0.0
+     */
+    default void remove(MDCKey key) {
+        remove(key.getName());
+    }
+
+    /**
+     * Run the given task with 'key' mapped to 'val', then restore the context.
+     *
+     * <p>This default implementation puts the value and restores the previous
+     * one, or removes the key if there was none, once the task completes.
+     * Adapters supporting scoped bindings override it.
+     *
+     * @param key the key, not null
+     * @param val the value, may be null
+     * @param task the task to run
+     * @since 2.0.0
+     */
+    default void runWith(String key, String val, Runnable task) {
+        String previous = get(key);
+        put(key, val);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) {
+                remove(key);
+            } else {
+                put(key, previous);
+            }
+        }
+    }
+
     /**
      * Push a value into the deque(stack) referenced by 'key'.
      *
@@ -65,6 +65,31 @@ public class NOPLoggingEventBuilder implements LoggingEventBuilder {
         return singleton();
     }
 
+    @Override
+    public LoggingEventBuilder addArgument(int p) {
+        return singleton();
+    }
+
+    @Override
+    public LoggingEventBuilder addArgument(long p) {
+        return singleton();
+    }
+
+    @Override
+    public LoggingEventBuilder addArgument(double p) {
+        return singleton();
+    }
+
+    @Override
+    public LoggingEventBuilder addArgument(float p) {
+        return singleton();
+    }
+
+    @Override
+    public LoggingEventBuilder addArgument(char p) {
+        return singleton();
+    }
+
     @Override
     public LoggingEventBuilder addKeyValue(String key, Object value) {
         return singleton();
@@ -75,6 +100,31 @@ public class NOPLoggingEventBuilder implements LoggingEventBuilder {
         return singleton();
     }
 
+    @Override
+    public LoggingEventBuilder addKeyValue(String key, long value) {
+        return singleton();
+    }
+
+    @Override
+    public LoggingEventBuilder addKeyValue(String key, double value) {
+        return singleton();
+    }
+
+    @Override
+    public LoggingEventBuilder addKeyValue(String key, float value) {
+        return singleton();
+    }
+
+    @Override
+    public LoggingEventBuilder addKeyValue(String key, boolean value) {
+        return singleton();
+    }
+
+    @Override
+    public LoggingEventBuilder addKeyValue(String key, char value) {
+        return singleton();
+    }
+
     @Override
     public LoggingEventBuilder setCause(Throwable cause) {
         return singleton();
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.helpers;
+
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * MDC implementation keeping the context in {@link ScopedValue} bindings,
+ * made by {@link #runWith(String, String, Runnable)}. A binding lasts for the
+ * extent of the task, costs no per-thread storage, and subtasks forked within
+ * a structured task scope inherit it for free.
+ *
+ * <p>The context is a {@link PersistentContextMap}, thus binding one more
+ * value shares the enclosing context rather than copying it.
+ *
+ * <p>{@link #put(String, String)} and the other imperative methods keep
+ * working as a fallback: they update a per-thread overlay of the context
+ * bound when they are called. The overlay applies for as long as that binding
+ * is current, thus values put within {@code runWith} are dropped once it
+ * returns, and values put outside of it are visible within it. Overlays are
+ * neither inherited by child threads nor by subtasks.
+ *
+ * @since 2.0.0
+ */
+public class ScopedValueMDCAdapter implements MDCAdapter {
+
+    /**
+     * The context bound by one call of {@code runWith}. Each call binds a new
+     * scope, even for an equal context, so that overlays never apply to
+     * another one.
+     */
+    private static final class Scope {
+        final PersistentContextMap map;
+        final Scope parent;
+
+        Scope(PersistentContextMap map, Scope parent) {
+            this.map = map;
+            this.parent = parent;
+        }
+    }
+
+    // stands for no binding at all
+    private static final Scope UNBOUND = new Scope(PersistentContextMap.EMPTY, null);
+
+    private static final ScopedValue<Scope> SCOPE = ScopedValue.newInstance();
+
+    /**
+     * The context of a scope as updated imperatively on one thread, linked to
+     * the overlays of enclosing scopes.
+     */
+    private static final class Overlay {
+        final PersistentContextMap map;
+        final Scope scope;
+        final Overlay previous;
+
+        Overlay(PersistentContextMap map, Scope scope, Overlay previous) {
+            this.map = map;
+            this.scope = scope;
+            this.previous = previous;
+        }
+    }
+
+    private final ThreadLocalMapOfStacks threadLocalMapOfDeques = new ThreadLocalMapOfStacks();
+
+    // not inheritable, the bindings are what subtasks inherit
+    private final ThreadLocal<Overlay> overlays = new ThreadLocal<>();
+
+    private static Scope currentScope() {
+        return SCOPE.orElse(UNBOUND);
+    }
+
+    private PersistentContextMap current() {
+        Scope scope = currentScope();
+        for (Overlay o = overlays.get(); o != null; o = o.previous) {
+            if (o.scope == scope) {
+                return o.map;
+            }
+        }
+        return scope.map;
+    }
+
+    private void update(PersistentContextMap map) {
+        Scope scope = currentScope();
+        Overlay top = overlays.get();
+        // drop the overlays of scopes which have ended
+        while (top != null && !isEnclosing(top.scope, scope)) {
+            top = top.previous;
+        }
+        if (top != null && top.scope == scope) {
+            top = top.previous;
+        }
+        overlays.set(new Overlay(map, scope, top));
+    }
+
+    private static boolean isEnclosing(Scope candidate, Scope scope) {
+        for (Scope s = scope; s != null; s = s.parent) {
+            if (s == candidate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bind 'key' to 'val' on top of the current context for the extent of the
+     * task.
+     */
+    @Override
+    public void runWith(String key, String val, Runnable task) {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        Scope scope = new Scope(current().put(key, val), currentScope());
+        ScopedValue.where(SCOPE, scope).run(task);
+    }
+
+    /**
+     * Put a context value into the overlay of the current binding, see the
+     * class documentation. The <code>val</code> parameter can be null.
+     *
+     * @throws IllegalArgumentException
+     *                 in case the "key" parameter is null
+     */
+    @Override
+    public void put(String key, String val) {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        update(current().put(key, val));
+    }
+
+    @Override
+    public String get(String key) {
+        return current().get(key);
+    }
+
+    @Override
+    public void remove(String key) {
+        update(current().remove(key));
+    }
+
+    @Override
+    public void clear() {
+        update(PersistentContextMap.EMPTY);
+    }
+
+    /**
+     * Returns a copy of the keys in the MDC. The returned value can be null.
+     */
+    public Set<String> getKeys() {
+        PersistentContextMap map = current();
+        return map.size() == 0 ? null : new HashSet<>(map.asReadOnlyMap().keySet());
+    }
+
+    @Override
+    public Map<String, String> getCopyOfContextMap() {
+        PersistentContextMap map = current();
+        return map.size() == 0 ? null : map.asModifiableMap();
+    }
+
+    @Override
+    public Map<String, String> getReadOnlyContextMap() {
+        PersistentContextMap map = current();
+        return map.size() == 0 ? null : map.asReadOnlyMap();
+    }
+
+    @Override
+    public void setContextMap(Map<String, String> contextMap) {
+        update(PersistentContextMap.of(contextMap));
+    }
+
+    @Override
+    public void pushByKey(String key, String value) {
+        threadLocalMapOfDeques.pushByKey(key, value);
+    }
+
+    @Override
+    public String popByKey(String key) {
+        return threadLocalMapOfDeques.popByKey(key);
+    }
+
+    @Override
+    public Deque<String> getCopyOfDequeByKey(String key) {
+        return threadLocalMapOfDeques.getCopyOfDequeByKey(key);
+    }
+
+    @Override
+    public void clearDequeByKey(String key) {
+        threadLocalMapOfDeques.clearDequeByKey(key);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs through SimpleLogger to a discarding {@code System.err}, thus measures
+ * rendering the line rather than writing it. The "options" layout is the fixed
+ * format driven by the display options; the others are layout patterns, the
+ * first one producing the same line as the display options. SimpleLogger is
+ * configured once per fork, each layout thus runs in JVMs of its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class LayoutBenchmark {
+
+    @Param({"options", "[%t] %level %logger - %msg", "%d{ISO8601} [%t] %-5level %logger{20} - %msg %kv"})
+    String layout;
+
+    private PrintStream err;
+    private Logger logger;
+
+    @Setup
+    public void setUp() {
+        if (!"options".equals(layout)) {
+            System.setProperty("org.slf4j.simpleLogger.layout", layout);
+        }
+        err = System.err;
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+        logger = LoggerFactory.getLogger("org.slf4j.bench.LayoutBenchmark");
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setErr(err);
+    }
+
+    @Benchmark
+    public void log() {
+        logger.info("Request {} took {} ms", "alpha", 42);
+    }
+
+    @Benchmark
+    public void logKeyValues() {
+        logger.atInfo().addKeyValue("user", "alice").addKeyValue("elapsed", 42L).log("Request done");
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.BasicMDCAdapter;
+import org.slf4j.helpers.PersistentMDCAdapter;
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * Compares the MDC adapters on a context of the given size: updating an entry,
+ * inheriting the context to a new thread (the thread is created, not started,
+ * which is when inheritable thread locals are copied) and handing the context
+ * over as a task submitted to a thread pool would, by
+ * {@link MDCAdapter#getCopyOfContextMap()} and {@link MDCAdapter#setContextMap(Map)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class MdcBenchmark {
+
+    private static final Runnable NOTHING = () -> {};
+
+    @Param({"basic", "persistent"})
+    String adapterName;
+
+    @Param({"4", "16"})
+    int contextSize;
+
+    private MDCAdapter adapter;
+    private String[] keys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        adapter = "basic".equals(adapterName) ? new BasicMDCAdapter() : new PersistentMDCAdapter();
+        keys = new String[contextSize];
+        for (int i = 0; i < contextSize; i++) {
+            keys[i] = "key" + i;
+            adapter.put(keys[i], "value" + i);
+        }
+    }
+
+    @Benchmark
+    public MDCAdapter put() {
+        String key = keys[next];
+        next = next + 1 == keys.length ? 0 : next + 1;
+        adapter.put(key, key);
+        return adapter;
+    }
+
+    @Benchmark
+    public Thread inherit() {
+        return new Thread(NOTHING);
+    }
+
+    @Benchmark
+    public String handOff() {
+        Map<String, String> context = adapter.getCopyOfContextMap();
+        adapter.setContextMap(context);
+        return adapter.get(keys[0]);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * Formats a working set of distinct message patterns in turn, each pattern
+ * being the same instance on every call as string literals are. Small working
+ * sets are served from the cache of parsed patterns; working sets larger than
+ * the cache show how it behaves once it is full. The colliding working set is
+ * made of patterns whose identity hash codes share their low bits, thus which
+ * map to the same entry of the cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class MessagePatternBenchmark {
+
+    private static final Object[] ARGUMENTS = {"alpha", 42};
+
+    @State(Scope.Thread)
+    public static class WorkingSet {
+        @Param({"1", "64", "1024", "4096"})
+        int patternCount;
+
+        String[] patterns;
+        int next;
+        final StringBuilder buf = new StringBuilder(256);
+
+        @Setup
+        public void setUp() {
+            patterns = new String[patternCount];
+            for (int i = 0; i < patternCount; i++) {
+                patterns[i] = "Request " + i + " for {} took {} ms";
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CollidingSet {
+        final String[] patterns = new String[4];
+        int next;
+        final StringBuilder buf = new StringBuilder(256);
+
+        @Setup
+        public void setUp() {
+            int found = 0;
+            for (int i = 0; found < patterns.length; i++) {
+                String pattern = "Colliding " + i + " for {} took {} ms";
+                if (found == 0
+                        || (System.identityHashCode(pattern) & 0x3ff)
+                                == (System.identityHashCode(patterns[0]) & 0x3ff)) {
+                    patterns[found++] = pattern;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int format(WorkingSet set) {
+        String pattern = set.patterns[set.next];
+        set.next = set.next + 1 == set.patterns.length ? 0 : set.next + 1;
+        return format(set.buf, pattern);
+    }
+
+    @Benchmark
+    public int formatColliding(CollidingSet set) {
+        String pattern = set.patterns[set.next++ & (set.patterns.length - 1)];
+        return format(set.buf, pattern);
+    }
+
+    private static int format(StringBuilder buf, String pattern) {
+        buf.setLength(0);
+        MessageFormatter.basicArrayFormat(buf, pattern, ARGUMENTS, 2);
+        return buf.length();
+    }
+}
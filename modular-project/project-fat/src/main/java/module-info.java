@@ -6,6 +6,7 @@ module org.slf4j {
     exports org.slf4j.simple;
 
     uses org.slf4j.spi.SLF4JServiceProvider;
+    uses org.slf4j.spi.ArgumentRenderer;
 
     provides org.slf4j.spi.SLF4JServiceProvider with
             org.slf4j.simple.SimpleServiceProvider;
@@ -1,6 +1,8 @@
 module org.slf4j.simple {
     requires org.slf4j;
 
+    exports org.slf4j.simple;
+
     provides org.slf4j.spi.SLF4JServiceProvider with
             org.slf4j.simple.SimpleServiceProvider;
 }
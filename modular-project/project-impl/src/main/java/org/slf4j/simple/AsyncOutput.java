@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.event.Level;
+import org.slf4j.helpers.Util;
+
+/**
+ * Hands rendered log lines over to a single background writer thread through a
+ * bounded multi-producer ring buffer.
+ *
+ * <p>Slots are preallocated and reused, producers copy the rendered line into the
+ * slot they claimed. The writer drains all published slots, writes them as one
+ * batch and flushes the target once per batch.
+ */
+final class AsyncOutput {
+
+    enum FullPolicy {
+        BLOCK,
+        DROP,
+        DROP_BELOW_WARN;
+
+        static FullPolicy fromString(String policyStr) {
+            if ("drop".equalsIgnoreCase(policyStr)) {
+                return DROP;
+            } else if ("dropBelowWarn".equalsIgnoreCase(policyStr)) {
+                return DROP_BELOW_WARN;
+            }
+            // assume BLOCK by default
+            return BLOCK;
+        }
+    }
+
+    private static final class Slot {
+        StringBuilder text = new StringBuilder(INITIAL_SLOT_CAPACITY);
+        Throwable throwable;
+    }
+
+    private static final int INITIAL_SLOT_CAPACITY = 128;
+
+    private static final String FAILED_THROWABLE = "[FAILED rendering throwable]";
+
+    // slots that grew beyond this capacity are replaced after use
+    private static final int MAX_RETAINED_SLOT_CAPACITY = 8 * 1024;
+
+    private static final long WRITER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final OutputChoice outputChoice;
+    private final FullPolicy fullPolicy;
+
+    private final Slot[] slots;
+    // sequence numbers as in Dmitry Vyukov's bounded MPMC queue
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    // only accessed by the writer thread
+    private long head;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final StringBuilder batch = new StringBuilder(1024);
+
+    private final Thread writerThread;
+    private volatile boolean writerWaiting;
+    private volatile boolean running = true;
+
+    AsyncOutput(OutputChoice outputChoice, int bufferSize, FullPolicy fullPolicy) {
+        this.outputChoice = outputChoice;
+        this.fullPolicy = fullPolicy;
+
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+        this.slots = new Slot[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+            sequences.set(i, i);
+        }
+        this.mask = capacity - 1;
+
+        this.writerThread = new Thread(this::runWriter, "SimpleLogger-async-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    void start() {
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "SimpleLogger-async-shutdown"));
+    }
+
+    /**
+     * Offer a rendered line to the writer thread.
+     *
+     * @return true if the line was handed over or dropped according to the
+     *         configured {@link FullPolicy}, false if the writer is no longer
+     *         running and the caller has to write the line itself.
+     */
+    boolean offer(Level level, CharSequence line, Throwable t) {
+        boolean mayDrop = fullPolicy == FullPolicy.DROP
+                || (fullPolicy == FullPolicy.DROP_BELOW_WARN && level.toInt() < Level.WARN.toInt());
+
+        long pos;
+        while (true) {
+            if (!running) {
+                return false;
+            }
+            pos = tail.get();
+            long dif = sequences.get((int) pos & mask) - pos;
+            if (dif == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+            } else if (dif < 0) {
+                // the ring is full
+                if (mayDrop) {
+                    droppedCount.incrementAndGet();
+                    return true;
+                }
+                wakeUpWriter();
+                LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+            }
+        }
+
+        int index = (int) pos & mask;
+        Slot slot = slots[index];
+        slot.text.setLength(0);
+        slot.text.append(line);
+        slot.throwable = t;
+        sequences.set(index, pos + 1);
+
+        if (writerWaiting) {
+            wakeUpWriter();
+        }
+        return true;
+    }
+
+    private void wakeUpWriter() {
+        LockSupport.unpark(writerThread);
+    }
+
+    private void runWriter() {
+        while (true) {
+            if (drainBatch() > 0) {
+                continue;
+            }
+            if (!running) {
+                // producers may have claimed slots right before the stop
+                // request, give them a last chance to publish
+                if (drainBatch() == 0 && tail.get() == head) {
+                    return;
+                }
+                continue;
+            }
+            writerWaiting = true;
+            if (!isNextSlotPublished()) {
+                LockSupport.parkNanos(this, WRITER_PARK_NANOS);
+            }
+            writerWaiting = false;
+        }
+    }
+
+    private boolean isNextSlotPublished() {
+        return sequences.get((int) head & mask) == head + 1;
+    }
+
+    private int drainBatch() {
+        LineOutput lineOutput = outputChoice.getLineOutput();
+        PrintStream targetStream = lineOutput == null ? outputChoice.getTargetPrintStream() : null;
+        int count = 0;
+        try {
+            reportDropped();
+            while (isNextSlotPublished()) {
+                int index = (int) head & mask;
+                Slot slot = slots[index];
+
+                batch.append(slot.text).append(SimpleLogger.LINE_SEPARATOR);
+                appendThrowable(slot.throwable);
+
+                if (slot.text.capacity() > MAX_RETAINED_SLOT_CAPACITY) {
+                    slot.text = new StringBuilder(INITIAL_SLOT_CAPACITY);
+                }
+                slot.throwable = null;
+                sequences.set(index, head + mask + 1);
+                head++;
+                count++;
+            }
+            if (count > 0 || batch.length() > 0) {
+                if (lineOutput != null) {
+                    lineOutput.write(batch);
+                    batch.setLength(0);
+                    lineOutput.flush();
+                } else {
+                    printBatch(targetStream);
+                    targetStream.flush();
+                }
+            }
+        } catch (Throwable e) {
+            // the writer must survive, producers may be waiting for it
+            batch.setLength(0);
+            Util.report("SimpleLogger async writer failed to write a batch", e);
+        }
+        return count;
+    }
+
+    // a throwable failing to render must not hold up the slots behind it
+    private void appendThrowable(Throwable t) {
+        int start = batch.length();
+        try {
+            SimpleLogger.appendThrowable(batch, t);
+        } catch (Throwable e) {
+            batch.setLength(start);
+            batch.append(FAILED_THROWABLE).append(SimpleLogger.LINE_SEPARATOR);
+        }
+    }
+
+    private void printBatch(PrintStream targetStream) {
+        if (batch.length() > 0) {
+            targetStream.print(batch);
+            batch.setLength(0);
+        }
+    }
+
+    private void reportDropped() {
+        long dropped = droppedCount.getAndSet(0);
+        if (dropped > 0) {
+            batch.append("SimpleLogger dropped ")
+                    .append(dropped)
+                    .append(" events, the async buffer was full")
+                    .append(SimpleLogger.LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * Stop accepting new lines and wait until the writer drained the buffer.
+     */
+    void stop() {
+        running = false;
+        wakeUpWriter();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import java.text.DateFormatSymbols;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DecimalStyle;
+import java.time.format.SignStyle;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalField;
+import java.time.temporal.WeekFields;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders timestamps with an immutable {@link DateTimeFormatter} and caches the
+ * text rendered for the current second.
+ *
+ * <p>Patterns are {@link java.text.SimpleDateFormat} patterns, as they always
+ * were for SimpleLogger. Each letter is translated to the field SimpleDateFormat
+ * means, with its count read the SimpleDateFormat way: text for four letters or
+ * more (full) or three (short), "G", "a" and "Z" whatever the count, and numbers
+ * zero-padded to the count but never cut, except for the two-digit year "yy".
+ * DateTimeFormatter would read "u", "S" and "F" as other fields, reject "aa"
+ * or "HHH", and render "EEEEE" or "MMMMM" narrow. Characters other than letters
+ * are literals, including the "[", "]", "#", "{" and "}" which DateTimeFormatter
+ * reserves. Letters SimpleDateFormat does not know are rejected. Dates are
+ * always rendered in the ISO calendar, unlike SimpleDateFormat for the few
+ * locales defaulting to another calendar, e.g. th-TH.
+ *
+ * <p>Within the cached second only the millisecond digits are patched, so most
+ * events do no formatting work at all. Patterns whose millisecond field cannot
+ * be patched in place (e.g. "S") are cached per millisecond instead. The cache is
+ * an immutable holder published through a volatile field, thus threads never
+ * block each other; at worst two threads render the same second concurrently.
+ */
+final class CachedDateTimeFormatter {
+
+    // the pattern has no millisecond field, the cached text is valid for the whole second
+    private static final int NO_MILLIS = -1;
+    // the millisecond field cannot be patched, the cached text is valid for one millisecond
+    private static final int NOT_PATCHABLE = -2;
+
+    private static final class Cached {
+        final long epochSecond;
+        final long epochMillis;
+        final String text;
+        final int millisIndex;
+
+        Cached(long epochSecond, long epochMillis, String text, int millisIndex) {
+            this.epochSecond = epochSecond;
+            this.epochMillis = epochMillis;
+            this.text = text;
+            this.millisIndex = millisIndex;
+        }
+    }
+
+    private final DateTimeFormatter formatter;
+
+    private volatile Cached cached;
+
+    /**
+     * @throws IllegalArgumentException if the pattern is invalid
+     * @throws java.time.DateTimeException if the pattern cannot be applied to an instant
+     */
+    CachedDateTimeFormatter(String pattern) {
+        this.formatter = ofSimpleDateFormatPattern(pattern).withZone(ZoneId.systemDefault());
+        // fail early on patterns which cannot be applied to an instant
+        format(System.currentTimeMillis());
+    }
+
+    /**
+     * Translate a SimpleDateFormat pattern, see the class documentation.
+     *
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    static DateTimeFormatter ofSimpleDateFormatPattern(String pattern) {
+        DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder();
+        int length = pattern.length();
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                i = appendQuoted(builder, pattern, i);
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int end = i + 1;
+                while (end < length && pattern.charAt(end) == c) {
+                    end++;
+                }
+                appendField(builder, c, end - i, pattern);
+                i = end;
+            } else {
+                builder.appendLiteral(c);
+                i++;
+            }
+        }
+        // digits of the locale, as SimpleDateFormat renders them
+        return builder.toFormatter().withDecimalStyle(DecimalStyle.ofDefaultLocale());
+    }
+
+    private static void appendField(DateTimeFormatterBuilder builder, char letter, int count, String pattern) {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        WeekFields weekFields = WeekFields.of(locale);
+        switch (letter) {
+            case 'G':
+                // the names SimpleDateFormat uses whatever the count
+                String[] eras = DateFormatSymbols.getInstance(locale).getEras();
+                Map<Long, String> eraNames = new HashMap<>();
+                eraNames.put(0L, eras[0]);
+                eraNames.put(1L, eras[1]);
+                builder.appendText(ChronoField.ERA, eraNames);
+                break;
+            case 'y':
+                appendYear(builder, ChronoField.YEAR_OF_ERA, count);
+                break;
+            case 'Y':
+                appendYear(builder, weekFields.weekBasedYear(), count);
+                break;
+            case 'M':
+                appendTextOrNumber(builder, ChronoField.MONTH_OF_YEAR, count, TextStyle.FULL, TextStyle.SHORT);
+                break;
+            case 'L':
+                appendTextOrNumber(
+                        builder,
+                        ChronoField.MONTH_OF_YEAR,
+                        count,
+                        TextStyle.FULL_STANDALONE,
+                        TextStyle.SHORT_STANDALONE);
+                break;
+            case 'w':
+                appendNumber(builder, weekFields.weekOfWeekBasedYear(), count);
+                break;
+            case 'W':
+                appendNumber(builder, weekFields.weekOfMonth(), count);
+                break;
+            case 'D':
+                appendNumber(builder, ChronoField.DAY_OF_YEAR, count);
+                break;
+            case 'd':
+                appendNumber(builder, ChronoField.DAY_OF_MONTH, count);
+                break;
+            case 'F':
+                appendNumber(builder, ChronoField.ALIGNED_WEEK_OF_MONTH, count);
+                break;
+            case 'E':
+                builder.appendText(ChronoField.DAY_OF_WEEK, count >= 4 ? TextStyle.FULL : TextStyle.SHORT);
+                break;
+            case 'u':
+                appendNumber(builder, ChronoField.DAY_OF_WEEK, count);
+                break;
+            case 'a':
+                builder.appendText(ChronoField.AMPM_OF_DAY, TextStyle.SHORT);
+                break;
+            case 'H':
+                appendNumber(builder, ChronoField.HOUR_OF_DAY, count);
+                break;
+            case 'k':
+                appendNumber(builder, ChronoField.CLOCK_HOUR_OF_DAY, count);
+                break;
+            case 'K':
+                appendNumber(builder, ChronoField.HOUR_OF_AMPM, count);
+                break;
+            case 'h':
+                appendNumber(builder, ChronoField.CLOCK_HOUR_OF_AMPM, count);
+                break;
+            case 'm':
+                appendNumber(builder, ChronoField.MINUTE_OF_HOUR, count);
+                break;
+            case 's':
+                appendNumber(builder, ChronoField.SECOND_OF_MINUTE, count);
+                break;
+            case 'S':
+                appendNumber(builder, ChronoField.MILLI_OF_SECOND, count);
+                break;
+            case 'z':
+                builder.appendZoneText(count >= 4 ? TextStyle.FULL : TextStyle.SHORT);
+                break;
+            case 'Z':
+                builder.appendOffset("+HHMM", "+0000");
+                break;
+            case 'X':
+                if (count > 3) {
+                    throw new IllegalArgumentException(
+                            "Invalid ISO 8601 format length " + count + " in [" + pattern + "]");
+                }
+                builder.appendOffset(count == 1 ? "+HH" : count == 2 ? "+HHMM" : "+HH:MM", "Z");
+                break;
+            default:
+                throw new IllegalArgumentException("Illegal pattern character '" + letter + "' in [" + pattern + "]");
+        }
+    }
+
+    // the full year, except "yy" which is the year modulo 100
+    private static void appendYear(DateTimeFormatterBuilder builder, TemporalField field, int count) {
+        if (count == 2) {
+            builder.appendValueReduced(field, 2, 2, 2000);
+        } else {
+            appendNumber(builder, field, count);
+        }
+    }
+
+    private static void appendTextOrNumber(
+            DateTimeFormatterBuilder builder, TemporalField field, int count, TextStyle full, TextStyle shortStyle) {
+        if (count >= 4) {
+            builder.appendText(field, full);
+        } else if (count == 3) {
+            builder.appendText(field, shortStyle);
+        } else {
+            appendNumber(builder, field, count);
+        }
+    }
+
+    // at least count digits, as SimpleDateFormat does for numbers
+    private static void appendNumber(DateTimeFormatterBuilder builder, TemporalField field, int count) {
+        builder.appendValue(field, Math.min(count, 19), 19, SignStyle.NOT_NEGATIVE);
+    }
+
+    // appends the literal starting with the quote at start, "''" is a quote
+    private static int appendQuoted(DateTimeFormatterBuilder builder, String pattern, int start) {
+        StringBuilder literal = new StringBuilder();
+        int i = start + 1;
+        if (i < pattern.length() && pattern.charAt(i) == '\'') {
+            builder.appendLiteral('\'');
+            return i + 1;
+        }
+        while (true) {
+            if (i >= pattern.length()) {
+                throw new IllegalArgumentException("Unterminated quote in [" + pattern + "]");
+            }
+            char c = pattern.charAt(i++);
+            if (c == '\'') {
+                if (i < pattern.length() && pattern.charAt(i) == '\'') {
+                    literal.append('\'');
+                    i++;
+                } else {
+                    break;
+                }
+            } else {
+                literal.append(c);
+            }
+        }
+        builder.appendLiteral(literal.toString());
+        return i;
+    }
+
+    void appendTo(StringBuilder buf, long epochMillis) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000L);
+        Cached c = cached;
+        if (c == null || c.epochSecond != epochSecond) {
+            c = render(epochSecond, epochMillis);
+            cached = c;
+        } else if (c.millisIndex == NOT_PATCHABLE && c.epochMillis != epochMillis) {
+            c = new Cached(epochSecond, epochMillis, format(epochMillis), NOT_PATCHABLE);
+            cached = c;
+        }
+
+        if (c.millisIndex < 0) {
+            buf.append(c.text);
+        } else {
+            int millis = (int) Math.floorMod(epochMillis, 1000L);
+            buf.append(c.text, 0, c.millisIndex);
+            buf.append((char) ('0' + millis / 100));
+            buf.append((char) ('0' + (millis / 10) % 10));
+            buf.append((char) ('0' + millis % 10));
+            buf.append(c.text, c.millisIndex + 3, c.text.length());
+        }
+    }
+
+    private Cached render(long epochSecond, long epochMillis) {
+        // render the same second twice with distinct milliseconds to locate the
+        // millisecond digits, if any
+        long secondStart = epochSecond * 1000L;
+        String probe = format(secondStart + 123);
+        String other = format(secondStart + 456);
+        int millisIndex = locateMillis(probe, other);
+        // unpadded milliseconds ("S") are as wide as the value
+        if (millisIndex >= 0 && !isPatchable(probe, millisIndex, format(secondStart + 7))) {
+            millisIndex = NOT_PATCHABLE;
+        }
+        if (millisIndex == NOT_PATCHABLE) {
+            return new Cached(epochSecond, epochMillis, format(epochMillis), NOT_PATCHABLE);
+        }
+        return new Cached(epochSecond, epochMillis, probe, millisIndex);
+    }
+
+    private static int locateMillis(String probe, String other) {
+        if (probe.equals(other)) {
+            return NO_MILLIS;
+        }
+        if (probe.length() != other.length()) {
+            return NOT_PATCHABLE;
+        }
+        int index = 0;
+        while (probe.charAt(index) == other.charAt(index)) {
+            index++;
+        }
+        if (!probe.startsWith("123", index) || !other.startsWith("456", index)) {
+            return NOT_PATCHABLE;
+        }
+        // nothing else but the three digits may differ
+        if (!probe.regionMatches(index + 3, other, index + 3, probe.length() - index - 3)) {
+            return NOT_PATCHABLE;
+        }
+        return index;
+    }
+
+    private static boolean isPatchable(String probe, int millisIndex, String single) {
+        return single.length() == probe.length() && single.startsWith("007", millisIndex);
+    }
+
+    private String format(long epochMillis) {
+        return formatter.format(Instant.ofEpochMilli(epochMillis));
+    }
+}
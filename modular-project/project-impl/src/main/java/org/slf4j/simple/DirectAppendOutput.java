@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.slf4j.helpers.Util;
+
+/**
+ * Writes each call's text, encoded into a buffer of the calling thread, with a
+ * single write to a file opened in append mode, without taking any lock.
+ *
+ * <p>The operating system appends each write atomically with respect to the
+ * file position, so the text of concurrent calls never interleaves. A
+ * {@link FileOutputStream} is used rather than a
+ * {@link java.nio.channels.FileChannel}, which serializes writes on an
+ * internal lock. Nothing is buffered, the text is written when the call returns.
+ */
+final class DirectAppendOutput implements LineOutput {
+
+    private final Path path;
+    private final FileOutputStream out;
+    private volatile boolean errorReported;
+
+    DirectAppendOutput(Path path) throws IOException {
+        this.path = path;
+        this.out = new FileOutputStream(path.toFile(), true);
+    }
+
+    @Override
+    public void write(CharSequence text) {
+        ThreadBuffers buffers = ThreadBuffers.get();
+        int len = buffers.encodeUtf8(text);
+        try {
+            out.write(buffers.bytes(), 0, len);
+        } catch (IOException e) {
+            reportError(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        // nothing is buffered
+    }
+
+    @Override
+    public void writeDurable(CharSequence text) {
+        write(text);
+        try {
+            out.getFD().sync();
+        } catch (IOException e) {
+            reportError(e);
+        }
+    }
+
+    private void reportError(IOException e) {
+        if (!errorReported) {
+            errorReported = true;
+            Util.report("Failed to write to [" + path + "]", e);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.helpers.Util;
+
+/**
+ * Writes lines to a file through a {@link FileChannel} opened in append mode.
+ *
+ * <p>Lines are UTF-8 encoded straight into a reusable byte buffer, which is
+ * written to the channel when it is full or when the output is flushed.
+ *
+ * <p>Durable writes use group commit: the first caller which finds no sync in
+ * progress becomes the leader, optionally waits for the batch window so that
+ * more callers can join, writes everything buffered so far and forces it to
+ * disk outside the lock. Callers whose text was covered by that sync are then
+ * released together, the others elect the next leader.
+ */
+class FileChannelOutput implements LineOutput {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    final Path path;
+    final ReentrantLock lock = new ReentrantLock();
+
+    FileChannel channel;
+    final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private boolean errorReported;
+
+    private final Condition synced = lock.newCondition();
+    private long batchWindowNanos;
+    // the number of write calls so far, the number of those known to be on disk
+    // and the sequence number of the latest durable write
+    private long writeSeq;
+    private long durableSeq;
+    private long lastDurableSeq;
+    private boolean syncing;
+
+    FileChannelOutput(Path path) throws IOException {
+        this.path = path;
+        this.channel = open(path);
+    }
+
+    /**
+     * Set how long a group commit leader waits for more durable writes before
+     * syncing, 0 to sync right away.
+     */
+    void setBatchWindow(long batchWindow, TimeUnit unit) {
+        this.batchWindowNanos = unit.toNanos(batchWindow);
+    }
+
+    static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void write(CharSequence text) {
+        lock.lock();
+        try {
+            encode(text);
+            writeSeq++;
+        } catch (IOException e) {
+            reportError(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void writeDurable(CharSequence text) {
+        lock.lock();
+        try {
+            try {
+                encode(text);
+            } catch (IOException e) {
+                reportError(e);
+            }
+            long seq = ++writeSeq;
+            lastDurableSeq = seq;
+            while (durableSeq < seq) {
+                if (syncing) {
+                    synced.awaitUninterruptibly();
+                } else {
+                    sync();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Must be called while holding the lock and no other sync is in progress.
+     */
+    private void sync() {
+        syncing = true;
+        try {
+            if (batchWindowNanos > 0) {
+                lock.unlock();
+                try {
+                    LockSupport.parkNanos(this, batchWindowNanos);
+                } finally {
+                    lock.lock();
+                }
+            }
+            long target = writeSeq;
+            FileChannel syncChannel = channel;
+            try {
+                drain();
+                // appending to the buffer and writing it may go on while forcing
+                lock.unlock();
+                try {
+                    syncChannel.force(false);
+                } finally {
+                    lock.lock();
+                }
+            } catch (IOException e) {
+                // like any other write, report the failure rather than
+                // blocking or failing the callers
+                reportError(e);
+            }
+            durableSeq = Math.max(durableSeq, target);
+        } finally {
+            syncing = false;
+            synced.signalAll();
+        }
+    }
+
+    /**
+     * Wait for a sync in progress and force what was written to the current
+     * channel if it contains text of durable writes not synced yet, e.g. before
+     * closing the channel. Must be called while holding the lock and with no
+     * partially written text in the buffer.
+     */
+    void syncPending() throws IOException {
+        while (syncing) {
+            synced.awaitUninterruptibly();
+        }
+        if (durableSeq < lastDurableSeq) {
+            drain();
+            channel.force(false);
+            durableSeq = writeSeq;
+            synced.signalAll();
+        }
+    }
+
+    @Override
+    public void flush() {
+        lock.lock();
+        try {
+            drain();
+        } catch (IOException e) {
+            reportError(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    void encode(CharSequence text) throws IOException {
+        int len = text.length();
+        int i = Utf8.encode(text, 0, buffer);
+        while (i < len) {
+            drain();
+            i = Utf8.encode(text, i, buffer);
+        }
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    void drain() throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    void reportError(IOException e) {
+        // like PrintStream, do not let I/O errors escape to the caller, but
+        // unlike PrintStream, do not swallow them silently either
+        if (!errorReported) {
+            errorReported = true;
+            Util.report("Failed to write to [" + path + "]", e);
+        }
+    }
+}
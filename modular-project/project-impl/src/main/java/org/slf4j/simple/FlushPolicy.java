@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.event.Level;
+import org.slf4j.helpers.Util;
+
+/**
+ * Decides when the output is flushed.
+ *
+ * <p>The policy is given as one of:
+ * <ul>
+ * <li><code>always</code> - flush after every event</li>
+ * <li><code>level:&lt;LEVEL&gt;</code> - flush after events at or above the level</li>
+ * <li><code>count:&lt;n&gt;</code> - flush after every n-th event</li>
+ * <li><code>interval:&lt;ms&gt;</code> - flush every ms milliseconds from a timer thread</li>
+ * </ul>
+ * Whatever the policy, buffered output is flushed when the JVM shuts down.
+ */
+final class FlushPolicy {
+
+    enum Type {
+        ALWAYS,
+        LEVEL,
+        COUNT,
+        INTERVAL
+    }
+
+    static final FlushPolicy ALWAYS = new FlushPolicy(Type.ALWAYS, 0);
+
+    private final Type type;
+    // the level threshold, the event count or the interval in milliseconds
+    private final long value;
+    private final AtomicLong eventCount = new AtomicLong();
+
+    private FlushPolicy(Type type, long value) {
+        this.type = type;
+        this.value = value;
+    }
+
+    static FlushPolicy fromString(String policyStr) {
+        if (policyStr == null || "always".equalsIgnoreCase(policyStr.trim())) {
+            return ALWAYS;
+        }
+        String str = policyStr.trim();
+        int colon = str.indexOf(':');
+        if (colon > 0) {
+            String type = str.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String arg = str.substring(colon + 1).trim();
+            try {
+                switch (type) {
+                    case "level":
+                        return new FlushPolicy(Type.LEVEL, SimpleLoggerConfiguration.stringToLevel(arg));
+                    case "count":
+                        long count = Long.parseLong(arg);
+                        if (count > 0) {
+                            return count == 1 ? ALWAYS : new FlushPolicy(Type.COUNT, count);
+                        }
+                        break;
+                    case "interval":
+                        long interval = Long.parseLong(arg);
+                        if (interval > 0) {
+                            return new FlushPolicy(Type.INTERVAL, interval);
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            } catch (NumberFormatException e) {
+                // reported below
+            }
+        }
+        Util.report("Bad flush policy [" + policyStr + "], flushing after every event");
+        return ALWAYS;
+    }
+
+    /**
+     * Whether the output has to be flushed after writing an event of the given level.
+     */
+    boolean shouldFlush(Level level) {
+        switch (type) {
+            case ALWAYS:
+                return true;
+            case LEVEL:
+                return level.toInt() >= value;
+            case COUNT:
+                return eventCount.incrementAndGet() % value == 0;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Start the flush timer if any and make sure the output is flushed on shutdown.
+     */
+    void start(Runnable flushAction) {
+        if (type == Type.ALWAYS) {
+            return;
+        }
+        if (type == Type.INTERVAL) {
+            ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "SimpleLogger-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.scheduleWithFixedDelay(flushAction, value, value, TimeUnit.MILLISECONDS);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(flushAction, "SimpleLogger-flush-shutdown"));
+    }
+}
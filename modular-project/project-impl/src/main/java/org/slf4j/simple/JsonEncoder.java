@@ -0,0 +1,454 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Marker;
+import org.slf4j.event.DefaultLoggingEvent;
+import org.slf4j.event.KeyValuePair;
+import org.slf4j.event.Level;
+import org.slf4j.event.LoggingEvent;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * Renders events as JSON objects, one per line, directly into the line buffer.
+ *
+ * <p>Key names are pre-encoded, strings are escaped in place once appended.
+ * Neither allocates, apart from what the {@code toString()} methods of
+ * arguments and values do.
+ */
+final class JsonEncoder {
+
+    private static final String TIMESTAMP = "{\"timestamp\":";
+    private static final String LEVEL = ",\"level\":";
+    private static final String LOGGER = ",\"logger\":";
+    private static final String THREAD = ",\"thread\":";
+    private static final String MESSAGE = ",\"message\":\"";
+    private static final String ARGUMENTS = ",\"arguments\":[";
+    private static final String MARKERS = ",\"markers\":[";
+    private static final String KEY_VALUE_PAIRS = ",\"keyValuePairs\":{";
+    private static final String MDC = ",\"mdc\":{";
+    private static final String THROWABLE = ",\"throwable\":\"";
+
+    // the quoted level names, indexed by ordinal
+    private static final String[] LEVELS = new String[Level.values().length];
+
+    static {
+        for (Level level : Level.values()) {
+            LEVELS[level.ordinal()] = '"' + level.toString() + '"';
+        }
+    }
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private JsonEncoder() {}
+
+    /**
+     * Append timestamp, level, logger and thread, and open the message string.
+     *
+     * @param quotedLoggerName the logger name as encoded by {@link #quote(String)}
+     * @param quotedThreadName the thread name as encoded by {@link #quote(String)}
+     * @return the index at which the message starts, see {@link #endMessage(StringBuilder, int)}
+     */
+    static int beginEvent(StringBuilder buf, Level level, String quotedLoggerName, String quotedThreadName) {
+        buf.append(TIMESTAMP).append(System.currentTimeMillis());
+        buf.append(LEVEL).append(LEVELS[level.ordinal()]);
+        buf.append(LOGGER).append(quotedLoggerName);
+        buf.append(THREAD).append(quotedThreadName);
+        buf.append(MESSAGE);
+        return buf.length();
+    }
+
+    /**
+     * Escape the message appended since messageStart and close it.
+     */
+    static void endMessage(StringBuilder buf, int messageStart) {
+        escape(buf, messageStart);
+        buf.append('"');
+    }
+
+    static void appendArguments(StringBuilder buf, Object[] arguments, int argumentCount, Object[] holder) {
+        if (argumentCount == 0) {
+            return;
+        }
+        buf.append(ARGUMENTS);
+        for (int i = 0; i < argumentCount; i++) {
+            if (i > 0) {
+                buf.append(',');
+            }
+            appendValue(buf, arguments[i], holder);
+        }
+        buf.append(']');
+    }
+
+    // same as above, arguments the event keeps as primitives are not boxed
+    static void appendArguments(StringBuilder buf, DefaultLoggingEvent event, int argumentCount, Object[] holder) {
+        if (argumentCount == 0) {
+            return;
+        }
+        buf.append(ARGUMENTS);
+        for (int i = 0; i < argumentCount; i++) {
+            if (i > 0) {
+                buf.append(',');
+            }
+            switch (event.getArgumentType(i)) {
+                case DefaultLoggingEvent.INT_VALUE:
+                    buf.append(event.getIntArgument(i));
+                    break;
+                case DefaultLoggingEvent.LONG_VALUE:
+                    buf.append(event.getLongArgument(i));
+                    break;
+                case DefaultLoggingEvent.DOUBLE_VALUE:
+                    appendNumber(buf, event.getDoubleArgument(i));
+                    break;
+                case DefaultLoggingEvent.FLOAT_VALUE:
+                    appendNumber(buf, event.getFloatArgument(i));
+                    break;
+                case DefaultLoggingEvent.CHAR_VALUE:
+                    appendChar(buf, event.getCharArgument(i));
+                    break;
+                default:
+                    appendValue(buf, event.getObjectArgument(i), holder);
+            }
+        }
+        buf.append(']');
+    }
+
+    static void appendArgument(StringBuilder buf, long arg) {
+        buf.append(ARGUMENTS).append(arg).append(']');
+    }
+
+    static void appendArgument(StringBuilder buf, double arg) {
+        buf.append(ARGUMENTS);
+        appendNumber(buf, arg);
+        buf.append(']');
+    }
+
+    static void appendArgument(StringBuilder buf, float arg) {
+        buf.append(ARGUMENTS);
+        appendNumber(buf, arg);
+        buf.append(']');
+    }
+
+    static void appendArgument(StringBuilder buf, char arg) {
+        buf.append(ARGUMENTS);
+        appendChar(buf, arg);
+        buf.append(']');
+    }
+
+    static void appendMarkers(StringBuilder buf, Marker marker, List<Marker> markers) {
+        if (marker != null) {
+            buf.append(MARKERS);
+            appendString(buf, marker.getName());
+            buf.append(']');
+        } else if (markers != null && !markers.isEmpty()) {
+            buf.append(MARKERS);
+            for (int i = 0, n = markers.size(); i < n; i++) {
+                if (i > 0) {
+                    buf.append(',');
+                }
+                appendString(buf, markers.get(i).getName());
+            }
+            buf.append(']');
+        }
+    }
+
+    static void appendKeyValuePairs(StringBuilder buf, LoggingEvent event, Object[] holder) {
+        if (event instanceof DefaultLoggingEvent) {
+            // primitive values are appended without boxing
+            DefaultLoggingEvent dle = (DefaultLoggingEvent) event;
+            int n = dle.getKeyValueCount();
+            if (n == 0) {
+                return;
+            }
+            buf.append(KEY_VALUE_PAIRS);
+            for (int i = 0; i < n; i++) {
+                if (i > 0) {
+                    buf.append(',');
+                }
+                appendString(buf, dle.getKey(i));
+                buf.append(':');
+                switch (dle.getValueType(i)) {
+                    case DefaultLoggingEvent.LONG_VALUE:
+                        buf.append(dle.getLongValue(i));
+                        break;
+                    case DefaultLoggingEvent.DOUBLE_VALUE:
+                        appendNumber(buf, dle.getDoubleValue(i));
+                        break;
+                    case DefaultLoggingEvent.FLOAT_VALUE:
+                        appendNumber(buf, dle.getFloatValue(i));
+                        break;
+                    case DefaultLoggingEvent.BOOLEAN_VALUE:
+                        buf.append(dle.getBooleanValue(i));
+                        break;
+                    case DefaultLoggingEvent.CHAR_VALUE:
+                        appendChar(buf, dle.getCharValue(i));
+                        break;
+                    default:
+                        appendValue(buf, dle.getObjectValue(i), holder);
+                }
+            }
+            buf.append('}');
+            return;
+        }
+        List<KeyValuePair> keyValuePairs = event.getKeyValuePairs();
+        if (keyValuePairs == null || keyValuePairs.isEmpty()) {
+            return;
+        }
+        buf.append(KEY_VALUE_PAIRS);
+        for (int i = 0, n = keyValuePairs.size(); i < n; i++) {
+            KeyValuePair kvp = keyValuePairs.get(i);
+            if (i > 0) {
+                buf.append(',');
+            }
+            appendString(buf, kvp.key);
+            buf.append(':');
+            appendValue(buf, kvp.value, holder);
+        }
+        buf.append('}');
+    }
+
+    static void appendMdc(StringBuilder buf, Map<String, String> contextMap) {
+        if (contextMap == null || contextMap.isEmpty()) {
+            return;
+        }
+        buf.append(MDC);
+        boolean first = true;
+        for (Map.Entry<String, String> entry : contextMap.entrySet()) {
+            if (!first) {
+                buf.append(',');
+            }
+            first = false;
+            appendString(buf, entry.getKey());
+            buf.append(':');
+            appendString(buf, entry.getValue());
+        }
+        buf.append('}');
+    }
+
+    /**
+     * Append the selected entries of the MDC, only those present.
+     */
+    static void appendMdc(StringBuilder buf, MDCAdapter mdcAdapter, MdcSelection selection) {
+        if (selection.isAll()) {
+            appendMdc(buf, mdcAdapter.getReadOnlyContextMap());
+            return;
+        }
+        boolean first = true;
+        for (int i = 0, n = selection.size(); i < n; i++) {
+            String value = mdcAdapter.get(selection.getKey(i));
+            if (value != null) {
+                buf.append(first ? MDC : ",");
+                first = false;
+                buf.append(selection.getQuotedKey(i)).append(':');
+                appendString(buf, value);
+            }
+        }
+        if (!first) {
+            buf.append('}');
+        }
+    }
+
+    static void appendThrowable(StringBuilder buf, Throwable t) {
+        if (t == null) {
+            return;
+        }
+        buf.append(THROWABLE);
+        int start = buf.length();
+        SimpleLogger.appendThrowable(buf, t);
+        int end = buf.length() - SimpleLogger.LINE_SEPARATOR.length();
+        if (end >= start && buf.indexOf(SimpleLogger.LINE_SEPARATOR, end) == end) {
+            buf.setLength(end);
+        }
+        escape(buf, start);
+        buf.append('"');
+    }
+
+    static void endEvent(StringBuilder buf) {
+        buf.append('}');
+    }
+
+    /**
+     * @return the string as a JSON string literal, or null unquoted
+     */
+    static String quote(String s) {
+        StringBuilder buf = new StringBuilder(s == null ? 4 : s.length() + 2);
+        appendString(buf, s);
+        return buf.toString();
+    }
+
+    static void appendString(StringBuilder buf, String s) {
+        if (s == null) {
+            buf.append("null");
+            return;
+        }
+        buf.append('"');
+        int start = buf.length();
+        buf.append(s);
+        escape(buf, start);
+        buf.append('"');
+    }
+
+    // numbers and booleans are written as such, anything else is formatted
+    // as a message argument, thus with renderers and limits applied
+    private static void appendValue(StringBuilder buf, Object value, Object[] holder) {
+        if (value == null) {
+            buf.append("null");
+        } else if (value instanceof Long
+                || value instanceof Integer
+                || value instanceof Short
+                || value instanceof Byte) {
+            buf.append(((Number) value).longValue());
+        } else if (value instanceof Double) {
+            appendNumber(buf, (Double) value);
+        } else if (value instanceof Float) {
+            appendNumber(buf, (Float) value);
+        } else if (value instanceof Boolean) {
+            buf.append(((Boolean) value).booleanValue());
+        } else {
+            buf.append('"');
+            int start = buf.length();
+            holder[0] = value;
+            try {
+                MessageFormatter.basicArrayFormat(buf, "{}", holder, 1, SimpleLogger.CONFIG_PARAMS.formattingLimits);
+            } finally {
+                holder[0] = null;
+            }
+            escape(buf, start);
+            buf.append('"');
+        }
+    }
+
+    private static void appendChar(StringBuilder buf, char c) {
+        buf.append('"');
+        int start = buf.length();
+        buf.append(c);
+        escape(buf, start);
+        buf.append('"');
+    }
+
+    // NaN and the infinities have no JSON number representation
+    private static void appendNumber(StringBuilder buf, double d) {
+        if (Double.isFinite(d)) {
+            buf.append(d);
+        } else {
+            buf.append('"').append(d).append('"');
+        }
+    }
+
+    private static void appendNumber(StringBuilder buf, float f) {
+        if (Float.isFinite(f)) {
+            buf.append(f);
+        } else {
+            buf.append('"').append(f).append('"');
+        }
+    }
+
+    /**
+     * Escape the characters of buf from start on, in place. The escaped length
+     * is computed first, then the characters are moved back to front. Lone
+     * surrogates are escaped too, they could not be encoded otherwise.
+     */
+    static void escape(StringBuilder buf, int start) {
+        int len = buf.length();
+        int extra = 0;
+        char previous = 0;
+        for (int i = start; i < len; i++) {
+            char c = buf.charAt(i);
+            char next = i + 1 < len ? buf.charAt(i + 1) : 0;
+            extra += escapedLength(c, previous, next) - 1;
+            previous = c;
+        }
+        if (extra == 0) {
+            return;
+        }
+        buf.setLength(len + extra);
+        int dst = len + extra;
+        // the characters before i are not moved yet, the one after is kept in next
+        char next = 0;
+        for (int i = len - 1; i >= start; i--) {
+            char c = buf.charAt(i);
+            previous = i > start ? buf.charAt(i - 1) : 0;
+            switch (escapedLength(c, previous, next)) {
+                case 1:
+                    buf.setCharAt(--dst, c);
+                    break;
+                case 2:
+                    buf.setCharAt(--dst, shortEscape(c));
+                    buf.setCharAt(--dst, '\\');
+                    break;
+                default:
+                    buf.setCharAt(--dst, HEX_DIGITS[c & 0xf]);
+                    buf.setCharAt(--dst, HEX_DIGITS[(c >> 4) & 0xf]);
+                    buf.setCharAt(--dst, HEX_DIGITS[(c >> 8) & 0xf]);
+                    buf.setCharAt(--dst, HEX_DIGITS[(c >> 12) & 0xf]);
+                    buf.setCharAt(--dst, 'u');
+                    buf.setCharAt(--dst, '\\');
+            }
+            next = c;
+        }
+    }
+
+    // previous and next are 0 at the ends of the escaped characters
+    private static int escapedLength(char c, char previous, char next) {
+        if (c >= 0x20) {
+            if (c == '"' || c == '\\') {
+                return 2;
+            }
+            if (Character.isHighSurrogate(c)) {
+                return Character.isLowSurrogate(next) ? 1 : 6;
+            }
+            if (Character.isLowSurrogate(c)) {
+                return Character.isHighSurrogate(previous) ? 1 : 6;
+            }
+            return 1;
+        }
+        switch (c) {
+            case '\b':
+            case '\f':
+            case '\n':
+            case '\r':
+            case '\t':
+                return 2;
+            default:
+                return 6;
+        }
+    }
+
+    private static char shortEscape(char c) {
+        switch (c) {
+            case '\b':
+                return 'b';
+            case '\f':
+                return 'f';
+            case '\n':
+                return 'n';
+            case '\r':
+                return 'r';
+            case '\t':
+                return 't';
+            default:
+                // '"' and '\\'
+                return c;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+/**
+ * An output target which encodes rendered lines itself instead of going
+ * through a {@link java.io.PrintStream}.
+ *
+ * <p>Implementations are thread safe, the text passed to a single call of
+ * {@link #write(CharSequence)} is never interleaved with text of other calls.
+ * I/O errors are reported by the implementations, not thrown.
+ */
+interface LineOutput {
+
+    /**
+     * Write the text, which already contains its line separators.
+     */
+    void write(CharSequence text);
+
+    void flush();
+
+    /**
+     * Write the text and return once it is on stable storage, as far as the
+     * target supports it. By default the text is written and flushed.
+     */
+    default void writeDurable(CharSequence text) {
+        write(text);
+        flush();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes lines into a preallocated, fixed-size memory-mapped file used as a
+ * circular buffer.
+ *
+ * <p>The file starts with a header of {@link #HEADER_SIZE} bytes:
+ * <ul>
+ * <li>magic number (int) and format version (int)</li>
+ * <li>capacity of the data region following the header (long)</li>
+ * <li>offset within the data region of the next write (long)</li>
+ * <li>number of times the writes wrapped around the data region (long)</li>
+ * </ul>
+ *
+ * <p>Writing a line only stores into the mapped pages, which are owned by the
+ * operating system and thus survive a crash of the JVM. The header is updated
+ * after the data of each line, an existing file of the same size is continued.
+ * Use {@link MappedRingFileReader} to turn the file back into text.
+ */
+final class MappedRingFileOutput implements LineOutput {
+
+    static final int MAGIC = 0x534c5242; // "SLRB"
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 32;
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int CAPACITY_OFFSET = 8;
+    static final int POSITION_OFFSET = 16;
+    static final int WRAP_COUNT_OFFSET = 24;
+
+    // the smallest file which can hold a reasonable line
+    static final long MIN_FILE_SIZE = 4 * 1024;
+
+    private static final int SCRATCH_SIZE = 8 * 1024;
+
+    private static final int PREALLOCATE_CHUNK_SIZE = 64 * 1024;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final MappedByteBuffer mapped;
+    private final long capacity;
+    private final ByteBuffer scratch = ByteBuffer.allocate(SCRATCH_SIZE);
+
+    private long position;
+    private long wrapCount;
+
+    MappedRingFileOutput(Path path, long fileSize) throws IOException {
+        if (fileSize < MIN_FILE_SIZE || fileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Mapped file size must be between " + MIN_FILE_SIZE + " and " + Integer.MAX_VALUE + " bytes");
+        }
+        this.capacity = fileSize - HEADER_SIZE;
+
+        try (FileChannel channel =
+                FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            boolean resume = channel.size() == fileSize;
+            if (!resume) {
+                channel.truncate(0);
+                preallocate(channel, fileSize);
+            }
+            // the mapping stays valid after the channel is closed
+            this.mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            if (resume && isValidHeader()) {
+                this.position = mapped.getLong(POSITION_OFFSET);
+                this.wrapCount = mapped.getLong(WRAP_COUNT_OFFSET);
+            } else {
+                initializeHeader();
+            }
+        }
+    }
+
+    /**
+     * Write zeros up to the size of the file, so that its blocks are allocated
+     * now rather than when a page is first stored into. A file merely extended
+     * is sparse: running out of disk space would then surface as a
+     * {@link InternalError} on a logging thread instead of an
+     * {@link IOException} here.
+     */
+    private static void preallocate(FileChannel channel, long fileSize) throws IOException {
+        ByteBuffer zeros = ByteBuffer.allocate(PREALLOCATE_CHUNK_SIZE);
+        long written = 0;
+        while (written < fileSize) {
+            zeros.clear();
+            zeros.limit((int) Math.min(PREALLOCATE_CHUNK_SIZE, fileSize - written));
+            while (zeros.hasRemaining()) {
+                written += channel.write(zeros, written);
+            }
+        }
+        channel.force(true);
+    }
+
+    private boolean isValidHeader() {
+        long pos = mapped.getLong(POSITION_OFFSET);
+        return mapped.getInt(MAGIC_OFFSET) == MAGIC
+                && mapped.getInt(VERSION_OFFSET) == VERSION
+                && mapped.getLong(CAPACITY_OFFSET) == capacity
+                && pos >= 0
+                && pos < capacity
+                && mapped.getLong(WRAP_COUNT_OFFSET) >= 0;
+    }
+
+    private void initializeHeader() {
+        position = 0;
+        wrapCount = 0;
+        mapped.putInt(MAGIC_OFFSET, MAGIC);
+        mapped.putInt(VERSION_OFFSET, VERSION);
+        mapped.putLong(CAPACITY_OFFSET, capacity);
+        updateHeader();
+    }
+
+    private void updateHeader() {
+        mapped.putLong(POSITION_OFFSET, position);
+        mapped.putLong(WRAP_COUNT_OFFSET, wrapCount);
+    }
+
+    @Override
+    public void write(CharSequence text) {
+        lock.lock();
+        try {
+            int len = text.length();
+            int i = 0;
+            while (i < len) {
+                i = Utf8.encode(text, i, scratch);
+                scratch.flip();
+                put(scratch);
+                scratch.clear();
+            }
+            updateHeader();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(ByteBuffer src) {
+        byte[] a = src.array();
+        int off = src.position();
+        int remaining = src.remaining();
+        while (remaining > 0) {
+            int n = (int) Math.min(remaining, capacity - position);
+            mapped.position(HEADER_SIZE + (int) position);
+            mapped.put(a, off, n);
+            off += n;
+            remaining -= n;
+            position += n;
+            if (position == capacity) {
+                position = 0;
+                wrapCount++;
+            }
+        }
+    }
+
+    /**
+     * Nothing to do, the mapped pages are written back by the operating system.
+     */
+    @Override
+    public void flush() {}
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Reads a file written by the memory-mapped circular output of
+ * {@link SimpleLogger} and linearizes it back into text, oldest line first.
+ *
+ * <p>Once the writes wrapped around, the oldest line is usually partially
+ * overwritten and is therefore skipped.
+ *
+ * <p>Usage: <code>java org.slf4j.simple.MappedRingFileReader &lt;file&gt;</code>
+ */
+public final class MappedRingFileReader {
+
+    private MappedRingFileReader() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: MappedRingFileReader <file>");
+            System.exit(1);
+        }
+        PrintStream out = System.out;
+        out.print(read(Paths.get(args[0])));
+        out.flush();
+    }
+
+    /**
+     * Returns the lines held by the file, oldest line first.
+     *
+     * @param path the file written by the memory-mapped circular output
+     * @return the lines held by the file
+     * @throws IOException if the file cannot be read or has no valid header
+     */
+    public static String read(Path path) throws IOException {
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.BIG_ENDIAN);
+        if (file.capacity() < MappedRingFileOutput.HEADER_SIZE
+                || file.getInt(MappedRingFileOutput.MAGIC_OFFSET) != MappedRingFileOutput.MAGIC) {
+            throw new IOException("Not a SimpleLogger mapped ring file: " + path);
+        }
+        if (file.getInt(MappedRingFileOutput.VERSION_OFFSET) != MappedRingFileOutput.VERSION) {
+            throw new IOException("Unsupported mapped ring file version in " + path);
+        }
+        long capacity = file.getLong(MappedRingFileOutput.CAPACITY_OFFSET);
+        long position = file.getLong(MappedRingFileOutput.POSITION_OFFSET);
+        long wrapCount = file.getLong(MappedRingFileOutput.WRAP_COUNT_OFFSET);
+        if (capacity != file.capacity() - MappedRingFileOutput.HEADER_SIZE || position < 0 || position >= capacity) {
+            throw new IOException("Corrupt mapped ring file header in " + path);
+        }
+
+        byte[] data = file.array();
+        int start = MappedRingFileOutput.HEADER_SIZE;
+        int pos = start + (int) position;
+        int end = start + (int) capacity;
+
+        byte[] linear;
+        if (wrapCount == 0) {
+            linear = new byte[pos - start];
+            System.arraycopy(data, start, linear, 0, linear.length);
+        } else {
+            linear = new byte[end - start];
+            System.arraycopy(data, pos, linear, 0, end - pos);
+            System.arraycopy(data, start, linear, end - pos, pos - start);
+        }
+
+        int from = 0;
+        if (wrapCount > 0) {
+            // skip the partially overwritten oldest line
+            while (from < linear.length && linear[from] != '\n') {
+                from++;
+            }
+            from++;
+        }
+        int to = linear.length;
+        // skip the unwritten tail, if any
+        while (to > from && linear[to - 1] == 0) {
+            to--;
+        }
+        if (from >= to) {
+            return "";
+        }
+        return new String(linear, from, to - from, StandardCharsets.UTF_8);
+    }
+}
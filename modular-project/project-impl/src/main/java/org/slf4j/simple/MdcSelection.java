@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.MDCKey;
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * The MDC keys rendered on each line, either a list of keys or all of them.
+ * Parsed once from the configuration, with the "key=" text prefixes and the
+ * JSON encoded keys computed up front.
+ *
+ * <p>Listed keys are registered, see {@link MDCKey#register(String)}, and
+ * their values read through {@link MDCAdapter#get(MDCKey)}, by index if the
+ * adapter supports it. All keys are read from the map of
+ * {@link MDCAdapter#getReadOnlyContextMap()}. The context is never copied.
+ * Parsing happens while the provider is being bound, thus it must not touch
+ * {@link org.slf4j.MDC}, whose initialization would pick the substitute
+ * adapter.
+ */
+final class MdcSelection {
+
+    static final MdcSelection ALL = new MdcSelection(null);
+
+    // null for all keys
+    private final MDCKey[] keys;
+    private final String[] textPrefixes;
+    private final String[] quotedKeys;
+
+    private MdcSelection(MDCKey[] keys) {
+        this.keys = keys;
+        if (keys == null) {
+            textPrefixes = null;
+            quotedKeys = null;
+        } else {
+            textPrefixes = new String[keys.length];
+            quotedKeys = new String[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                textPrefixes[i] = keys[i].getName() + '=';
+                quotedKeys[i] = JsonEncoder.quote(keys[i].getName());
+            }
+        }
+    }
+
+    /**
+     * @param spec "*" for all keys, or a comma separated list of keys
+     * @return the selection, null if the list is empty
+     */
+    static MdcSelection parse(String spec) {
+        if ("*".equals(spec.trim())) {
+            return ALL;
+        }
+        List<MDCKey> keys = new ArrayList<>();
+        for (String name : spec.split(",")) {
+            name = name.trim();
+            if (!name.isEmpty()) {
+                MDCKey key = MDCKey.register(name);
+                if (!keys.contains(key)) {
+                    keys.add(key);
+                }
+            }
+        }
+        return keys.isEmpty() ? null : new MdcSelection(keys.toArray(new MDCKey[0]));
+    }
+
+    boolean isAll() {
+        return keys == null;
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    MDCKey getKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * @return the key as a JSON string, see {@link JsonEncoder#quote(String)}
+     */
+    String getQuotedKey(int index) {
+        return quotedKeys[index];
+    }
+
+    /**
+     * Append the present entries as "key=value", separated by the given
+     * separator. Keys without a value are skipped.
+     */
+    void appendText(StringBuilder buf, MDCAdapter mdcAdapter, String separator) {
+        boolean first = true;
+        if (keys == null) {
+            Map<String, String> map = mdcAdapter.getReadOnlyContextMap();
+            if (map == null || map.isEmpty()) {
+                return;
+            }
+            for (Map.Entry<String, String> entry : map.entrySet()) {
+                if (!first) buf.append(separator);
+                buf.append(entry.getKey()).append('=').append(entry.getValue());
+                first = false;
+            }
+            return;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            String value = mdcAdapter.get(keys[i]);
+            if (value != null) {
+                if (!first) buf.append(separator);
+                buf.append(textPrefixes[i]).append(value);
+                first = false;
+            }
+        }
+    }
+}
@@ -33,14 +33,19 @@ class OutputChoice {
         CACHED_SYS_OUT,
         SYS_ERR,
         CACHED_SYS_ERR,
-        FILE;
+        FILE,
+        MAPPED_FILE,
+        ROLLING_FILE;
     }
 
     final OutputChoiceType outputChoiceType;
     final PrintStream targetPrintStream;
+    final LineOutput lineOutput;
 
     OutputChoice(OutputChoiceType outputChoiceType) {
-        if (outputChoiceType == OutputChoiceType.FILE) {
+        if (outputChoiceType == OutputChoiceType.FILE
+                || outputChoiceType == OutputChoiceType.MAPPED_FILE
+                || outputChoiceType == OutputChoiceType.ROLLING_FILE) {
             throw new IllegalArgumentException();
         }
         this.outputChoiceType = outputChoiceType;
@@ -51,11 +56,27 @@ class OutputChoice {
         } else {
             this.targetPrintStream = null;
         }
+        this.lineOutput = null;
     }
 
     OutputChoice(PrintStream printStream) {
         this.outputChoiceType = OutputChoiceType.FILE;
         this.targetPrintStream = printStream;
+        this.lineOutput = null;
+    }
+
+    OutputChoice(OutputChoiceType outputChoiceType, LineOutput lineOutput) {
+        this.outputChoiceType = outputChoiceType;
+        this.targetPrintStream = null;
+        this.lineOutput = lineOutput;
+    }
+
+    /**
+     * Returns the output which encodes lines itself, null if the target is a
+     * {@link PrintStream}.
+     */
+    LineOutput getLineOutput() {
+        return lineOutput;
     }
 
     PrintStream getTargetPrintStream() {
@@ -67,6 +88,8 @@ class OutputChoice {
             case CACHED_SYS_ERR:
             case CACHED_SYS_OUT:
             case FILE:
+            case MAPPED_FILE:
+            case ROLLING_FILE:
                 return targetPrintStream;
             default:
                 throw new IllegalArgumentException();
@@ -0,0 +1,806 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.MDCKey;
+import org.slf4j.Marker;
+import org.slf4j.event.DefaultLoggingEvent;
+import org.slf4j.event.KeyValuePair;
+import org.slf4j.event.Level;
+import org.slf4j.event.LoggingEvent;
+import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * A line layout compiled once into an array of converters, each of which
+ * renders one element of an event straight into the line buffer. Elements the
+ * layout does not reference cost nothing per event.
+ *
+ * <p>The layout is split at the message: {@link #appendHead} renders the
+ * converters preceding it, the caller then formats the message, and
+ * {@link #appendTail} renders the remaining ones. The line separator and the
+ * stack trace of a throwable always follow the line.
+ *
+ * <p>Patterns use the conversion words of logback, see
+ * {@link SimpleLogger#LAYOUT_KEY}. Without a pattern the layout is compiled
+ * from the display options, see {@link #fromOptions(SimpleLoggerConfiguration)}.
+ */
+final class PatternLayout {
+
+    static final String ISO8601_PATTERN = "yyyy-MM-dd HH:mm:ss,SSS";
+
+    /**
+     * Renders one element of an event. The event is null unless logged through
+     * the fluent API.
+     */
+    abstract static class Converter {
+        abstract void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event);
+    }
+
+    private final Converter[] head;
+    private final Converter[] tail;
+    // null if the pattern has no message
+    private final Padding message;
+
+    private PatternLayout(Converter[] head, Padding message, Converter[] tail) {
+        this.head = head;
+        this.message = message;
+        this.tail = tail;
+    }
+
+    /**
+     * Append everything preceding the message.
+     *
+     * @return the index at which the message starts
+     */
+    int appendHead(
+            StringBuilder buf,
+            SimpleLogger logger,
+            ThreadBuffers buffers,
+            Level level,
+            Marker marker,
+            List<Marker> markers,
+            LoggingEvent event) {
+        for (Converter converter : head) {
+            converter.append(buf, logger, buffers, level, marker, markers, event);
+        }
+        return buf.length();
+    }
+
+    /**
+     * Append everything following the message.
+     *
+     * @param messageStart as returned by {@link #appendHead}
+     */
+    void appendTail(
+            StringBuilder buf,
+            int messageStart,
+            SimpleLogger logger,
+            ThreadBuffers buffers,
+            Level level,
+            Marker marker,
+            List<Marker> markers,
+            LoggingEvent event) {
+        if (message == null) {
+            buf.setLength(messageStart);
+        } else {
+            message.apply(buf, messageStart);
+        }
+        for (Converter converter : tail) {
+            converter.append(buf, logger, buffers, level, marker, markers, event);
+        }
+    }
+
+    /**
+     * The layout the display options ("showDateTime", "showThreadName" and so
+     * on) amount to, rendering exactly what SimpleLogger always rendered.
+     */
+    static PatternLayout fromOptions(SimpleLoggerConfiguration config) {
+        List<Converter> head = new ArrayList<>();
+        if (config.showDateTime) {
+            head.add(
+                    config.dateFormatter != null
+                            ? new DateConverter(config.dateFormatter)
+                            : new RelativeTimeConverter());
+            head.add(new LiteralConverter(" "));
+        }
+        if (config.showThreadName || config.showThreadId) {
+            head.add(new ThreadHeaderConverter(config.showThreadName, config.showThreadId));
+        }
+        head.add(new LevelFragmentConverter());
+        head.add(new SpacedMarkersConverter());
+        if (config.mdcSelection != null) {
+            head.add(new SpacedMdcConverter(config.mdcSelection));
+        }
+        head.add(new SpacedKeyValuesConverter());
+        return new PatternLayout(head.toArray(new Converter[0]), Padding.NONE, new Converter[0]);
+    }
+
+    /**
+     * Compile a pattern such as
+     * <code>%d{ISO8601} [%t] %-5level %logger{20} - %msg %kv %mdc{requestId}%n</code>.
+     *
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    static PatternLayout compile(String pattern) {
+        List<Converter> converters = new ArrayList<>();
+        Converter[] head = null;
+        Padding message = null;
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        int length = pattern.length();
+        while (i < length) {
+            char c = pattern.charAt(i++);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (i < length && pattern.charAt(i) == '%') {
+                literal.append('%');
+                i++;
+                continue;
+            }
+
+            // format modifier, [-]min[.[-]max]
+            boolean leftAlign = false;
+            int min = 0;
+            int max = Integer.MAX_VALUE;
+            boolean truncateEnd = false;
+            if (i < length && pattern.charAt(i) == '-') {
+                leftAlign = true;
+                i++;
+            }
+            int start = i;
+            while (i < length && isDigit(pattern.charAt(i))) i++;
+            if (i > start) min = Integer.parseInt(pattern.substring(start, i));
+            if (i < length && pattern.charAt(i) == '.') {
+                i++;
+                if (i < length && pattern.charAt(i) == '-') {
+                    truncateEnd = true;
+                    i++;
+                }
+                start = i;
+                while (i < length && isDigit(pattern.charAt(i))) i++;
+                if (i == start) {
+                    throw new IllegalArgumentException("Missing maximum width at index " + start);
+                }
+                max = Integer.parseInt(pattern.substring(start, i));
+            }
+
+            // conversion word and option
+            start = i;
+            while (i < length && Character.isLetter(pattern.charAt(i))) i++;
+            String word = pattern.substring(start, i);
+            if (word.isEmpty()) {
+                throw new IllegalArgumentException("Missing conversion word at index " + start);
+            }
+            String option = null;
+            if (i < length && pattern.charAt(i) == '{') {
+                int end = pattern.indexOf('}', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed option at index " + i);
+                }
+                option = pattern.substring(i + 1, end);
+                i = end + 1;
+            }
+
+            if ("n".equals(word)) {
+                // the line separator ending the pattern is the one every line ends with
+                if (i < length) literal.append(SimpleLogger.LINE_SEPARATOR);
+                continue;
+            }
+            if (literal.length() > 0) {
+                converters.add(new LiteralConverter(literal.toString()));
+                literal.setLength(0);
+            }
+            Padding padding = new Padding(leftAlign, min, max, truncateEnd);
+            if ("m".equals(word) || "msg".equals(word) || "message".equals(word)) {
+                if (message != null) {
+                    throw new IllegalArgumentException("The message may only be used once");
+                }
+                head = converters.toArray(new Converter[0]);
+                converters.clear();
+                message = padding;
+                continue;
+            }
+            Converter converter = createConverter(word, option);
+            converters.add(padding.isNone() ? converter : new PaddedConverter(converter, padding));
+        }
+        if (literal.length() > 0) {
+            converters.add(new LiteralConverter(literal.toString()));
+        }
+        Converter[] rest = converters.toArray(new Converter[0]);
+        if (head == null) {
+            return new PatternLayout(rest, null, new Converter[0]);
+        }
+        return new PatternLayout(head, message, rest);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static Converter createConverter(String word, String option) {
+        switch (word) {
+            case "d":
+            case "date":
+                String datePattern = option == null || "ISO8601".equals(option) ? ISO8601_PATTERN : option;
+                try {
+                    return new DateConverter(new CachedDateTimeFormatter(datePattern));
+                } catch (DateTimeException e) {
+                    throw new IllegalArgumentException("Bad date format [" + datePattern + "]", e);
+                }
+            case "r":
+            case "relative":
+                return new RelativeTimeConverter();
+            case "t":
+            case "thread":
+                return new ThreadNameConverter();
+            case "tid":
+                return new ThreadIdConverter();
+            case "p":
+            case "le":
+            case "level":
+                return new LevelConverter();
+            case "c":
+            case "lo":
+            case "logger":
+                return new LoggerConverter(option == null ? -1 : parseLength(option));
+            case "kv":
+                return new KeyValuesConverter();
+            case "X":
+            case "mdc":
+                if (option == null || option.trim().isEmpty()) {
+                    return new MdcConverter(MdcSelection.ALL);
+                }
+                if (option.indexOf(',') >= 0) {
+                    return new MdcConverter(MdcSelection.parse(option));
+                }
+                return new MdcValueConverter(option.trim());
+            case "marker":
+                return new MarkersConverter();
+            default:
+                throw new IllegalArgumentException("Unknown conversion word [" + word + "]");
+        }
+    }
+
+    private static int parseLength(String option) {
+        try {
+            return Integer.parseInt(option.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad logger length [" + option + "]", e);
+        }
+    }
+
+    /**
+     * Pads to a minimum width and truncates to a maximum one, from the start
+     * unless the maximum is negative, like logback does.
+     */
+    static final class Padding {
+
+        static final Padding NONE = new Padding(false, 0, Integer.MAX_VALUE, false);
+
+        private final boolean leftAlign;
+        private final int min;
+        private final int max;
+        private final boolean truncateEnd;
+
+        Padding(boolean leftAlign, int min, int max, boolean truncateEnd) {
+            this.leftAlign = leftAlign;
+            this.min = min;
+            this.max = max;
+            this.truncateEnd = truncateEnd;
+        }
+
+        boolean isNone() {
+            return min == 0 && max == Integer.MAX_VALUE;
+        }
+
+        /**
+         * Pad or truncate what was appended since {@code start}.
+         */
+        void apply(StringBuilder buf, int start) {
+            int length = buf.length() - start;
+            if (length > max) {
+                if (truncateEnd) {
+                    buf.setLength(start + max);
+                } else {
+                    buf.delete(start, start + length - max);
+                }
+            } else if (length < min) {
+                int pad = min - length;
+                buf.setLength(start + min);
+                if (leftAlign) {
+                    for (int i = start + length; i < start + min; i++) {
+                        buf.setCharAt(i, ' ');
+                    }
+                } else {
+                    // shift right, then fill the gap
+                    for (int i = length - 1; i >= 0; i--) {
+                        buf.setCharAt(start + pad + i, buf.charAt(start + i));
+                    }
+                    for (int i = start; i < start + pad; i++) {
+                        buf.setCharAt(i, ' ');
+                    }
+                }
+            }
+        }
+    }
+
+    static final class PaddedConverter extends Converter {
+        private final Converter converter;
+        private final Padding padding;
+
+        PaddedConverter(Converter converter, Padding padding) {
+            this.converter = converter;
+            this.padding = padding;
+        }
+
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            int start = buf.length();
+            converter.append(buf, logger, buffers, level, marker, markers, event);
+            padding.apply(buf, start);
+        }
+    }
+
+    static final class LiteralConverter extends Converter {
+        private final String text;
+
+        LiteralConverter(String text) {
+            this.text = text;
+        }
+
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            buf.append(text);
+        }
+    }
+
+    static final class DateConverter extends Converter {
+        private final CachedDateTimeFormatter formatter;
+
+        DateConverter(CachedDateTimeFormatter formatter) {
+            this.formatter = formatter;
+        }
+
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            formatter.appendTo(buf, System.currentTimeMillis());
+        }
+    }
+
+    static final class RelativeTimeConverter extends Converter {
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            buf.append(System.currentTimeMillis() - SimpleLogger.START_TIME);
+        }
+    }
+
+    static final class ThreadNameConverter extends Converter {
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            buf.append(Thread.currentThread().getName());
+        }
+    }
+
+    static final class ThreadIdConverter extends Converter {
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            buf.append(Thread.currentThread().getId());
+        }
+    }
+
+    /**
+     * "[name] tid=id ", as the display options have it.
+     */
+    static final class ThreadHeaderConverter extends Converter {
+        private final boolean showThreadName;
+        private final boolean showThreadId;
+
+        ThreadHeaderConverter(boolean showThreadName, boolean showThreadId) {
+            this.showThreadName = showThreadName;
+            this.showThreadId = showThreadId;
+        }
+
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            buf.append(buffers.threadHeader(showThreadName, showThreadId));
+        }
+    }
+
+    static final class LevelConverter extends Converter {
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            buf.append(level.name());
+        }
+    }
+
+    /**
+     * Level and logger name followed by " - ", as the display options have it.
+     */
+    static final class LevelFragmentConverter extends Converter {
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            buf.append(logger.levelFragment(level));
+        }
+    }
+
+    /**
+     * The logger name, abbreviated like logback does: leading package segments
+     * are cut to their first letter until the name fits, the last segment is
+     * kept whole. A length of 0 keeps the last segment only.
+     */
+    static final class LoggerConverter extends Converter {
+        private final int length;
+        // abbreviations by logger name
+        private final ConcurrentMap<String, String> abbreviations = new ConcurrentHashMap<>();
+
+        LoggerConverter(int length) {
+            this.length = length;
+        }
+
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            String name = logger.getName();
+            if (length < 0 || (length > 0 && name.length() <= length)) {
+                buf.append(name);
+                return;
+            }
+            String abbreviation = abbreviations.get(name);
+            if (abbreviation == null) {
+                abbreviation = abbreviate(name, length);
+                abbreviations.putIfAbsent(name, abbreviation);
+            }
+            buf.append(abbreviation);
+        }
+
+        static String abbreviate(String name, int length) {
+            if (length == 0) {
+                return name.substring(name.lastIndexOf('.') + 1);
+            }
+            StringBuilder abbreviation = new StringBuilder(name.length());
+            int excess = name.length() - length;
+            int start = 0;
+            int dot;
+            while ((dot = name.indexOf('.', start)) >= 0) {
+                if (excess > 0 && dot - start > 1) {
+                    abbreviation.append(name.charAt(start));
+                    excess -= dot - start - 1;
+                } else {
+                    abbreviation.append(name, start, dot);
+                }
+                abbreviation.append('.');
+                start = dot + 1;
+            }
+            return abbreviation.append(name, start, name.length()).toString();
+        }
+    }
+
+    /**
+     * The marker names separated by a space.
+     */
+    static final class MarkersConverter extends Converter {
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            if (marker != null) {
+                buf.append(marker.getName());
+            } else if (markers != null) {
+                // indexed, the markers of a DefaultLoggingEvent are an array backed view
+                for (int i = 0, n = markers.size(); i < n; i++) {
+                    if (i > 0) buf.append(SimpleLogger.SP);
+                    buf.append(markers.get(i).getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * The marker names surrounded by spaces, as the display options have it.
+     */
+    static final class SpacedMarkersConverter extends Converter {
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            if (marker != null) {
+                buf.append(SimpleLogger.SP).append(marker.getName()).append(SimpleLogger.SP);
+            } else if (markers != null) {
+                buf.append(SimpleLogger.SP);
+                for (int i = 0, n = markers.size(); i < n; i++) {
+                    buf.append(markers.get(i).getName()).append(SimpleLogger.SP);
+                }
+            }
+        }
+    }
+
+    /**
+     * The key-value pairs of the event as "key=value", separated by a space.
+     */
+    static final class KeyValuesConverter extends Converter {
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            if (event != null) {
+                appendKeyValuePairs(buf, event, buffers.valueHolder(), false);
+            }
+        }
+    }
+
+    /**
+     * The key-value pairs of the event each followed by a space, as the
+     * display options have it.
+     */
+    static final class SpacedKeyValuesConverter extends Converter {
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            if (event != null) {
+                appendKeyValuePairs(buf, event, buffers.valueHolder(), true);
+            }
+        }
+    }
+
+    private static void appendKeyValuePairs(
+            StringBuilder buf, LoggingEvent event, Object[] holder, boolean trailingSpace) {
+        if (event instanceof DefaultLoggingEvent) {
+            // primitive values are appended without boxing
+            DefaultLoggingEvent dle = (DefaultLoggingEvent) event;
+            for (int i = 0, n = dle.getKeyValueCount(); i < n; i++) {
+                if (i > 0 && !trailingSpace) buf.append(SimpleLogger.SP);
+                buf.append(dle.getKey(i)).append('=');
+                switch (dle.getValueType(i)) {
+                    case DefaultLoggingEvent.LONG_VALUE:
+                        buf.append(dle.getLongValue(i));
+                        break;
+                    case DefaultLoggingEvent.DOUBLE_VALUE:
+                        buf.append(dle.getDoubleValue(i));
+                        break;
+                    case DefaultLoggingEvent.FLOAT_VALUE:
+                        buf.append(dle.getFloatValue(i));
+                        break;
+                    case DefaultLoggingEvent.BOOLEAN_VALUE:
+                        buf.append(dle.getBooleanValue(i));
+                        break;
+                    case DefaultLoggingEvent.CHAR_VALUE:
+                        buf.append(dle.getCharValue(i));
+                        break;
+                    default:
+                        appendValue(buf, dle.getObjectValue(i), holder);
+                }
+                if (trailingSpace) buf.append(SimpleLogger.SP);
+            }
+            return;
+        }
+        List<KeyValuePair> keyValuePairs = event.getKeyValuePairs();
+        if (keyValuePairs != null) {
+            for (int i = 0, n = keyValuePairs.size(); i < n; i++) {
+                KeyValuePair kvp = keyValuePairs.get(i);
+                if (i > 0 && !trailingSpace) buf.append(SimpleLogger.SP);
+                buf.append(kvp.key).append('=');
+                appendValue(buf, kvp.value, holder);
+                if (trailingSpace) buf.append(SimpleLogger.SP);
+            }
+        }
+    }
+
+    // formatted as a message argument, thus with renderers and limits applied,
+    // as JsonEncoder does
+    private static void appendValue(StringBuilder buf, Object value, Object[] holder) {
+        holder[0] = value;
+        try {
+            MessageFormatter.basicArrayFormat(buf, "{}", holder, 1, SimpleLogger.CONFIG_PARAMS.formattingLimits);
+        } finally {
+            holder[0] = null;
+        }
+    }
+
+    /**
+     * The selected MDC entries as "key=value" pairs separated by ", ".
+     */
+    static final class MdcConverter extends Converter {
+        private final MdcSelection selection;
+
+        MdcConverter(MdcSelection selection) {
+            this.selection = selection;
+        }
+
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            MDCAdapter mdcAdapter = SimpleLogger.CONFIG_PARAMS.mdcAdapter;
+            if (mdcAdapter != null && selection != null) {
+                selection.appendText(buf, mdcAdapter, ", ");
+            }
+        }
+    }
+
+    /**
+     * The selected MDC entries each followed by a space, see
+     * {@link SimpleLogger#MDC_KEYS_KEY}.
+     */
+    static final class SpacedMdcConverter extends Converter {
+        private final MdcSelection selection;
+
+        SpacedMdcConverter(MdcSelection selection) {
+            this.selection = selection;
+        }
+
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            MDCAdapter mdcAdapter = SimpleLogger.CONFIG_PARAMS.mdcAdapter;
+            if (mdcAdapter != null) {
+                int start = buf.length();
+                selection.appendText(buf, mdcAdapter, " ");
+                if (buf.length() > start) {
+                    buf.append(SimpleLogger.SP);
+                }
+            }
+        }
+    }
+
+    /**
+     * The MDC value of one key, nothing if not set.
+     */
+    static final class MdcValueConverter extends Converter {
+        private final MDCKey key;
+
+        MdcValueConverter(String key) {
+            this.key = MDCKey.register(key);
+        }
+
+        @Override
+        void append(
+                StringBuilder buf,
+                SimpleLogger logger,
+                ThreadBuffers buffers,
+                Level level,
+                Marker marker,
+                List<Marker> markers,
+                LoggingEvent event) {
+            MDCAdapter mdcAdapter = SimpleLogger.CONFIG_PARAMS.mdcAdapter;
+            if (mdcAdapter != null) {
+                String value = mdcAdapter.get(key);
+                if (value != null) {
+                    buf.append(value);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+import org.slf4j.event.LoggingEvent;
+import org.slf4j.spi.DefaultLoggingEventBuilder;
+
+/**
+ * A {@link DefaultLoggingEventBuilder} reused by the thread owning it, see
+ * {@link ThreadBuffers#acquireEventBuilder(Logger, Level)}. It is in use from
+ * the {@code atXxx()} call handing it out until it is logged, a builder
+ * requested meanwhile, e.g. while computing an argument that logs itself, is
+ * a new one which the thread keeps instead. Thus a builder which is never
+ * logged is dropped by the next {@code atXxx()} call of the thread and keeps
+ * its arguments reachable no longer.
+ *
+ * <p>Reuse is safe as {@link SimpleLogger} renders events synchronously and
+ * does not retain them, and as builders must not be kept, see
+ * {@link org.slf4j.spi.LoggingEventBuilder}.
+ */
+final class ReusableLoggingEventBuilder extends DefaultLoggingEventBuilder {
+
+    private boolean inUse;
+
+    ReusableLoggingEventBuilder() {
+        super(null, null);
+    }
+
+    boolean isInUse() {
+        return inUse;
+    }
+
+    void acquire(Logger logger, Level level) {
+        this.logger = logger;
+        loggingEvent.reset(level, logger);
+        inUse = true;
+    }
+
+    @Override
+    protected void log(LoggingEvent aLoggingEvent) {
+        if (aLoggingEvent != loggingEvent) {
+            super.log(aLoggingEvent);
+            return;
+        }
+        if (logger == null) {
+            // logged twice, or kept beyond its statement
+            return;
+        }
+        try {
+            super.log(aLoggingEvent);
+        } finally {
+            // drop the references to the arguments right away
+            loggingEvent.reset(null, null);
+            logger = null;
+            inUse = false;
+        }
+    }
+}
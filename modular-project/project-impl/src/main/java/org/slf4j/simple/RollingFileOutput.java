@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.helpers.Util;
+
+/**
+ * A {@link FileChannelOutput} which rolls the log file over when it exceeds a
+ * maximum size and/or when the day changes.
+ *
+ * <p>The current file is renamed to <code>&lt;file&gt;.&lt;yyyy-MM-dd&gt;.&lt;index&gt;</code>
+ * and a new file is opened in its place. Only the rename and the re-open happen
+ * on the logging thread; the rolled files are looked up once, when the output
+ * is opened, and compressing the rolled file with gzip and deleting rolled
+ * files beyond the retained count happen on a background thread. If the rename
+ * fails, writing goes on to the current file and the rollover is retried a
+ * minute later.
+ */
+final class RollingFileOutput extends FileChannelOutput {
+
+    private static final String GZ_SUFFIX = ".gz";
+
+    private static final long RETRY_DELAY_MILLIS = 60_000;
+
+    private static final ExecutorService BACKGROUND = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "SimpleLogger-rolling");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long maxFileSize;
+    private final boolean daily;
+    private final int maxHistory;
+    private final boolean compress;
+    private final ZoneId zone = ZoneId.systemDefault();
+    // <file>.<yyyy-MM-dd>.<index>[.gz]
+    private final Pattern rolledFileName;
+
+    private long size;
+    private LocalDate periodDate;
+    private long nextPeriodMillis;
+    private int nextIndex;
+    // no rollover before, 0 unless the last one failed
+    private long retryMillis;
+
+    /**
+     * @param maxFileSize roll over once the file reaches this size, 0 to disable
+     * @param daily roll over when the day changes
+     * @param maxHistory the number of rolled files to retain, 0 to retain all
+     * @param compress compress rolled files with gzip
+     */
+    RollingFileOutput(Path path, long maxFileSize, boolean daily, int maxHistory, boolean compress) throws IOException {
+        super(path);
+        this.maxFileSize = maxFileSize;
+        this.daily = daily;
+        this.maxHistory = maxHistory;
+        this.compress = compress;
+        this.rolledFileName = Pattern.compile(
+                Pattern.quote(path.getFileName().toString()) + "\\.(\\d{4}-\\d{2}-\\d{2})\\.(\\d+)(\\.gz)?");
+        this.size = channel.size();
+
+        LocalDate today = LocalDate.now(zone);
+        if (size > 0) {
+            // an existing file belongs to the day it was last written to
+            LocalDate lastModified =
+                    LocalDate.ofInstant(Files.getLastModifiedTime(path).toInstant(), zone);
+            startPeriod(lastModified.isBefore(today) ? lastModified : today);
+        } else {
+            startPeriod(today);
+        }
+        nextIndex = findNextIndex();
+    }
+
+    private void startPeriod(LocalDate date) {
+        periodDate = date;
+        nextIndex = 1;
+        nextPeriodMillis = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    @Override
+    void encode(CharSequence text) throws IOException {
+        if (isTriggered()) {
+            rollover();
+        }
+        super.encode(text);
+    }
+
+    @Override
+    void drain() throws IOException {
+        int pending = buffer.position();
+        super.drain();
+        size += pending;
+    }
+
+    private boolean isTriggered() {
+        boolean triggered = (maxFileSize > 0 && size + buffer.position() >= maxFileSize)
+                || (daily && System.currentTimeMillis() >= nextPeriodMillis);
+        return triggered && (retryMillis == 0 || System.currentTimeMillis() >= retryMillis);
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    private void rollover() {
+        try {
+            syncPending();
+            if (!isTriggered()) {
+                // another thread rolled over while waiting for the sync
+                return;
+            }
+            drain();
+        } catch (IOException e) {
+            reportError(e);
+        }
+
+        boolean rolledOver = false;
+        try {
+            channel.close();
+
+            Path rolled = nextRolledPath();
+            Files.move(path, rolled);
+            rolledOver = true;
+            BACKGROUND.execute(() -> compressAndCleanUp(rolled));
+        } catch (IOException e) {
+            Util.report("Failed to roll over [" + path + "], retrying in a minute", e);
+        }
+
+        try {
+            channel = open(path);
+            size = channel.size();
+        } catch (IOException e) {
+            reportError(e);
+        }
+        if (rolledOver) {
+            retryMillis = 0;
+            LocalDate today = LocalDate.now(zone);
+            if (!today.equals(periodDate)) {
+                startPeriod(today);
+            }
+        } else {
+            retryMillis = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+        }
+    }
+
+    /**
+     * The rolled files of the period are not listed, the index is only
+     * skipped while a file with it exists, e.g. if another process rolled
+     * over the same file.
+     */
+    private Path nextRolledPath() throws IOException {
+        String prefix = path.getFileName() + "." + periodDate + ".";
+        for (int attempts = 0; attempts < 100; attempts++) {
+            Path rolled = path.resolveSibling(prefix + nextIndex++);
+            if (!Files.exists(rolled) && !Files.exists(rolled.resolveSibling(rolled.getFileName() + GZ_SUFFIX))) {
+                return rolled;
+            }
+        }
+        throw new FileAlreadyExistsException(prefix + nextIndex);
+    }
+
+    /**
+     * @return the index after the highest one of the rolled files of the
+     *         period, lower ones may have been deleted already
+     */
+    private int findNextIndex() {
+        String prefix = path.getFileName() + "." + periodDate + ".";
+        int index = 1;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(parentDir(), prefix + "*")) {
+            for (Path rolled : stream) {
+                String name = rolled.getFileName().toString();
+                if (rolledFileName.matcher(name).matches()) {
+                    if (name.endsWith(GZ_SUFFIX)) {
+                        name = name.substring(0, name.length() - GZ_SUFFIX.length());
+                    }
+                    try {
+                        index = Math.max(index, Integer.parseInt(name.substring(prefix.length())) + 1);
+                    } catch (NumberFormatException e) {
+                        // too many digits
+                    }
+                }
+            }
+        } catch (IOException e) {
+            Util.report("Failed to list rolled files of [" + path + "]", e);
+        }
+        return index;
+    }
+
+    private Path parentDir() {
+        return path.toAbsolutePath().getParent();
+    }
+
+    private void compressAndCleanUp(Path rolled) {
+        if (compress) {
+            Path compressed = rolled.resolveSibling(rolled.getFileName() + GZ_SUFFIX);
+            try {
+                FileTime lastModified = Files.getLastModifiedTime(rolled);
+                try (InputStream in = Files.newInputStream(rolled);
+                        OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+                    in.transferTo(out);
+                }
+                Files.setLastModifiedTime(compressed, lastModified);
+                Files.delete(rolled);
+            } catch (IOException e) {
+                Util.report("Failed to compress [" + rolled + "]", e);
+            }
+        }
+        if (maxHistory > 0) {
+            deleteExpired();
+        }
+    }
+
+    private void deleteExpired() {
+        List<Path> rolledFiles = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(
+                parentDir(),
+                p -> rolledFileName.matcher(p.getFileName().toString()).matches())) {
+            stream.forEach(rolledFiles::add);
+        } catch (IOException e) {
+            Util.report("Failed to list rolled files of [" + path + "]", e);
+            return;
+        }
+        if (rolledFiles.size() <= maxHistory) {
+            return;
+        }
+        // newest first, by date and index rather than by modification time
+        // as files rolled within the same second are not told apart by it
+        rolledFiles.sort(Comparator.comparing(this::rolledOrder).reversed());
+        for (Path expired : rolledFiles.subList(maxHistory, rolledFiles.size())) {
+            try {
+                Files.deleteIfExists(expired);
+            } catch (IOException e) {
+                Util.report("Failed to delete [" + expired + "]", e);
+            }
+        }
+    }
+
+    // the date then the index, zero padded to compare as text
+    private String rolledOrder(Path rolled) {
+        Matcher matcher = rolledFileName.matcher(rolled.getFileName().toString());
+        matcher.matches();
+        String index = matcher.group(2);
+        return matcher.group(1) + "0000000000".substring(Math.min(10, index.length())) + index;
+    }
+}
@@ -19,18 +19,21 @@
 package org.slf4j.simple;
 
 import java.io.PrintStream;
-import java.util.ArrayList;
-import java.util.Date;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.Marker;
+import org.slf4j.event.DefaultLoggingEvent;
 import org.slf4j.event.Level;
 import org.slf4j.event.LoggingEvent;
 import org.slf4j.helpers.LegacyAbstractLogger;
 import org.slf4j.helpers.MessageFormatter;
-import org.slf4j.helpers.NormalizedParameters;
 import org.slf4j.spi.LocationAwareLogger;
+import org.slf4j.spi.LoggingEventAware;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.slf4j.spi.MDCAdapter;
 
 /**
  * <p>
@@ -42,7 +45,36 @@ import org.slf4j.spi.LocationAwareLogger;
  * <ul>
  * <li><code>org.slf4j.simpleLogger.logFile</code> - The output target which can
  * be the <em>path</em> to a file, or the special values "System.out" and
- * "System.err". Default is "System.err".</li>
+ * "System.err". Default is "System.err". Files are written in UTF-8 and
+ * appended to if they already exist.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.mappedFileSize</code> - If set, the log file
+ * is a preallocated memory-mapped file of this size in bytes (the KB, MB and GB
+ * units are supported) used as a circular buffer: the oldest lines are
+ * overwritten once it is full. Use {@link MappedRingFileReader} to read it.
+ * Not set by default.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.rollingMaxFileSize</code> - If set, the log
+ * file is rolled over once it reaches this size in bytes (the KB, MB and GB units
+ * are supported). The rolled file is renamed to
+ * <code>&lt;logFile&gt;.&lt;yyyy-MM-dd&gt;.&lt;index&gt;</code>. Not set by
+ * default.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.rollingDaily</code> - Set to true to roll the
+ * log file over when the day changes. Defaults to false.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.rollingMaxHistory</code> - The number of rolled
+ * files to retain, older ones are deleted. Set to 0 to retain all of them. Defaults
+ * to 7.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.rollingCompress</code> - Set to true to
+ * compress rolled files with gzip in the background. Defaults to false.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.directAppend</code> - Set to true to write
+ * each event, including its stack trace, to the log file with a single append
+ * issued by the logging thread itself, without buffering and without taking any
+ * lock. Lines never interleave and are written when the logging call returns.
+ * Ignored for rolling and memory-mapped log files. Defaults to false.</li>
  *
  * <li><code>org.slf4j.simpleLogger.cacheOutputStream</code> - If the output
  * target is set to "System.out" or "System.err" (see preceding entry), by
@@ -71,8 +103,11 @@ import org.slf4j.spi.LocationAwareLogger;
  * <li><code>org.slf4j.simpleLogger.dateTimeFormat</code> - The date and time
  * format to be used in the output messages. The pattern describing the date and
  * time format is defined by <a href=
- * "http://docs.oracle.com/javase/1.5.0/docs/api/java/text/SimpleDateFormat.html">
- * <code>SimpleDateFormat</code></a>. If the format is not specified or is
+ * "https://docs.oracle.com/javase/11/docs/api/java/text/SimpleDateFormat.html">
+ * <code>SimpleDateFormat</code></a>. It is rendered with a
+ * <code>DateTimeFormatter</code>, the letters "u" (day number of week), "S"
+ * (milliseconds) and "F" (day of week in month) keep their SimpleDateFormat
+ * meaning. If the format is not specified or is
  * invalid, the number of milliseconds since start up will be output.</li>
  *
  * <li><code>org.slf4j.simpleLogger.showThreadName</code> -Set to
@@ -97,6 +132,106 @@ import org.slf4j.spi.LocationAwareLogger;
  * <li><code>org.slf4j.simpleLogger.warnLevelString</code> - The string value
  * output for the warn level. Defaults to <code>WARN</code>.</li>
  *
+ * <li><code>org.slf4j.simpleLogger.async</code> - Set to <code>true</code> to
+ * hand rendered lines to a background writer thread instead of writing them on
+ * the calling thread. Defaults to <code>false</code>.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.asyncBufferSize</code> - The number of lines
+ * the async ring buffer can hold, rounded up to a power of two. Defaults to
+ * <code>8192</code>.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.asyncFullPolicy</code> - What to do when the
+ * async ring buffer is full. Must be one of ("block", "drop" or "dropBelowWarn").
+ * Defaults to "block".</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.flushPolicy</code> - When to flush the output.
+ * Must be one of "always", "level:&lt;LEVEL&gt;" (flush after events at or above
+ * the level, e.g. "level:WARN"), "count:&lt;n&gt;" (flush after every n-th event)
+ * or "interval:&lt;ms&gt;" (flush from a timer every ms milliseconds). Buffered
+ * output is always flushed on JVM shutdown. The async writer ignores this
+ * setting and flushes once per batch. Defaults to "always".</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.durableLevel</code> - Events at or above this
+ * level ("trace", "debug", "info", "warn" or "error") are durable: the logging
+ * call returns once the line was forced to disk. Concurrent durable events are
+ * forced together (group commit), see {@link #getDurableWriteLatency()}. Applies
+ * to the "logFile" output, a memory-mapped file is not forced and the console
+ * is merely flushed. With "async" set, durable events bypass the async writer
+ * and may overtake lines still queued. Not set by default.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.durableMarker</code> - Events carrying a
+ * marker of this name are durable as well. Not set by default.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.durableBatchWindow</code> - How many
+ * microseconds the group commit leader waits for more durable events before
+ * forcing the batch to disk. Defaults to 0.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.format</code> - Set to "json" to write
+ * each event as a JSON object on a line of its own (JSON Lines), with the
+ * fields "timestamp" (milliseconds since the epoch), "level", "logger",
+ * "thread", "message", and as far as present "arguments", "markers",
+ * "keyValuePairs", "mdc" and "throwable". The date-time, thread and logger name
+ * display options do not apply. Defaults to "text".</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.layout</code> - The layout of text lines as
+ * a pattern of logback conversion words, for instance
+ * <code>%d{ISO8601} [%t] %-5level %logger{20} - %msg %kv %mdc{requestId}%n</code>.
+ * Supported are <code>%d{pattern}</code> (a <code>SimpleDateFormat</code>
+ * pattern as for "dateTimeFormat" or "ISO8601", the default), <code>%r</code>, <code>%t</code>,
+ * <code>%tid</code>, <code>%level</code>, <code>%logger{length}</code>,
+ * <code>%msg</code>, <code>%kv</code>, <code>%mdc{key}</code> (the value of
+ * one key, "key=value" pairs for a comma separated list of keys, all entries
+ * without a key), <code>%marker</code>, <code>%n</code> and <code>%%</code>,
+ * each with an optional [-]min[.max] format modifier. The pattern is compiled
+ * once, elements it does not reference cost nothing. Each line ends with the
+ * line separator, followed by the stack trace of the throwable if any,
+ * whether or not the pattern ends with <code>%n</code>. The date-time, thread,
+ * level and logger name display options do not apply. Not set by default.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.mdcKeys</code> - A comma separated list of
+ * MDC keys, or "*" for all of them, whose values are rendered on each line as
+ * "key=value" pairs preceding the message. With the "json" format the "mdc"
+ * object is restricted to these keys. Values are read from the MDC without
+ * copying it, the listed keys are registered as by
+ * <code>MDC.registerKey()</code>. Not set by default, that is no MDC values in text lines and all
+ * of them in JSON lines.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.mdcAdapter</code> - The MDC implementation,
+ * "basic" for a hash map per thread, "persistent" for an immutable map per
+ * thread, see {@link org.slf4j.helpers.PersistentMDCAdapter}, which makes
+ * snapshots of the context and its inheritance by child threads cheap at the
+ * expense of updates, "scoped" for <code>ScopedValue</code> bindings made
+ * by <code>MDC.runWith()</code> on Java 25 and later, see
+ * {@link org.slf4j.helpers.ScopedValueMDCAdapter}, which behaves like
+ * "persistent" on earlier versions and in the fat artifact, as the latter
+ * carries no Java 25 classes, or "indexed" for an array
+ * per thread holding the values of keys registered by
+ * <code>MDC.registerKey()</code>, see {@link org.slf4j.helpers.IndexedMDCAdapter}.
+ * Defaults to "basic".</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.maxMessageLength</code> - The maximum length
+ * of a formatted message, and of the description of each throwable in a stack
+ * trace. Longer ones are cut and end with "...(message truncated)". Arguments
+ * beyond the cut are not rendered at all. Not limited by default.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.maxArrayElements</code> - The maximum number
+ * of elements rendered per array argument, further ones are replaced by
+ * "...(N more)". Not limited by default.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.maxArgumentLength</code> - The maximum number
+ * of characters of the <code>toString()</code> value rendered per argument,
+ * further ones are replaced by "...(N chars truncated)". The whole value is
+ * still computed, except for <code>CharSequence</code> arguments. Not limited
+ * by default.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.maxStackTraceDepth</code> - The maximum number
+ * of frames rendered per throwable of a stack trace. Not limited by default.</li>
+ *
+ * <li><code>org.slf4j.simpleLogger.maxCauses</code> - The maximum number of
+ * causes and suppressed exceptions rendered per stack trace. Not limited by
+ * default. Once any stack trace limit is set, stack traces are rendered by the
+ * logger rather than by <code>Throwable.printStackTrace()</code>.</li>
+ *
  * </ul>
  *
  * <p>
@@ -141,11 +276,11 @@ import org.slf4j.spi.LocationAwareLogger;
  * @author Robert Burrell Donkin
  * @author C&eacute;drik LIME
  */
-public class SimpleLogger extends LegacyAbstractLogger {
+public class SimpleLogger extends LegacyAbstractLogger implements LoggingEventAware {
 
     private static final long serialVersionUID = -632788891211436180L;
 
-    private static final long START_TIME = System.currentTimeMillis();
+    static final long START_TIME = System.currentTimeMillis();
 
     protected static final int LOG_LEVEL_TRACE = LocationAwareLogger.TRACE_INT;
     protected static final int LOG_LEVEL_DEBUG = LocationAwareLogger.DEBUG_INT;
@@ -155,6 +290,7 @@ public class SimpleLogger extends LegacyAbstractLogger {
 
     static char SP = ' ';
     static final String TID_PREFIX = "tid=";
+    static final String LINE_SEPARATOR = System.lineSeparator();
 
     // The OFF level can only be used in configuration files to disable logging.
     // It has
@@ -182,6 +318,10 @@ public class SimpleLogger extends LegacyAbstractLogger {
     protected int currentLogLevel = LOG_LEVEL_INFO;
     /** The short name of this simple log instance */
     private transient String shortLogName = null;
+    /** The level and logger name fragments of this instance, indexed by level ordinal */
+    private transient String[] levelFragments = null;
+    /** The name of this instance as a JSON string */
+    private transient String quotedName = null;
 
     /**
      * All system properties used by <code>SimpleLogger</code> start with this
@@ -213,6 +353,59 @@ public class SimpleLogger extends LegacyAbstractLogger {
 
     public static final String DEFAULT_LOG_LEVEL_KEY = SimpleLogger.SYSTEM_PREFIX + "defaultLogLevel";
 
+    public static final String MAPPED_FILE_SIZE_KEY = SimpleLogger.SYSTEM_PREFIX + "mappedFileSize";
+
+    public static final String ROLLING_MAX_FILE_SIZE_KEY = SimpleLogger.SYSTEM_PREFIX + "rollingMaxFileSize";
+
+    public static final String ROLLING_DAILY_KEY = SimpleLogger.SYSTEM_PREFIX + "rollingDaily";
+
+    public static final String ROLLING_MAX_HISTORY_KEY = SimpleLogger.SYSTEM_PREFIX + "rollingMaxHistory";
+
+    public static final String ROLLING_COMPRESS_KEY = SimpleLogger.SYSTEM_PREFIX + "rollingCompress";
+
+    public static final String DIRECT_APPEND_KEY = SimpleLogger.SYSTEM_PREFIX + "directAppend";
+
+    public static final String DURABLE_LEVEL_KEY = SimpleLogger.SYSTEM_PREFIX + "durableLevel";
+
+    public static final String DURABLE_MARKER_KEY = SimpleLogger.SYSTEM_PREFIX + "durableMarker";
+
+    public static final String DURABLE_BATCH_WINDOW_KEY = SimpleLogger.SYSTEM_PREFIX + "durableBatchWindow";
+
+    public static final String FORMAT_KEY = SimpleLogger.SYSTEM_PREFIX + "format";
+
+    public static final String LAYOUT_KEY = SimpleLogger.SYSTEM_PREFIX + "layout";
+
+    public static final String MDC_KEYS_KEY = SimpleLogger.SYSTEM_PREFIX + "mdcKeys";
+
+    public static final String MDC_ADAPTER_KEY = SimpleLogger.SYSTEM_PREFIX + "mdcAdapter";
+
+    public static final String MAX_MESSAGE_LENGTH_KEY = SimpleLogger.SYSTEM_PREFIX + "maxMessageLength";
+
+    public static final String MAX_ARRAY_ELEMENTS_KEY = SimpleLogger.SYSTEM_PREFIX + "maxArrayElements";
+
+    public static final String MAX_ARGUMENT_LENGTH_KEY = SimpleLogger.SYSTEM_PREFIX + "maxArgumentLength";
+
+    public static final String MAX_STACK_TRACE_DEPTH_KEY = SimpleLogger.SYSTEM_PREFIX + "maxStackTraceDepth";
+
+    public static final String MAX_CAUSES_KEY = SimpleLogger.SYSTEM_PREFIX + "maxCauses";
+
+    public static final String FLUSH_POLICY_KEY = SimpleLogger.SYSTEM_PREFIX + "flushPolicy";
+
+    public static final String ASYNC_KEY = SimpleLogger.SYSTEM_PREFIX + "async";
+
+    public static final String ASYNC_BUFFER_SIZE_KEY = SimpleLogger.SYSTEM_PREFIX + "asyncBufferSize";
+
+    public static final String ASYNC_FULL_POLICY_KEY = SimpleLogger.SYSTEM_PREFIX + "asyncFullPolicy";
+
+    /**
+     * Returns the latencies of durable logging calls, measured from handing the
+     * line over to the output until it was forced to disk. See the
+     * <code>org.slf4j.simpleLogger.durableLevel</code> property.
+     */
+    public static LatencyHistogram getDurableWriteLatency() {
+        return CONFIG_PARAMS.durableLatency;
+    }
+
     /**
      * Package access allows only {@link SimpleLoggerFactory} to instantiate
      * SimpleLogger instances.
@@ -241,41 +434,128 @@ public class SimpleLogger extends LegacyAbstractLogger {
     }
 
     /**
-     * To avoid intermingling of log messages and associated stack traces, the two
-     * operations are done in a synchronized block.
+     * Write a durable line on the calling thread, otherwise hand the line over to
+     * the async writer if one is configured or write it on the calling thread.
      *
+     * @param level
      * @param buf
      * @param t
+     * @param durable
      */
-    void write(StringBuilder buf, Throwable t) {
-        PrintStream targetStream = CONFIG_PARAMS.outputChoice.getTargetPrintStream();
+    void write(Level level, StringBuilder buf, Throwable t, boolean durable) {
+        if (durable) {
+            writeDurable(buf, t);
+            return;
+        }
+        AsyncOutput asyncOutput = CONFIG_PARAMS.asyncOutput;
+        if (asyncOutput == null || !asyncOutput.offer(level, buf, t)) {
+            write(buf, t, CONFIG_PARAMS.flushPolicy.shouldFlush(level));
+        }
+    }
 
-        synchronized (CONFIG_PARAMS) {
-            targetStream.println(buf.toString());
-            writeThrowable(t, targetStream);
-            targetStream.flush();
+    private void writeDurable(StringBuilder buf, Throwable t) {
+        LineOutput lineOutput = CONFIG_PARAMS.outputChoice.getLineOutput();
+        if (lineOutput == null) {
+            write(buf, t, true);
+            return;
         }
+        buf.append(LINE_SEPARATOR);
+        appendThrowable(buf, t);
+        long start = System.nanoTime();
+        lineOutput.writeDurable(buf);
+        CONFIG_PARAMS.durableLatency.record(System.nanoTime() - start);
     }
 
-    protected void writeThrowable(Throwable t, PrintStream targetStream) {
-        if (t != null) {
-            t.printStackTrace(targetStream);
+    /**
+     * To avoid intermingling of log messages and associated stack traces, both
+     * are rendered into the buffer and written with a single call. No monitor is
+     * held while writing, so virtual threads are never pinned to their carrier.
+     *
+     * @param buf
+     * @param t
+     * @param flush whether to flush the output, see {@link FlushPolicy}
+     */
+    void write(StringBuilder buf, Throwable t, boolean flush) {
+        buf.append(LINE_SEPARATOR);
+        appendThrowable(buf, t);
+
+        LineOutput lineOutput = CONFIG_PARAMS.outputChoice.getLineOutput();
+        if (lineOutput != null) {
+            lineOutput.write(buf);
+            if (flush) {
+                lineOutput.flush();
+            }
+            return;
+        }
+
+        PrintStream targetStream = CONFIG_PARAMS.outputChoice.getTargetPrintStream();
+        ThreadBuffers buffers = ThreadBuffers.get();
+        int asciiLength = buffers.encodeAscii(buf);
+        // a single call, the stream itself keeps concurrent writes apart
+        if (asciiLength >= 0) {
+            targetStream.write(buffers.bytes(), 0, asciiLength);
+        } else {
+            targetStream.print(buf.toString());
+        }
+        if (flush) {
+            targetStream.flush();
         }
     }
 
-    private String getFormattedDate() {
-        Date now = new Date();
-        String dateText;
-        synchronized (CONFIG_PARAMS.dateFormatter) {
-            dateText = CONFIG_PARAMS.dateFormatter.format(now);
+    /**
+     * Append the stack trace of the throwable, if any.
+     */
+    static void appendThrowable(StringBuilder buf, Throwable t) {
+        if (t == null) {
+            return;
+        }
+        StackTraceRenderer renderer = CONFIG_PARAMS.stackTraceRenderer;
+        if (renderer != null) {
+            renderer.append(buf, t);
+        } else {
+            StringWriter stackTrace = new StringWriter();
+            t.printStackTrace(new PrintWriter(stackTrace));
+            buf.append(stackTrace.getBuffer());
         }
-        return dateText;
     }
 
     private String computeShortName() {
         return name.substring(name.lastIndexOf(".") + 1);
     }
 
+    String levelFragment(Level level) {
+        String[] fragments = levelFragments;
+        if (fragments == null) {
+            fragments = computeLevelFragments();
+            levelFragments = fragments;
+        }
+        return fragments[level.ordinal()];
+    }
+
+    private String[] computeLevelFragments() {
+        Level[] levels = Level.values();
+        String[] fragments = new String[levels.length];
+        for (Level level : levels) {
+            StringBuilder buf = new StringBuilder(32);
+            if (CONFIG_PARAMS.levelInBrackets) buf.append('[');
+
+            // Append a readable representation of the log level
+            buf.append(level.name());
+            if (CONFIG_PARAMS.levelInBrackets) buf.append(']');
+            buf.append(SP);
+
+            // Append the name of the log instance if so configured
+            if (CONFIG_PARAMS.showShortLogName) {
+                if (shortLogName == null) shortLogName = computeShortName();
+                buf.append(String.valueOf(shortLogName)).append(" - ");
+            } else if (CONFIG_PARAMS.showLogName) {
+                buf.append(String.valueOf(name)).append(" - ");
+            }
+            fragments[level.ordinal()] = buf.toString();
+        }
+        return fragments;
+    }
+
     // /**
     // * For formatted messages, first substitute arguments and then log.
     // *
@@ -359,77 +639,214 @@ public class SimpleLogger extends LegacyAbstractLogger {
     @Override
     protected void handleNormalizedLoggingCall(
             Level level, Marker marker, String messagePattern, Object[] arguments, Throwable throwable) {
+        int argumentCount = arguments == null ? 0 : arguments.length;
+        innerHandleNormalizedLoggingCall(level, marker, null, messagePattern, arguments, argumentCount, throwable);
+    }
 
-        List<Marker> markers = null;
-
-        if (marker != null) {
-            markers = new ArrayList<>();
-            markers.add(marker);
-        }
-
-        innerHandleNormalizedLoggingCall(level, markers, messagePattern, arguments, throwable);
+    @Override
+    protected void handleNormalizedLoggingCall(
+            Level level,
+            Marker marker,
+            String messagePattern,
+            Object[] arguments,
+            int argumentCount,
+            Throwable throwable) {
+        innerHandleNormalizedLoggingCall(level, marker, null, messagePattern, arguments, argumentCount, throwable);
     }
 
     private void innerHandleNormalizedLoggingCall(
-            Level level, List<Marker> markers, String messagePattern, Object[] arguments, Throwable t) {
+            Level level,
+            Marker marker,
+            List<Marker> markers,
+            String messagePattern,
+            Object[] arguments,
+            int argumentCount,
+            Throwable t) {
+
+        ThreadBuffers buffers = ThreadBuffers.get();
+        StringBuilder buf = buffers.acquireLine();
+        try {
+            if (CONFIG_PARAMS.json) {
+                int messageStart = beginJsonEvent(buf, buffers, level);
+                MessageFormatter.basicArrayFormat(
+                        buf, messagePattern, arguments, argumentCount, CONFIG_PARAMS.formattingLimits);
+                JsonEncoder.endMessage(buf, messageStart);
+                JsonEncoder.appendArguments(buf, arguments, argumentCount, buffers.valueHolder());
+                endJsonEvent(buf, buffers, marker, markers, null, t);
+                // the throwable is part of the object
+                t = null;
+            } else {
+                PatternLayout layout = CONFIG_PARAMS.layout;
+                int messageStart = layout.appendHead(buf, this, buffers, level, marker, markers, null);
 
-        StringBuilder buf = new StringBuilder(32);
+                // Append the message
+                MessageFormatter.basicArrayFormat(
+                        buf, messagePattern, arguments, argumentCount, CONFIG_PARAMS.formattingLimits);
+                layout.appendTail(buf, messageStart, this, buffers, level, marker, markers, null);
+            }
 
-        // Append date-time if so configured
-        if (CONFIG_PARAMS.showDateTime) {
-            if (CONFIG_PARAMS.dateFormatter != null) {
-                buf.append(getFormattedDate());
-                buf.append(SP);
-            } else {
-                buf.append(System.currentTimeMillis() - START_TIME);
-                buf.append(SP);
+            write(level, buf, t, CONFIG_PARAMS.isDurable(level, marker, markers));
+        } finally {
+            buffers.releaseLine(buf);
+        }
+    }
+
+    @Override
+    protected void handlePrimitiveArgCall(Level level, Marker marker, String msg, int arg) {
+        handlePrimitiveArgCall(level, marker, msg, (long) arg);
+    }
+
+    @Override
+    protected void handlePrimitiveArgCall(Level level, Marker marker, String msg, long arg) {
+        ThreadBuffers buffers = ThreadBuffers.get();
+        StringBuilder buf = buffers.acquireLine();
+        try {
+            int messageStart = beginPrimitiveArgLine(buf, buffers, level, marker);
+            MessageFormatter.basicFormat(buf, msg, arg, CONFIG_PARAMS.formattingLimits);
+            if (endPrimitiveArgMessage(buf, buffers, messageStart, level, marker)) {
+                JsonEncoder.appendArgument(buf, arg);
             }
+            endPrimitiveArgLine(buf, buffers, level, marker);
+        } finally {
+            buffers.releaseLine(buf);
         }
+    }
 
-        // Append current thread name if so configured
-        if (CONFIG_PARAMS.showThreadName) {
-            buf.append('[');
-            buf.append(Thread.currentThread().getName());
-            buf.append("] ");
+    @Override
+    protected void handlePrimitiveArgCall(Level level, Marker marker, String msg, double arg) {
+        ThreadBuffers buffers = ThreadBuffers.get();
+        StringBuilder buf = buffers.acquireLine();
+        try {
+            int messageStart = beginPrimitiveArgLine(buf, buffers, level, marker);
+            MessageFormatter.basicFormat(buf, msg, arg, CONFIG_PARAMS.formattingLimits);
+            if (endPrimitiveArgMessage(buf, buffers, messageStart, level, marker)) {
+                JsonEncoder.appendArgument(buf, arg);
+            }
+            endPrimitiveArgLine(buf, buffers, level, marker);
+        } finally {
+            buffers.releaseLine(buf);
         }
+    }
 
-        if (CONFIG_PARAMS.showThreadId) {
-            buf.append(TID_PREFIX);
-            buf.append(Thread.currentThread().getId());
-            buf.append(SP);
+    @Override
+    protected void handlePrimitiveArgCall(Level level, Marker marker, String msg, float arg) {
+        ThreadBuffers buffers = ThreadBuffers.get();
+        StringBuilder buf = buffers.acquireLine();
+        try {
+            int messageStart = beginPrimitiveArgLine(buf, buffers, level, marker);
+            MessageFormatter.basicFormat(buf, msg, arg, CONFIG_PARAMS.formattingLimits);
+            if (endPrimitiveArgMessage(buf, buffers, messageStart, level, marker)) {
+                JsonEncoder.appendArgument(buf, arg);
+            }
+            endPrimitiveArgLine(buf, buffers, level, marker);
+        } finally {
+            buffers.releaseLine(buf);
         }
+    }
 
-        if (CONFIG_PARAMS.levelInBrackets) buf.append('[');
+    @Override
+    protected void handlePrimitiveArgCall(Level level, Marker marker, String msg, char arg) {
+        ThreadBuffers buffers = ThreadBuffers.get();
+        StringBuilder buf = buffers.acquireLine();
+        try {
+            int messageStart = beginPrimitiveArgLine(buf, buffers, level, marker);
+            MessageFormatter.basicFormat(buf, msg, arg, CONFIG_PARAMS.formattingLimits);
+            if (endPrimitiveArgMessage(buf, buffers, messageStart, level, marker)) {
+                JsonEncoder.appendArgument(buf, arg);
+            }
+            endPrimitiveArgLine(buf, buffers, level, marker);
+        } finally {
+            buffers.releaseLine(buf);
+        }
+    }
 
-        // Append a readable representation of the log level
-        String levelStr = level.name();
-        buf.append(levelStr);
-        if (CONFIG_PARAMS.levelInBrackets) buf.append(']');
-        buf.append(SP);
+    /**
+     * Begin the line of a call with a single primitive argument, in either format.
+     *
+     * @return the index at which the message starts
+     */
+    private int beginPrimitiveArgLine(StringBuilder buf, ThreadBuffers buffers, Level level, Marker marker) {
+        if (CONFIG_PARAMS.json) {
+            return beginJsonEvent(buf, buffers, level);
+        }
+        return CONFIG_PARAMS.layout.appendHead(buf, this, buffers, level, marker, null, null);
+    }
 
-        // Append the name of the log instance if so configured
-        if (CONFIG_PARAMS.showShortLogName) {
-            if (shortLogName == null) shortLogName = computeShortName();
-            buf.append(String.valueOf(shortLogName)).append(" - ");
-        } else if (CONFIG_PARAMS.showLogName) {
-            buf.append(String.valueOf(name)).append(" - ");
+    /**
+     * End the message of a call with a single primitive argument.
+     *
+     * @return true if the argument is to be appended next, as JSON
+     */
+    private boolean endPrimitiveArgMessage(
+            StringBuilder buf, ThreadBuffers buffers, int messageStart, Level level, Marker marker) {
+        if (CONFIG_PARAMS.json) {
+            JsonEncoder.endMessage(buf, messageStart);
+            return true;
         }
+        CONFIG_PARAMS.layout.appendTail(buf, messageStart, this, buffers, level, marker, null, null);
+        return false;
+    }
 
-        if (markers != null) {
-            buf.append(SP);
-            for (Marker marker : markers) {
-                buf.append(marker.getName()).append(SP);
-            }
+    /**
+     * End the line of a call with a single primitive argument and write it.
+     */
+    private void endPrimitiveArgLine(StringBuilder buf, ThreadBuffers buffers, Level level, Marker marker) {
+        if (CONFIG_PARAMS.json) {
+            endJsonEvent(buf, buffers, marker, null, null, null);
         }
+        write(level, buf, null, CONFIG_PARAMS.isDurable(level, marker, null));
+    }
 
-        String formattedMessage = MessageFormatter.basicArrayFormat(messagePattern, arguments);
+    /**
+     * Begin a JSON line, see {@link JsonEncoder}.
+     *
+     * @return the index at which the message starts
+     */
+    private int beginJsonEvent(StringBuilder buf, ThreadBuffers buffers, Level level) {
+        String quotedName = this.quotedName;
+        if (quotedName == null) {
+            quotedName = JsonEncoder.quote(name);
+            this.quotedName = quotedName;
+        }
+        return JsonEncoder.beginEvent(buf, level, quotedName, buffers.quotedThreadName());
+    }
 
-        // Append the message
-        buf.append(formattedMessage);
+    /**
+     * Append everything following the message and arguments to a JSON line.
+     */
+    private static void endJsonEvent(
+            StringBuilder buf,
+            ThreadBuffers buffers,
+            Marker marker,
+            List<Marker> markers,
+            LoggingEvent event,
+            Throwable t) {
+        JsonEncoder.appendMarkers(buf, marker, markers);
+        if (event != null) {
+            JsonEncoder.appendKeyValuePairs(buf, event, buffers.valueHolder());
+        }
+        MDCAdapter mdcAdapter = CONFIG_PARAMS.mdcAdapter;
+        if (mdcAdapter != null) {
+            MdcSelection mdcSelection = CONFIG_PARAMS.mdcSelection;
+            JsonEncoder.appendMdc(buf, mdcAdapter, mdcSelection != null ? mdcSelection : MdcSelection.ALL);
+        }
+        JsonEncoder.appendThrowable(buf, t);
+        JsonEncoder.endEvent(buf);
+    }
 
-        write(buf, t);
+    /**
+     * Returns the reusable event builder of the current thread.
+     */
+    @Override
+    public LoggingEventBuilder makeLoggingEventBuilder(Level level) {
+        return ThreadBuffers.get().acquireEventBuilder(this, level);
     }
 
+    /**
+     * Logs an event built by the fluent API. Suppliers of the event are only
+     * invoked if its level is enabled.
+     */
+    @Override
     public void log(LoggingEvent event) {
         int levelInt = event.getLevel().toInt();
 
@@ -437,10 +854,63 @@ public class SimpleLogger extends LegacyAbstractLogger {
             return;
         }
 
-        NormalizedParameters np = NormalizedParameters.normalize(event);
+        Level level = event.getLevel();
+        List<Marker> markers = event.getMarkers();
+        ThreadBuffers buffers = ThreadBuffers.get();
+        StringBuilder buf = buffers.acquireLine();
+        try {
+            PatternLayout layout = CONFIG_PARAMS.layout;
+            int messageStart;
+            if (CONFIG_PARAMS.json) {
+                messageStart = beginJsonEvent(buf, buffers, level);
+            } else {
+                messageStart = layout.appendHead(buf, this, buffers, level, null, markers, event);
+            }
+
+            // Append the message, a trailing throwable argument is only taken
+            // as the throwable if the event does not carry one; the arguments
+            // of a DefaultLoggingEvent are read in place, primitives unboxed
+            Throwable t = event.getThrowable();
+            if (event instanceof DefaultLoggingEvent) {
+                DefaultLoggingEvent dle = (DefaultLoggingEvent) event;
+                int argumentCount = dle.getArgumentCount();
+                if (t == null
+                        && argumentCount > 0
+                        && dle.getArgumentType(argumentCount - 1) == DefaultLoggingEvent.OBJECT_VALUE
+                        && dle.getObjectArgument(argumentCount - 1) instanceof Throwable) {
+                    t = (Throwable) dle.getObjectArgument(--argumentCount);
+                }
+                MessageFormatter.basicArrayFormat(
+                        buf, event.getMessage(), dle, argumentCount, CONFIG_PARAMS.formattingLimits);
+                if (CONFIG_PARAMS.json) {
+                    JsonEncoder.endMessage(buf, messageStart);
+                    JsonEncoder.appendArguments(buf, dle, argumentCount, buffers.valueHolder());
+                }
+            } else {
+                Object[] arguments = event.getArgumentArray();
+                int argumentCount = arguments == null ? 0 : arguments.length;
+                if (t == null && argumentCount > 0 && arguments[argumentCount - 1] instanceof Throwable) {
+                    t = (Throwable) arguments[--argumentCount];
+                }
+                MessageFormatter.basicArrayFormat(
+                        buf, event.getMessage(), arguments, argumentCount, CONFIG_PARAMS.formattingLimits);
+                if (CONFIG_PARAMS.json) {
+                    JsonEncoder.endMessage(buf, messageStart);
+                    JsonEncoder.appendArguments(buf, arguments, argumentCount, buffers.valueHolder());
+                }
+            }
 
-        innerHandleNormalizedLoggingCall(
-                event.getLevel(), event.getMarkers(), np.getMessage(), np.getArguments(), event.getThrowable());
+            if (CONFIG_PARAMS.json) {
+                endJsonEvent(buf, buffers, null, markers, event, t);
+                t = null;
+            } else {
+                layout.appendTail(buf, messageStart, this, buffers, level, null, markers, event);
+            }
+
+            write(level, buf, t, CONFIG_PARAMS.isDurable(level, null, markers));
+        } finally {
+            buffers.releaseLine(buf);
+        }
     }
 
     @Override
@@ -18,18 +18,27 @@
  */
 package org.slf4j.simple;
 
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.PrintStream;
+import java.nio.file.Paths;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.util.List;
+import java.util.Locale;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.BasicMDCAdapter;
+import org.slf4j.helpers.FormattingLimits;
+import org.slf4j.helpers.IndexedMDCAdapter;
+import org.slf4j.helpers.PersistentMDCAdapter;
+import org.slf4j.helpers.ScopedValueMDCAdapter;
 import org.slf4j.helpers.Util;
 import org.slf4j.simple.OutputChoice.OutputChoiceType;
+import org.slf4j.spi.MDCAdapter;
 
 /**
  * This class holds configuration values for {@link SimpleLogger}. The
@@ -58,7 +67,7 @@ public class SimpleLoggerConfiguration {
     private static final String DATE_TIME_FORMAT_STR_DEFAULT = null;
     private static String dateTimeFormatStr = DATE_TIME_FORMAT_STR_DEFAULT;
 
-    DateFormat dateFormatter = null;
+    CachedDateTimeFormatter dateFormatter = null;
 
     private static final boolean SHOW_THREAD_NAME_DEFAULT = true;
     boolean showThreadName = SHOW_THREAD_NAME_DEFAULT;
@@ -84,12 +93,74 @@ public class SimpleLoggerConfiguration {
     private String logFile = LOG_FILE_DEFAULT;
     OutputChoice outputChoice = null;
 
+    private static final long MAPPED_FILE_SIZE_DEFAULT = 0;
+    private long mappedFileSize = MAPPED_FILE_SIZE_DEFAULT;
+
+    private static final long ROLLING_MAX_FILE_SIZE_DEFAULT = 0;
+    private long rollingMaxFileSize = ROLLING_MAX_FILE_SIZE_DEFAULT;
+
+    private static final boolean ROLLING_DAILY_DEFAULT = false;
+    private boolean rollingDaily = ROLLING_DAILY_DEFAULT;
+
+    private static final int ROLLING_MAX_HISTORY_DEFAULT = 7;
+    private int rollingMaxHistory = ROLLING_MAX_HISTORY_DEFAULT;
+
+    private static final boolean ROLLING_COMPRESS_DEFAULT = false;
+    private boolean rollingCompress = ROLLING_COMPRESS_DEFAULT;
+
     private static final boolean CACHE_OUTPUT_STREAM_DEFAULT = false;
     private boolean cacheOutputStream = CACHE_OUTPUT_STREAM_DEFAULT;
 
     private static final String WARN_LEVELS_STRING_DEFAULT = "WARN";
     String warnLevelString = WARN_LEVELS_STRING_DEFAULT;
 
+    private static final boolean ASYNC_DEFAULT = false;
+    private boolean async = ASYNC_DEFAULT;
+
+    private static final int ASYNC_BUFFER_SIZE_DEFAULT = 8192;
+    private int asyncBufferSize = ASYNC_BUFFER_SIZE_DEFAULT;
+
+    private static final String ASYNC_FULL_POLICY_DEFAULT = "block";
+    private String asyncFullPolicy = ASYNC_FULL_POLICY_DEFAULT;
+
+    AsyncOutput asyncOutput = null;
+
+    private static final boolean DIRECT_APPEND_DEFAULT = false;
+    private boolean directAppend = DIRECT_APPEND_DEFAULT;
+
+    private static final int DURABLE_LEVEL_NONE = Integer.MAX_VALUE;
+    private int durableLevel = DURABLE_LEVEL_NONE;
+    private String durableMarker = null;
+
+    private static final int DURABLE_BATCH_WINDOW_DEFAULT = 0;
+    private int durableBatchWindow = DURABLE_BATCH_WINDOW_DEFAULT;
+
+    final LatencyHistogram durableLatency = new LatencyHistogram();
+
+    private static final String FLUSH_POLICY_DEFAULT = "always";
+    FlushPolicy flushPolicy = FlushPolicy.ALWAYS;
+
+    private static final String FORMAT_DEFAULT = "text";
+    boolean json = false;
+
+    // null if not configured
+    MdcSelection mdcSelection = null;
+
+    // compiled from the "layout" pattern, else from the display options
+    PatternLayout layout = null;
+
+    private static final String MDC_ADAPTER_DEFAULT = "basic";
+    private String mdcAdapterName = MDC_ADAPTER_DEFAULT;
+
+    // the adapter of the provider, null if SimpleLogger is used without one
+    MDCAdapter mdcAdapter = null;
+
+    // 0 for no limit
+    private static final int LIMIT_DEFAULT = 0;
+    FormattingLimits formattingLimits = FormattingLimits.UNLIMITED;
+    // null to render stack traces by printStackTrace()
+    StackTraceRenderer stackTraceRenderer = null;
+
     private final Properties properties = new Properties();
 
     void init() {
@@ -112,15 +183,122 @@ public class SimpleLoggerConfiguration {
 
         cacheOutputStream =
                 getBooleanProperty(SimpleLogger.CACHE_OUTPUT_STREAM_STRING_KEY, CACHE_OUTPUT_STREAM_DEFAULT);
+        mappedFileSize = getSizeProperty(SimpleLogger.MAPPED_FILE_SIZE_KEY, MAPPED_FILE_SIZE_DEFAULT);
+        rollingMaxFileSize = getSizeProperty(SimpleLogger.ROLLING_MAX_FILE_SIZE_KEY, ROLLING_MAX_FILE_SIZE_DEFAULT);
+        rollingDaily = getBooleanProperty(SimpleLogger.ROLLING_DAILY_KEY, ROLLING_DAILY_DEFAULT);
+        rollingMaxHistory = getIntProperty(SimpleLogger.ROLLING_MAX_HISTORY_KEY, ROLLING_MAX_HISTORY_DEFAULT);
+        rollingCompress = getBooleanProperty(SimpleLogger.ROLLING_COMPRESS_KEY, ROLLING_COMPRESS_DEFAULT);
+        directAppend = getBooleanProperty(SimpleLogger.DIRECT_APPEND_KEY, DIRECT_APPEND_DEFAULT);
+        String durableLevelString = getStringProperty(SimpleLogger.DURABLE_LEVEL_KEY, null);
+        if (durableLevelString != null) durableLevel = stringToLevel(durableLevelString);
+        durableMarker = getStringProperty(SimpleLogger.DURABLE_MARKER_KEY, null);
+        durableBatchWindow = getIntProperty(SimpleLogger.DURABLE_BATCH_WINDOW_KEY, DURABLE_BATCH_WINDOW_DEFAULT);
         outputChoice = computeOutputChoice(logFile, cacheOutputStream);
 
+        flushPolicy = FlushPolicy.fromString(getStringProperty(SimpleLogger.FLUSH_POLICY_KEY, FLUSH_POLICY_DEFAULT));
+        flushPolicy.start(this::flushOutput);
+
+        json = "json".equalsIgnoreCase(getStringProperty(SimpleLogger.FORMAT_KEY, FORMAT_DEFAULT));
+
+        int maxMessageLength = getIntProperty(SimpleLogger.MAX_MESSAGE_LENGTH_KEY, LIMIT_DEFAULT);
+        int maxArrayElements = getIntProperty(SimpleLogger.MAX_ARRAY_ELEMENTS_KEY, LIMIT_DEFAULT);
+        int maxArgumentLength = getIntProperty(SimpleLogger.MAX_ARGUMENT_LENGTH_KEY, LIMIT_DEFAULT);
+        formattingLimits = new FormattingLimits(maxMessageLength, maxArrayElements, maxArgumentLength);
+        int maxStackTraceDepth = getIntProperty(SimpleLogger.MAX_STACK_TRACE_DEPTH_KEY, LIMIT_DEFAULT);
+        int maxCauses = getIntProperty(SimpleLogger.MAX_CAUSES_KEY, LIMIT_DEFAULT);
+        if (maxMessageLength > 0 || maxStackTraceDepth > 0 || maxCauses > 0) {
+            stackTraceRenderer = new StackTraceRenderer(maxStackTraceDepth, maxCauses, maxMessageLength);
+        }
+
+        async = getBooleanProperty(SimpleLogger.ASYNC_KEY, ASYNC_DEFAULT);
+        asyncBufferSize = getIntProperty(SimpleLogger.ASYNC_BUFFER_SIZE_KEY, ASYNC_BUFFER_SIZE_DEFAULT);
+        asyncFullPolicy = getStringProperty(SimpleLogger.ASYNC_FULL_POLICY_KEY, ASYNC_FULL_POLICY_DEFAULT);
+        if (async) {
+            asyncOutput =
+                    new AsyncOutput(outputChoice, asyncBufferSize, AsyncOutput.FullPolicy.fromString(asyncFullPolicy));
+            asyncOutput.start();
+        }
+
         if (dateTimeFormatStr != null) {
             try {
-                dateFormatter = new SimpleDateFormat(dateTimeFormatStr);
-            } catch (IllegalArgumentException e) {
+                dateFormatter = new CachedDateTimeFormatter(dateTimeFormatStr);
+            } catch (IllegalArgumentException | DateTimeException e) {
                 Util.report("Bad date format in " + CONFIGURATION_FILE + "; will output relative time", e);
             }
         }
+
+        mdcAdapterName = getStringProperty(SimpleLogger.MDC_ADAPTER_KEY, MDC_ADAPTER_DEFAULT)
+                .trim();
+        String mdcKeys = getStringProperty(SimpleLogger.MDC_KEYS_KEY, null);
+        if (mdcKeys != null) {
+            mdcSelection = MdcSelection.parse(mdcKeys);
+        }
+
+        String layoutPattern = getStringProperty(SimpleLogger.LAYOUT_KEY, null);
+        if (layoutPattern != null) {
+            try {
+                layout = PatternLayout.compile(layoutPattern);
+            } catch (IllegalArgumentException e) {
+                Util.report("Bad layout [" + layoutPattern + "]; using the display options", e);
+            }
+        }
+        if (layout == null) {
+            layout = PatternLayout.fromOptions(this);
+        }
+    }
+
+    /**
+     * Whether an event has to be on stable storage before the logging call returns.
+     */
+    boolean isDurable(Level level, Marker marker, List<Marker> markers) {
+        if (level.toInt() >= durableLevel) {
+            return true;
+        }
+        if (durableMarker != null) {
+            if (marker != null) {
+                return marker.contains(durableMarker);
+            }
+            if (markers != null) {
+                for (int i = 0, n = markers.size(); i < n; i++) {
+                    if (markers.get(i).contains(durableMarker)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Create the MDC adapter chosen by the "mdcAdapter" property, for the
+     * provider to install.
+     */
+    MDCAdapter createMDCAdapter() {
+        if ("persistent".equalsIgnoreCase(mdcAdapterName)) {
+            return new PersistentMDCAdapter();
+        }
+        if ("indexed".equalsIgnoreCase(mdcAdapterName)) {
+            return new IndexedMDCAdapter();
+        }
+        if ("scoped".equalsIgnoreCase(mdcAdapterName)) {
+            return new ScopedValueMDCAdapter();
+        }
+        if (!MDC_ADAPTER_DEFAULT.equalsIgnoreCase(mdcAdapterName)) {
+            Util.report("Unknown MDC adapter [" + mdcAdapterName + "]; using " + MDC_ADAPTER_DEFAULT);
+        }
+        return new BasicMDCAdapter();
+    }
+
+    /**
+     * Flush whatever the output target buffered.
+     */
+    void flushOutput() {
+        LineOutput lineOutput = outputChoice.getLineOutput();
+        if (lineOutput != null) {
+            lineOutput.flush();
+        } else {
+            outputChoice.getTargetPrintStream().flush();
+        }
     }
 
     private void loadProperties() {
@@ -158,6 +336,47 @@ public class SimpleLoggerConfiguration {
         return (prop == null) ? defaultValue : "true".equalsIgnoreCase(prop);
     }
 
+    int getIntProperty(String name, int defaultValue) {
+        String prop = getStringProperty(name);
+        if (prop == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(prop.trim());
+        } catch (NumberFormatException e) {
+            Util.report("Bad integer value [" + prop + "] for " + name + "; using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Parses a size in bytes, optionally followed by one of the KB, MB or GB units.
+     */
+    long getSizeProperty(String name, long defaultValue) {
+        String prop = getStringProperty(name);
+        if (prop == null) {
+            return defaultValue;
+        }
+        String sizeStr = prop.trim().toUpperCase(Locale.ROOT);
+        long multiplier = 1;
+        if (sizeStr.endsWith("KB")) {
+            multiplier = 1024L;
+        } else if (sizeStr.endsWith("MB")) {
+            multiplier = 1024L * 1024L;
+        } else if (sizeStr.endsWith("GB")) {
+            multiplier = 1024L * 1024L * 1024L;
+        }
+        if (multiplier > 1) {
+            sizeStr = sizeStr.substring(0, sizeStr.length() - 2).trim();
+        }
+        try {
+            return Long.parseLong(sizeStr) * multiplier;
+        } catch (NumberFormatException e) {
+            Util.report("Bad size value [" + prop + "] for " + name + "; using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
     String getStringProperty(String name) {
         String prop = null;
         try {
@@ -186,7 +405,7 @@ public class SimpleLoggerConfiguration {
         return SimpleLogger.LOG_LEVEL_INFO;
     }
 
-    private static OutputChoice computeOutputChoice(String logFile, boolean cacheOutputStream) {
+    private OutputChoice computeOutputChoice(String logFile, boolean cacheOutputStream) {
         if ("System.err".equalsIgnoreCase(logFile))
             if (cacheOutputStream) return new OutputChoice(OutputChoiceType.CACHED_SYS_ERR);
             else return new OutputChoice(OutputChoiceType.SYS_ERR);
@@ -195,10 +414,26 @@ public class SimpleLoggerConfiguration {
             else return new OutputChoice(OutputChoiceType.SYS_OUT);
         } else {
             try {
-                FileOutputStream fos = new FileOutputStream(logFile);
-                PrintStream printStream = new PrintStream(fos);
-                return new OutputChoice(printStream);
-            } catch (FileNotFoundException e) {
+                if (mappedFileSize > 0) {
+                    return new OutputChoice(
+                            OutputChoiceType.MAPPED_FILE, new MappedRingFileOutput(Paths.get(logFile), mappedFileSize));
+                }
+                if (directAppend && rollingMaxFileSize <= 0 && !rollingDaily) {
+                    return new OutputChoice(OutputChoiceType.FILE, new DirectAppendOutput(Paths.get(logFile)));
+                }
+                OutputChoiceType type;
+                FileChannelOutput fileOutput;
+                if (rollingMaxFileSize > 0 || rollingDaily) {
+                    type = OutputChoiceType.ROLLING_FILE;
+                    fileOutput = new RollingFileOutput(
+                            Paths.get(logFile), rollingMaxFileSize, rollingDaily, rollingMaxHistory, rollingCompress);
+                } else {
+                    type = OutputChoiceType.FILE;
+                    fileOutput = new FileChannelOutput(Paths.get(logFile));
+                }
+                fileOutput.setBatchWindow(durableBatchWindow, TimeUnit.MICROSECONDS);
+                return new OutputChoice(type, fileOutput);
+            } catch (IOException | RuntimeException e) {
                 Util.report("Could not open [" + logFile + "]. Defaulting to System.err", e);
                 return new OutputChoice(OutputChoiceType.SYS_ERR);
             }
@@ -21,7 +21,6 @@ package org.slf4j.simple;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.IMarkerFactory;
 import org.slf4j.helpers.BasicMarkerFactory;
-import org.slf4j.helpers.NOPMDCAdapter;
 import org.slf4j.spi.MDCAdapter;
 import org.slf4j.spi.SLF4JServiceProvider;
 
@@ -60,8 +59,10 @@ public class SimpleServiceProvider implements SLF4JServiceProvider {
     @Override
     public void initialize() {
 
+        // reads the configuration, the adapter depends on it
         loggerFactory = new SimpleLoggerFactory();
+        mdcAdapter = SimpleLogger.CONFIG_PARAMS.createMDCAdapter();
+        SimpleLogger.CONFIG_PARAMS.mdcAdapter = mdcAdapter;
         markerFactory = new BasicMarkerFactory();
-        mdcAdapter = new NOPMDCAdapter();
     }
 }
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Renders stack traces in the format of {@link Throwable#printStackTrace()},
+ * with caps on the number of frames per throwable, the number of causes and
+ * suppressed exceptions, and the length of each throwable's description.
+ */
+final class StackTraceRenderer {
+
+    private static final String CAUSE_CAPTION = "Caused by: ";
+    private static final String SUPPRESSED_CAPTION = "Suppressed: ";
+
+    private final int maxDepth;
+    private final int maxCauses;
+    private final int maxMessageLength;
+
+    /**
+     * A value of 0 or less means no limit.
+     */
+    StackTraceRenderer(int maxDepth, int maxCauses, int maxMessageLength) {
+        this.maxDepth = maxDepth > 0 ? maxDepth : Integer.MAX_VALUE;
+        this.maxCauses = maxCauses > 0 ? maxCauses : Integer.MAX_VALUE;
+        this.maxMessageLength = maxMessageLength > 0 ? maxMessageLength : Integer.MAX_VALUE;
+    }
+
+    void append(StringBuilder buf, Throwable t) {
+        Set<Throwable> dejaVu = Collections.newSetFromMap(new IdentityHashMap<>());
+        dejaVu.add(t);
+        appendDescription(buf, t);
+        buf.append(SimpleLogger.LINE_SEPARATOR);
+        StackTraceElement[] trace = t.getStackTrace();
+        appendFrames(buf, "", trace, trace.length);
+        appendEnclosed(buf, t, trace, "", dejaVu, maxCauses);
+    }
+
+    // returns how many more causes and suppressed exceptions may be rendered
+    private int appendEnclosed(
+            StringBuilder buf,
+            Throwable t,
+            StackTraceElement[] trace,
+            String prefix,
+            Set<Throwable> dejaVu,
+            int remaining) {
+        for (Throwable suppressed : t.getSuppressed()) {
+            remaining =
+                    appendEnclosedTrace(buf, suppressed, trace, SUPPRESSED_CAPTION, prefix + "\t", dejaVu, remaining);
+        }
+        Throwable cause = t.getCause();
+        if (cause != null) {
+            remaining = appendEnclosedTrace(buf, cause, trace, CAUSE_CAPTION, prefix, dejaVu, remaining);
+        }
+        return remaining;
+    }
+
+    private int appendEnclosedTrace(
+            StringBuilder buf,
+            Throwable t,
+            StackTraceElement[] enclosingTrace,
+            String caption,
+            String prefix,
+            Set<Throwable> dejaVu,
+            int remaining) {
+        if (remaining <= 0) {
+            if (remaining == 0) {
+                buf.append(prefix).append(caption).append("...(further causes truncated)");
+                buf.append(SimpleLogger.LINE_SEPARATOR);
+            }
+            return -1;
+        }
+        remaining--;
+
+        buf.append(prefix).append(caption);
+        if (!dejaVu.add(t)) {
+            buf.append("[CIRCULAR REFERENCE: ");
+            appendDescription(buf, t);
+            buf.append(']').append(SimpleLogger.LINE_SEPARATOR);
+            return remaining;
+        }
+        appendDescription(buf, t);
+        buf.append(SimpleLogger.LINE_SEPARATOR);
+
+        // frames in common with the enclosing trace are not repeated
+        StackTraceElement[] trace = t.getStackTrace();
+        int m = trace.length - 1;
+        int n = enclosingTrace.length - 1;
+        while (m >= 0 && n >= 0 && trace[m].equals(enclosingTrace[n])) {
+            m--;
+            n--;
+        }
+        appendFrames(buf, prefix, trace, m + 1);
+        int framesInCommon = trace.length - 1 - m;
+        if (framesInCommon != 0) {
+            buf.append(prefix).append("\t... ").append(framesInCommon).append(" more");
+            buf.append(SimpleLogger.LINE_SEPARATOR);
+        }
+        return appendEnclosed(buf, t, trace, prefix, dejaVu, remaining);
+    }
+
+    private void appendFrames(StringBuilder buf, String prefix, StackTraceElement[] trace, int count) {
+        int shown = Math.min(count, maxDepth);
+        for (int i = 0; i < shown; i++) {
+            buf.append(prefix).append("\tat ").append(trace[i]).append(SimpleLogger.LINE_SEPARATOR);
+        }
+        if (shown < count) {
+            buf.append(prefix).append("\t...(").append(count - shown).append(" frames truncated)");
+            buf.append(SimpleLogger.LINE_SEPARATOR);
+        }
+    }
+
+    private void appendDescription(StringBuilder buf, Throwable t) {
+        String description = t.toString();
+        if (description.length() <= maxMessageLength) {
+            buf.append(description);
+        } else {
+            buf.append(description, 0, maxMessageLength).append("...(message truncated)");
+        }
+    }
+}
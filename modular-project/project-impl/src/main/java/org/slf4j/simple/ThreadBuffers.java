@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import java.nio.ByteBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+import org.slf4j.spi.DefaultLoggingEventBuilder;
+
+/**
+ * Per-thread buffers reused by {@link SimpleLogger} so that rendering a log line
+ * does not allocate in steady state.
+ *
+ * <p>Buffers which grew beyond {@link #MAX_RETAINED_CAPACITY} while rendering an
+ * unusually large line are dropped after use instead of being retained.
+ */
+final class ThreadBuffers {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private static final ThreadLocal<ThreadBuffers> THREAD_BUFFERS = ThreadLocal.withInitial(ThreadBuffers::new);
+
+    static ThreadBuffers get() {
+        return THREAD_BUFFERS.get();
+    }
+
+    private StringBuilder line = new StringBuilder(INITIAL_CAPACITY);
+    private boolean lineInUse;
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+    // wraps bytes, replaced together with it
+    private ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+
+    private String threadName;
+    private String threadHeader;
+
+    private String quotedThreadName;
+
+    // passes a single value to MessageFormatter, see JsonEncoder
+    private final Object[] valueHolder = new Object[1];
+
+    private ReusableLoggingEventBuilder eventBuilder;
+
+    private ThreadBuffers() {}
+
+    /**
+     * Returns the line buffer of the current thread, or a fresh one if the
+     * line buffer is already in use by an enclosing logging call, e.g. when the
+     * {@code toString()} method of an argument logs itself.
+     */
+    StringBuilder acquireLine() {
+        if (lineInUse) {
+            return new StringBuilder(INITIAL_CAPACITY);
+        }
+        lineInUse = true;
+        return line;
+    }
+
+    void releaseLine(StringBuilder buf) {
+        if (buf != line) {
+            return;
+        }
+        if (line.capacity() > MAX_RETAINED_CAPACITY) {
+            line = new StringBuilder(INITIAL_CAPACITY);
+        } else {
+            line.setLength(0);
+        }
+        if (bytes.length > MAX_RETAINED_CAPACITY) {
+            setBytes(new byte[INITIAL_CAPACITY]);
+        }
+        lineInUse = false;
+    }
+
+    /**
+     * Returns the event builder of the current thread, reset. If it is still
+     * in use, e.g. when an argument of the builder logs itself through the
+     * fluent API, or when the builder was never logged, the thread keeps a new
+     * one from now on.
+     */
+    DefaultLoggingEventBuilder acquireEventBuilder(Logger logger, Level level) {
+        ReusableLoggingEventBuilder builder = eventBuilder;
+        if (builder == null || builder.isInUse()) {
+            builder = new ReusableLoggingEventBuilder();
+            eventBuilder = builder;
+        }
+        builder.acquire(logger, level);
+        return builder;
+    }
+
+    /**
+     * Returns the thread name and/or thread id fragment of the current thread.
+     * The fragment is only recomputed when the thread is renamed.
+     */
+    String threadHeader(boolean showThreadName, boolean showThreadId) {
+        Thread currentThread = Thread.currentThread();
+        String name = currentThread.getName();
+        if (threadHeader == null || name != threadName) {
+            StringBuilder header = new StringBuilder(name.length() + 24);
+            if (showThreadName) {
+                header.append('[').append(name).append("] ");
+            }
+            if (showThreadId) {
+                header.append(SimpleLogger.TID_PREFIX)
+                        .append(currentThread.getId())
+                        .append(SimpleLogger.SP);
+            }
+            threadName = name;
+            threadHeader = header.toString();
+            quotedThreadName = null;
+        }
+        return threadHeader;
+    }
+
+    /**
+     * Returns the name of the current thread as a JSON string. The string is
+     * only recomputed when the thread is renamed.
+     */
+    String quotedThreadName() {
+        String name = Thread.currentThread().getName();
+        if (quotedThreadName == null || name != threadName) {
+            threadName = name;
+            threadHeader = null;
+            quotedThreadName = JsonEncoder.quote(name);
+        }
+        return quotedThreadName;
+    }
+
+    Object[] valueHolder() {
+        return valueHolder;
+    }
+
+    /**
+     * Copies the text into the byte buffer of this thread, see {@link #bytes()},
+     * provided it only contains ASCII characters.
+     *
+     * @return the number of bytes copied or -1 if the text contains characters
+     *         outside the ASCII range
+     */
+    int encodeAscii(CharSequence cs) {
+        int len = cs.length();
+        if (bytes.length < len) {
+            setBytes(new byte[Math.max(len, bytes.length * 2)]);
+        }
+        byte[] b = bytes;
+        for (int i = 0; i < len; i++) {
+            char c = cs.charAt(i);
+            if (c >= 0x80) {
+                return -1;
+            }
+            b[i] = (byte) c;
+        }
+        return len;
+    }
+
+    /**
+     * UTF-8 encodes the text into the byte buffer of this thread, see
+     * {@link #bytes()}.
+     *
+     * @return the number of bytes
+     */
+    int encodeUtf8(CharSequence cs) {
+        int len = cs.length();
+        if (bytes.length < len) {
+            setBytes(new byte[Math.max(len, bytes.length * 2)]);
+        }
+        ByteBuffer dst = byteBuffer;
+        dst.clear();
+        int i = Utf8.encode(cs, 0, dst);
+        while (i < len) {
+            int required = dst.position() + (len - i) * Utf8.MAX_BYTES_PER_CODE_POINT;
+            byte[] larger = new byte[Math.max(required, bytes.length * 2)];
+            System.arraycopy(bytes, 0, larger, 0, dst.position());
+            int position = dst.position();
+            setBytes(larger);
+            dst = byteBuffer;
+            dst.position(position);
+            i = Utf8.encode(cs, i, dst);
+        }
+        return dst.position();
+    }
+
+    private void setBytes(byte[] b) {
+        bytes = b;
+        byteBuffer = ByteBuffer.wrap(b);
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+}
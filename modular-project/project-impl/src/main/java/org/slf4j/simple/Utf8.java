@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.slf4j.simple;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Hand-rolled UTF-8 encoding of char sequences into array backed byte buffers,
+ * with a fast path for runs of ASCII characters.
+ */
+final class Utf8 {
+
+    // the longest encoding of a single code point
+    static final int MAX_BYTES_PER_CODE_POINT = 4;
+
+    private Utf8() {}
+
+    /**
+     * Encodes the characters of cs, starting at index from, into dst until
+     * either all characters are encoded or dst lacks the room for the next one.
+     * Unpaired surrogates are encoded as '?'.
+     *
+     * @return the index of the first character which was not encoded, that is
+     *         cs.length() if all characters were encoded
+     */
+    static int encode(CharSequence cs, int from, ByteBuffer dst) {
+        byte[] a = dst.array();
+        int pos = dst.arrayOffset() + dst.position();
+        int limit = dst.arrayOffset() + dst.limit();
+        int len = cs.length();
+        int i = from;
+
+        while (i < len) {
+            // ASCII fast path
+            int end = i + Math.min(len - i, limit - pos);
+            while (i < end) {
+                char c = cs.charAt(i);
+                if (c >= 0x80) {
+                    break;
+                }
+                a[pos++] = (byte) c;
+                i++;
+            }
+            if (i == len || limit - pos < MAX_BYTES_PER_CODE_POINT) {
+                break;
+            }
+
+            char c = cs.charAt(i++);
+            if (c < 0x80) {
+                a[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                a[pos++] = (byte) (0xc0 | (c >> 6));
+                a[pos++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i < len && Character.isLowSurrogate(cs.charAt(i))) {
+                int cp = Character.toCodePoint(c, cs.charAt(i++));
+                a[pos++] = (byte) (0xf0 | (cp >> 18));
+                a[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                a[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                a[pos++] = (byte) (0x80 | (cp & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                a[pos++] = (byte) '?';
+            } else {
+                a[pos++] = (byte) (0xe0 | (c >> 12));
+                a[pos++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                a[pos++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+
+        dst.position(pos - dst.arrayOffset());
+        return i;
+    }
+}